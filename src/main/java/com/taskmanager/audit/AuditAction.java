@@ -0,0 +1,16 @@
+package com.taskmanager.audit;
+
+// Stored by ordinal in the audit log, so new values are only appended at the end
+public enum AuditAction {
+    TASK_CREATED,
+    TASK_UPDATED,
+    TASK_DELETED,
+    TASK_DONE_CHANGED,
+    USER_CREATED,
+    USER_UPDATED,
+    USER_DELETED;
+
+    public boolean isTask() {
+        return name().startsWith("TASK_");
+    }
+}
@@ -0,0 +1,131 @@
+package com.taskmanager.audit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// Layout of audit segments. A segment is a header followed by records:
+//   int length, int crc32 of the rest, long sequence, long epoch millis, byte action, long entity id,
+//   then actor, before and after as an int byte count (-1 for null) and UTF-8 bytes.
+// Unused space is zero-filled, so a zero length marks the end of the written part.
+final class AuditFormat {
+
+    static final int MAGIC = 0x54414C47;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 2 * Integer.BYTES;
+    private static final int FIXED_RECORD_BYTES = 2 * Integer.BYTES + 2 * Long.BYTES + 1 + Long.BYTES + 3 * Integer.BYTES;
+    private static final int CRC_OFFSET = Integer.BYTES;
+    private static final int NULL_STRING = -1;
+    private static final String PREFIX = "audit-";
+    private static final String SUFFIX = ".log";
+    private static final AuditAction[] ACTIONS = AuditAction.values();
+
+    private AuditFormat() {}
+
+    // Zero-padded first sequence, so name order is write order
+    static String segmentName(long firstSequence) {
+        return String.format("%s%020d%s", PREFIX, firstSequence, SUFFIX);
+    }
+
+    static long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    static List<Path> segments(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    static int encodedLength(byte[] actor, byte[] before, byte[] after) {
+        return FIXED_RECORD_BYTES + length(actor) + length(before) + length(after);
+    }
+
+    static void write(ByteBuffer buffer, long sequence, long timestamp, AuditAction action, long entityId,
+                      byte[] actor, byte[] before, byte[] after) {
+        int start = buffer.position();
+        buffer.putInt(encodedLength(actor, before, after))
+                .putInt(0)
+                .putLong(sequence)
+                .putLong(timestamp)
+                .put((byte) action.ordinal())
+                .putLong(entityId);
+        putBytes(buffer, actor);
+        putBytes(buffer, before);
+        putBytes(buffer, after);
+        buffer.putInt(start + CRC_OFFSET, checksum(buffer, start, buffer.position()));
+    }
+
+    // Null at the end of the written part or at a record torn by a crash
+    static AuditRecord read(ByteBuffer buffer) {
+        int start = buffer.position();
+        if (buffer.remaining() < FIXED_RECORD_BYTES) {
+            return null;
+        }
+        int length = buffer.getInt(start);
+        if (length < FIXED_RECORD_BYTES || length > buffer.remaining()
+                || buffer.getInt(start + CRC_OFFSET) != checksum(buffer, start, start + length)) {
+            return null;
+        }
+        buffer.position(start + CRC_OFFSET + Integer.BYTES);
+        long sequence = buffer.getLong();
+        Instant timestamp = Instant.ofEpochMilli(buffer.getLong());
+        int action = buffer.get();
+        long entityId = buffer.getLong();
+        String actor = getString(buffer);
+        String before = getString(buffer);
+        String after = getString(buffer);
+        buffer.position(start + length);
+        if (action < 0 || action >= ACTIONS.length) {
+            return null;
+        }
+        return new AuditRecord(sequence, timestamp, actor, ACTIONS[action], entityId, before, after);
+    }
+
+    static byte[] encode(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int checksum(ByteBuffer buffer, int start, int end) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(start + CRC_OFFSET + Integer.BYTES).limit(end));
+        return (int) crc.getValue();
+    }
+
+    private static int length(byte[] bytes) {
+        return bytes != null ? bytes.length : 0;
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(NULL_STRING);
+        } else {
+            buffer.putInt(bytes.length).put(bytes);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,71 @@
+package com.taskmanager.audit;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Reads audit segments in write order; safe to run while the service keeps appending.
+// Command line: <audit dir> [task|user <id>], e.g. through Spring Boot's PropertiesLauncher.
+public final class AuditLogReader {
+
+    private AuditLogReader() {}
+
+    public static void replay(Path dir, Consumer<AuditRecord> consumer) throws IOException {
+        for (Path segment : AuditFormat.segments(dir)) {
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (buffer.limit() < AuditFormat.HEADER_BYTES || buffer.getInt(0) != AuditFormat.MAGIC) {
+                    throw new IOException("Audit segment " + segment + " has an unknown format");
+                }
+                buffer.position(AuditFormat.HEADER_BYTES);
+                AuditRecord record;
+                while ((record = AuditFormat.read(buffer)) != null) {
+                    consumer.accept(record);
+                }
+            }
+        }
+    }
+
+    public static List<AuditRecord> findByTask(Path dir, long taskId) throws IOException {
+        return find(dir, true, taskId);
+    }
+
+    public static List<AuditRecord> findByUser(Path dir, long userId) throws IOException {
+        return find(dir, false, userId);
+    }
+
+    private static List<AuditRecord> find(Path dir, boolean task, long entityId) throws IOException {
+        List<AuditRecord> found = new ArrayList<>();
+        replay(dir, record -> {
+            if (record.action().isTask() == task && record.entityId() == entityId) {
+                found.add(record);
+            }
+        });
+        return found;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1 && args.length != 3) {
+            System.err.println("Usage: AuditLogReader <audit dir> [task|user <id>]");
+            System.exit(2);
+        }
+        Path dir = Path.of(args[0]);
+        if (args.length == 1) {
+            replay(dir, record -> System.out.println(format(record)));
+            return;
+        }
+        long id = Long.parseLong(args[2]);
+        List<AuditRecord> records = "user".equals(args[1]) ? findByUser(dir, id) : findByTask(dir, id);
+        records.forEach(record -> System.out.println(format(record)));
+    }
+
+    private static String format(AuditRecord record) {
+        return record.sequence() + "\t" + record.timestamp() + "\t" + record.actor() + "\t" + record.action()
+                + "\t" + record.entityId() + "\t" + record.before() + "\t" + record.after();
+    }
+}
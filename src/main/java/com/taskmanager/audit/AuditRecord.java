@@ -0,0 +1,14 @@
+package com.taskmanager.audit;
+
+import java.time.Instant;
+
+// One committed mutation; before and after are JSON, null on create and delete respectively
+public record AuditRecord(
+        long sequence,
+        Instant timestamp,
+        String actor,
+        AuditAction action,
+        long entityId,
+        String before,
+        String after
+) {}
@@ -0,0 +1,97 @@
+package com.taskmanager.audit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Appends records to the newest segment through a mapping of the whole file and rolls to a new one when full.
+// Used only by the audit writer thread.
+final class AuditSegmentWriter implements Closeable {
+
+    private final Path dir;
+    private final int segmentSize;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long nextSequence = 1;
+
+    AuditSegmentWriter(Path dir, int segmentSize) throws IOException {
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(dir);
+        List<Path> segments = AuditFormat.segments(dir);
+        if (segments.isEmpty()) {
+            openSegment(nextSequence);
+        } else {
+            resume(segments.get(segments.size() - 1));
+        }
+    }
+
+    long nextSequence() {
+        return nextSequence;
+    }
+
+    // Returns the sequence given to the record
+    long append(long timestamp, AuditAction action, long entityId, byte[] actor, byte[] before, byte[] after)
+            throws IOException {
+        int length = AuditFormat.encodedLength(actor, before, after);
+        if (length > segmentSize - AuditFormat.HEADER_BYTES) {
+            throw new IOException("Audit record of " + length + " bytes does not fit into a segment");
+        }
+        if (buffer.remaining() < length) {
+            roll();
+        }
+        long sequence = nextSequence++;
+        AuditFormat.write(buffer, sequence, timestamp, action, entityId, actor, before, after);
+        return sequence;
+    }
+
+    // Written pages survive a process crash without this; forcing protects against losing the machine
+    void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private void roll() throws IOException {
+        close();
+        openSegment(nextSequence);
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        channel = FileChannel.open(dir.resolve(AuditFormat.segmentName(firstSequence)),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        buffer.putInt(AuditFormat.MAGIC).putInt(AuditFormat.FORMAT_VERSION);
+    }
+
+    // Continues after the last intact record; a record torn by a crash is zeroed and overwritten
+    private void resume(Path segment) throws IOException {
+        channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(channel.size(), AuditFormat.HEADER_BYTES));
+        if (buffer.getInt(0) != AuditFormat.MAGIC || buffer.getInt(Integer.BYTES) != AuditFormat.FORMAT_VERSION) {
+            throw new IOException("Audit segment " + segment + " has an unknown format");
+        }
+        nextSequence = AuditFormat.firstSequence(segment);
+        buffer.position(AuditFormat.HEADER_BYTES);
+        AuditRecord record;
+        while ((record = AuditFormat.read(buffer)) != null) {
+            nextSequence = record.sequence() + 1;
+        }
+        int end = buffer.position();
+        for (int i = end; i < buffer.limit(); i++) {
+            if (buffer.get(i) != 0) {
+                buffer.put(i, (byte) 0);
+            }
+        }
+        buffer.position(end);
+    }
+}
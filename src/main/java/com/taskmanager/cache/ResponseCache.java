@@ -0,0 +1,115 @@
+package com.taskmanager.cache;
+
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.event.TasksDoneChangedEvent;
+import com.taskmanager.event.TasksPriorityChangedEvent;
+import com.taskmanager.event.TasksReassignedEvent;
+import com.taskmanager.event.TasksRemovedEvent;
+import com.taskmanager.event.UserChangedEvent;
+import com.taskmanager.event.UsersPresenceChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Serialized bodies of hot GET responses, dropped as a whole after any committed task or user change
+@Component
+public class ResponseCache {
+
+    public record Entry(byte[] body, String contentType, String eTag, long generation) {}
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public ResponseCache(MeterRegistry meterRegistry) {
+        // Same meter names as the Hibernate regions, so GET /actuator/metrics/cache.gets?tag=cache:responses works
+        this.hits = Counter.builder("cache.gets").tag("cache", "responses").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", "responses").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions").tag("cache", "responses").register(meterRegistry);
+        Gauge.builder("cache.size", entries, Map::size).tag("cache", "responses").register(meterRegistry);
+    }
+
+    public Entry get(String key) {
+        Entry entry = entries.get(key);
+        // An entry stored by a request that raced with an invalidation carries an old generation
+        if (entry == null || entry.generation() != generation.get()) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry;
+    }
+
+    // Read before the response is computed and passed back to put
+    public long generation() {
+        return generation.get();
+    }
+
+    public void put(String key, Entry entry) {
+        // Data read before a concurrent commit must not be cached under the new generation
+        if (entry.generation() == generation.get()) {
+            entries.put(key, entry);
+        }
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        int size = entries.size();
+        entries.clear();
+        evictions.increment(size);
+    }
+
+    // Listeners run after the read model's, so a request arriving between the two never caches a body
+    // built from rows the commit has not reached yet under the new generation
+    @TransactionalEventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onTaskChanged(TaskChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onTasksRemoved(TasksRemovedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onTasksDoneChanged(TasksDoneChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onTasksReassigned(TasksReassignedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onTasksPriorityChanged(TasksPriorityChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onUsersPresenceChanged(UsersPresenceChangedEvent event) {
+        invalidate();
+    }
+}
@@ -0,0 +1,92 @@
+package com.taskmanager.cache;
+
+import com.taskmanager.config.WireFormatFilter;
+import com.taskmanager.controller.ETags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.List;
+
+// Runs after the security chain, so only authenticated requests are answered from the cache, and before
+// ConcurrencyLimitFilter, so hits take no permit
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 5)
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private final ResponseCache responseCache;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Value("${responses.cache.paths:/api/users/available,/api/tasks/priority/*}")
+    private List<String> cachedPaths;
+
+    public ResponseCacheFilter(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        // Only JSON bodies are cached, CBOR clients always reach the controller
+        if (WireFormatFilter.prefersCbor(request.getHeader(HttpHeaders.ACCEPT))) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return cachedPaths.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getQueryString() == null
+                ? request.getRequestURI()
+                : request.getRequestURI() + "?" + request.getQueryString();
+
+        ResponseCache.Entry cached = responseCache.get(key);
+        if (cached != null) {
+            write(cached, request, response);
+            return;
+        }
+
+        long generation = responseCache.generation();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+
+        String contentType = wrapper.getContentType();
+        if (wrapper.getStatus() == HttpServletResponse.SC_OK && contentType != null
+                && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType))) {
+            responseCache.put(key, new ResponseCache.Entry(wrapper.getContentAsByteArray(), contentType,
+                    wrapper.getHeader(HttpHeaders.ETAG), generation));
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private void write(ResponseCache.Entry entry, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        if (entry.eTag() != null) {
+            response.setHeader(HttpHeaders.ETAG, entry.eTag());
+            if (ETags.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), entry.eTag())) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(entry.contentType());
+        response.setContentLength(entry.body().length);
+        response.getOutputStream().write(entry.body());
+    }
+}
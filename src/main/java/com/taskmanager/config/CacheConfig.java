@@ -0,0 +1,48 @@
+package com.taskmanager.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.List;
+
+@Configuration
+public class CacheConfig {
+
+    // Entity regions are named in @Cache on the entities, query regions are Hibernate defaults
+    private static final List<String> REGIONS = List.of(
+            "tasks",
+            "users",
+            "default-query-results-region",
+            "default-update-timestamps-region"
+    );
+
+    // Region sizes and statistics are configured in application.conf (caffeine.jcache.*)
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        return Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+    }
+
+    // Hand our cache manager to Hibernate so the regions it creates are the ones we monitor
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    // Hit, miss, put and eviction counts per region under the cache.* metrics
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> {
+            for (String name : REGIONS) {
+                JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(name), Tags.of("layer", "hibernate"));
+            }
+        };
+    }
+}
@@ -0,0 +1,147 @@
+package com.taskmanager.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.List;
+
+// JSON and CBOR bodies of one resource share a version but not their bytes. Every API response varies by
+// Accept, and CBOR responses get their own ETags: a suffix is added on the way out and removed from
+// conditional headers on the way in, so controllers keep working with plain versions.
+// Runs outside ResponseCacheFilter so cached responses carry the Vary header too.
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 10)
+public class WireFormatFilter extends OncePerRequestFilter {
+
+    static final String CBOR_SUFFIX = "+cbor";
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (!prefersCbor(request.getHeader(HttpHeaders.ACCEPT))) {
+            chain.doFilter(request, response);
+            return;
+        }
+        chain.doFilter(new CborRequest(request), new CborResponse(response));
+    }
+
+    // Same choice as content negotiation between the two converters: JSON wins ties and wildcards
+    public static boolean prefersCbor(String accept) {
+        if (accept == null || !accept.contains("cbor")) {
+            return false;
+        }
+        List<MediaType> types;
+        try {
+            types = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        types.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType type : types) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            if (type.includes(MediaType.APPLICATION_JSON)) {
+                return false;
+            }
+            if (type.includes(MediaType.APPLICATION_CBOR)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // "x" -> "x+cbor", W/"x" -> W/"x+cbor"
+    static String toCborTag(String eTag) {
+        if (eTag == null || !eTag.endsWith("\"") || eTag.endsWith(CBOR_SUFFIX + "\"")) {
+            return eTag;
+        }
+        return eTag.substring(0, eTag.length() - 1) + CBOR_SUFFIX + "\"";
+    }
+
+    // Keeps the tags of the CBOR representation without their suffix. If-None-Match drops JSON tags so
+    // they never produce a 304 with a body of the other format; If-Match compares versions only and keeps them
+    static String fromCborTags(String header, boolean dropOtherTags) {
+        if (header == null) {
+            return null;
+        }
+        List<String> kept = new ArrayList<>();
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                kept.add(tag);
+            } else if (tag.endsWith(CBOR_SUFFIX + "\"")) {
+                kept.add(tag.substring(0, tag.length() - CBOR_SUFFIX.length() - 1) + "\"");
+            } else if (!dropOtherTags) {
+                kept.add(tag);
+            }
+        }
+        return kept.isEmpty() ? null : String.join(", ", kept);
+    }
+
+    private static final class CborRequest extends HttpServletRequestWrapper {
+
+        private CborRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            if (HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name)) {
+                return fromCborTags(super.getHeader(name), true);
+            }
+            if (HttpHeaders.IF_MATCH.equalsIgnoreCase(name)) {
+                return fromCborTags(super.getHeader(name), false);
+            }
+            return super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            if (HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name) || HttpHeaders.IF_MATCH.equalsIgnoreCase(name)) {
+                String value = getHeader(name);
+                return Collections.enumeration(value != null ? List.of(value) : List.of());
+            }
+            return super.getHeaders(name);
+        }
+    }
+
+    private static final class CborResponse extends HttpServletResponseWrapper {
+
+        private CborResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            super.setHeader(name, HttpHeaders.ETAG.equalsIgnoreCase(name) ? toCborTag(value) : value);
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            super.addHeader(name, HttpHeaders.ETAG.equalsIgnoreCase(name) ? toCborTag(value) : value);
+        }
+    }
+}
@@ -43,9 +43,9 @@ public class AuthController {
 
         AuthResponse response = new AuthResponse(
                 token,
-                userDTO.getUsername(),
-                userDTO.getEmail(),
-                userDTO.getId()
+                userDTO.username(),
+                userDTO.email(),
+                userDTO.id()
         );
 
         return ResponseEntity.ok(response);
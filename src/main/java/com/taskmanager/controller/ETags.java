@@ -0,0 +1,54 @@
+package com.taskmanager.controller;
+
+public final class ETags {
+
+    private ETags() {}
+
+    static String of(Object version) {
+        return "\"" + version + "\"";
+    }
+
+    // List responses use weak tags: Tomcat never gzips a response that carries a strong ETag
+    static String weak(Object stamp) {
+        return "W/" + of(stamp);
+    }
+
+    // If-None-Match uses weak comparison, so W/"x" matches "x"
+    public static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaqueTag = stripWeakPrefix(eTag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || stripWeakPrefix(value).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeakPrefix(String eTag) {
+        return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+    }
+
+    // Returns the task version expected by an If-Match header, null when any version is accepted.
+    // Task tags are "<task version>-<assignee version>"; only the task's own version guards an update
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.length() < 2 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            return -1L;
+        }
+        try {
+            String version = value.substring(1, value.length() - 1);
+            int separator = version.indexOf('-');
+            return Long.parseLong(separator >= 0 ? version.substring(0, separator) : version);
+        } catch (NumberFormatException e) {
+            // Never matches a real version, the update is rejected with 412
+            return -1L;
+        }
+    }
+}
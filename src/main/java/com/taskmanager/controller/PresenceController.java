@@ -0,0 +1,26 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.service.PresenceTracker;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.security.Principal;
+
+@RestController
+@RequestMapping("/api/presence")
+public class PresenceController {
+
+    private final PresenceTracker presenceTracker;
+
+    public PresenceController(PresenceTracker presenceTracker) {
+        this.presenceTracker = presenceTracker;
+    }
+
+    @PostMapping("/heartbeat")
+    public ResponseEntity<Void> heartbeat(Principal principal) {
+        presenceTracker.heartbeat(principal.getName());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.dto.StatsDTO;
+import com.taskmanager.service.StatsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+
+    private final StatsService statsService;
+
+    public StatsController(StatsService statsService) {
+        this.statsService = statsService;
+    }
+
+    @GetMapping
+    public ResponseEntity<StatsDTO> getStats() {
+        StatsDTO stats = statsService.getStats();
+        return ResponseEntity.ok(stats);
+    }
+}
@@ -1,56 +1,109 @@
 package com.taskmanager.controller;
 
-import com.taskmanager.entity.Task;
 import com.taskmanager.enums.PriorityLevel;
+import com.taskmanager.dto.BulkTaskRequest;
+import com.taskmanager.dto.BulkTaskResult;
+import com.taskmanager.dto.CreateTaskRequest;
 import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.dto.TaskDoneRequest;
+import com.taskmanager.dto.TaskSearchFilter;
+import com.taskmanager.dto.TaskSearchPage;
+import com.taskmanager.dto.TaskTextSearchPage;
+import com.taskmanager.dto.UpdateTaskRequest;
+import com.taskmanager.dto.Versioned;
+import com.taskmanager.service.TaskCreationBatcher;
 import com.taskmanager.service.TaskService;
+import jakarta.validation.Valid;
+import jakarta.validation.groups.Default;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.security.Principal;
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/tasks")
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskCreationBatcher taskCreationBatcher;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskCreationBatcher taskCreationBatcher) {
         this.taskService = taskService;
+        this.taskCreationBatcher = taskCreationBatcher;
     }
 
     @GetMapping
-    public ResponseEntity<List<TaskDTO>> getAllTasks() {
-        List<TaskDTO> tasks = taskService.getAllTasks();
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<List<TaskDTO>> getAllTasks(@RequestParam(defaultValue = "false") boolean includeArchived,
+                                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String eTag = ETags.weak(taskService.getTasksVersionStamp(includeArchived));
+        if (ETags.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        List<TaskDTO> tasks = taskService.getAllTasks(includeArchived);
+        return ResponseEntity.ok().eTag(eTag).body(tasks);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TaskDTO> getTaskById(@PathVariable Long id) {
-        TaskDTO task = taskService.getTaskById(id);
-        return ResponseEntity.ok(task);
+    public ResponseEntity<TaskDTO> getTaskById(@PathVariable Long id,
+                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // The version is checked first so a 304 never loads the task itself. A 200 carries the version of the
+        // body served, which may differ if the task changed in between.
+        String eTag = ETags.of(taskService.getTaskVersion(id));
+        if (ETags.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        Versioned<TaskDTO> task = taskService.getTaskById(id);
+        return ResponseEntity.ok().eTag(ETags.of(task.version())).body(task.body());
     }
 
     @PostMapping
-    public ResponseEntity<TaskDTO> createTask(@RequestBody Task task) {
-        TaskDTO createdTask = taskService.createTask(task);
+    public ResponseEntity<TaskDTO> createTask(@Valid @RequestBody CreateTaskRequest request,
+                                              @RequestParam(defaultValue = "true") boolean autoAssign,
+                                              Principal principal) {
+        // With batching on, the request waits for a shared transaction instead of opening its own
+        TaskDTO createdTask = autoAssign && taskCreationBatcher.isEnabled()
+                ? taskCreationBatcher.createTask(request, principal != null ? principal.getName() : null)
+                : taskService.createTask(request, autoAssign);
         return ResponseEntity.ok(createdTask);
     }
 
+    @PostMapping("/claim")
+    public ResponseEntity<TaskDTO> claimNextTask(Principal principal) {
+        return taskService.claimNextTask(principal.getName())
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<TaskDTO> updateTask(@PathVariable Long id, @RequestBody Task task) {
-        TaskDTO updatedTask = taskService.updateTask(id, task);
+    public ResponseEntity<TaskDTO> updateTask(@PathVariable Long id, @Valid @RequestBody UpdateTaskRequest request,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TaskDTO updatedTask = taskService.updateTask(id, request, ETags.expectedVersion(ifMatch));
         return ResponseEntity.ok(updatedTask);
     }
 
     @PutMapping("/{id}/done")
-    public ResponseEntity<TaskDTO> updateTaskDone(@PathVariable Long id, @RequestBody Map<String, Boolean> request) {
-        boolean done = request.get("done");
-        TaskDTO updatedTask = taskService.updateTaskDone(id, done);
+    public ResponseEntity<TaskDTO> updateTaskDone(@PathVariable Long id, @Valid @RequestBody TaskDoneRequest request) {
+        TaskDTO updatedTask = taskService.updateTaskDone(id, request.done());
         return ResponseEntity.ok(updatedTask);
     }
 
+    @PutMapping("/done")
+    public ResponseEntity<BulkTaskResult> updateTasksDone(
+            @Validated({Default.class, BulkTaskRequest.DoneUpdate.class}) @RequestBody BulkTaskRequest request) {
+        BulkTaskResult result = taskService.updateTasksDone(request);
+        return ResponseEntity.ok(result);
+    }
+
+    @DeleteMapping
+    public ResponseEntity<BulkTaskResult> deleteTasks(@Valid @RequestBody BulkTaskRequest request) {
+        BulkTaskResult result = taskService.deleteTasks(request);
+        return ResponseEntity.ok(result);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTask(@PathVariable Long id) {
         taskService.deleteTask(id);
@@ -58,17 +111,43 @@ public class TaskController {
     }
 
     @GetMapping("/priority/{priorityLevel}")
-    public ResponseEntity<List<TaskDTO>> getTasksByPriority(@PathVariable PriorityLevel priorityLevel) {
-        List<TaskDTO> tasks = taskService.getTasksByPriority(priorityLevel);
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<List<TaskDTO>> getTasksByPriority(@PathVariable PriorityLevel priorityLevel,
+                                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String eTag = ETags.weak(taskService.getTasksByPriorityVersionStamp(priorityLevel));
+        if (ETags.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        Versioned<List<TaskDTO>> tasks = taskService.getTasksByPriority(priorityLevel);
+        return ResponseEntity.ok().eTag(ETags.weak(tasks.version())).body(tasks.body());
     }
 
     @GetMapping("/assignee/{userId}")
-    public ResponseEntity<List<TaskDTO>> getTasksByAssignee(@PathVariable Long userId) {
-        List<TaskDTO> tasks = taskService.getTasksByAssignee(userId);
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<List<TaskDTO>> getTasksByAssignee(@PathVariable Long userId,
+                                                            @RequestParam(defaultValue = "false") boolean includeArchived,
+                                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String eTag = ETags.weak(taskService.getTasksByAssigneeVersionStamp(userId, includeArchived));
+        if (ETags.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        Versioned<List<TaskDTO>> tasks = taskService.getTasksByAssignee(userId, includeArchived);
+        return ResponseEntity.ok().eTag(ETags.weak(tasks.version())).body(tasks.body());
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<TaskSearchPage> searchTasks(TaskSearchFilter filter,
+                                                      @RequestParam(required = false) Long cursor,
+                                                      @RequestParam(defaultValue = "50") int size) {
+        TaskSearchPage page = taskService.searchTasks(filter, cursor, size);
+        return ResponseEntity.ok(page);
     }
 
+    @GetMapping(value = "/search", params = "q")
+    public ResponseEntity<TaskTextSearchPage> searchTasksByText(@RequestParam String q,
+                                                                @RequestParam(defaultValue = "0") int page,
+                                                                @RequestParam(defaultValue = "20") int size) {
+        TaskTextSearchPage result = taskService.searchTasksByText(q, page, size);
+        return ResponseEntity.ok(result);
+    }
 
     @PostMapping("/{taskId}/assign")
     public ResponseEntity<TaskDTO> assignTaskToAvailableUser(@PathVariable Long taskId) {
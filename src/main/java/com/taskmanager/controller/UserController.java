@@ -1,9 +1,13 @@
 package com.taskmanager.controller;
 
+import com.taskmanager.dto.RedistributionResult;
 import com.taskmanager.dto.UserDTO;
 import com.taskmanager.dto.CreateUserRequest;
+import com.taskmanager.dto.Versioned;
 import com.taskmanager.service.UserService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -20,15 +24,25 @@ public class UserController {
     }
 
     @GetMapping
-    public ResponseEntity<List<UserDTO>> getAllUsers() {
+    public ResponseEntity<List<UserDTO>> getAllUsers(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String eTag = ETags.weak(userService.getUsersVersionStamp());
+        if (ETags.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
         List<UserDTO> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+        return ResponseEntity.ok().eTag(eTag).body(users);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<UserDTO> getUserById(@PathVariable Long id) {
+    public ResponseEntity<UserDTO> getUserById(@PathVariable Long id,
+                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // The version is checked first so a 304 never loads the user itself
+        String eTag = ETags.of(userService.getUserVersion(id));
+        if (ETags.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
         UserDTO user = userService.getUserById(id);
-        return ResponseEntity.ok(user);
+        return ResponseEntity.ok().eTag(eTag).body(user);
     }
 
 //    @PostMapping
@@ -49,9 +63,25 @@ public class UserController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/{id}/offline")
+    public ResponseEntity<RedistributionResult> goOffline(@PathVariable Long id) {
+        RedistributionResult result = userService.goOffline(id);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping("/{id}/online")
+    public ResponseEntity<UserDTO> goOnline(@PathVariable Long id) {
+        UserDTO user = userService.goOnline(id);
+        return ResponseEntity.ok(user);
+    }
+
     @GetMapping("/available")
-    public ResponseEntity<List<UserDTO>> getAvailableUsers() {
-        List<UserDTO> availableUsers = userService.getAvailableUsers();
-        return ResponseEntity.ok(availableUsers);
+    public ResponseEntity<List<UserDTO>> getAvailableUsers(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String eTag = ETags.weak(userService.getAvailableUsersVersionStamp());
+        if (ETags.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        Versioned<List<UserDTO>> availableUsers = userService.getAvailableUsers();
+        return ResponseEntity.ok().eTag(ETags.weak(availableUsers.version())).body(availableUsers.body());
     }
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.taskmanager.dto;
+
+public interface ActiveTaskCountRow {
+    Long getAssigneeId();
+
+    long getCount();
+}
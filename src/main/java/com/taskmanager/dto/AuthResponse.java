@@ -1,30 +1,11 @@
 package com.taskmanager.dto;
 
-public class AuthResponse {
-    private String token;
-    private String username;
-    private String email;
-    private Long userId;
-
-
-    public AuthResponse() {}
-
-    public AuthResponse(String token, String username, String email, Long userId) {
-        this.token = token;
-        this.username = username;
-        this.email = email;
-        this.userId = userId;
-    }
-
-    public String getToken() { return token; }
-    public void setToken(String token) { this.token = token; }
-
-    public String getUsername() { return username; }
-    public void setUsername(String username) { this.username = username; }
-
-    public String getEmail() { return email; }
-    public void setEmail(String email) { this.email = email; }
-
-    public Long getUserId() { return userId; }
-    public void setUserId(Long userId) { this.userId = userId; }
-}
\ No newline at end of file
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AuthResponse(
+        String token,
+        String username,
+        String email,
+        Long userId
+) {}
@@ -0,0 +1,29 @@
+package com.taskmanager.dto;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+// Selects tasks either by ids or by filter, exactly one of the two must be given
+public record BulkTaskRequest(
+        @Size(min = 1, max = BulkTaskRequest.MAX_TASKS, message = "Ids must contain from {min} to {max} tasks")
+        List<@NotNull(message = "Task id is required") Long> ids,
+
+        TaskSearchFilter filter,
+
+        // Only used by the bulk done update
+        @NotNull(groups = DoneUpdate.class, message = "Done flag is required")
+        Boolean done
+) {
+    public static final int MAX_TASKS = 1000;
+
+    // Validation group of the bulk done update
+    public interface DoneUpdate {}
+
+    @AssertTrue(message = "Either ids or filter is required, not both")
+    public boolean isSelectionValid() {
+        return (ids != null) != (filter != null);
+    }
+}
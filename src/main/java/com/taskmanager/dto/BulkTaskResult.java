@@ -0,0 +1,3 @@
+package com.taskmanager.dto;
+
+public record BulkTaskResult(int affectedTasks, int affectedUsers) {}
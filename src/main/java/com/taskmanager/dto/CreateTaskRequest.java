@@ -0,0 +1,16 @@
+package com.taskmanager.dto;
+
+import com.taskmanager.enums.PriorityLevel;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record CreateTaskRequest(
+        @NotBlank(message = "Title is required")
+        @Size(max = 255, message = "Title must be at most 255 characters")
+        String title,
+
+        @Size(max = 255, message = "Description must be at most 255 characters")
+        String description,
+
+        PriorityLevel priorityLevel
+) {}
@@ -1,71 +1,22 @@
 package com.taskmanager.dto;
 
-import java.time.LocalDateTime;
-
-public class ErrorResponse {
-    private String message;
-    private int status;
-    private String error;
-    private LocalDateTime timestamp;
-    private String path;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
-    public ErrorResponse() {
-        this.timestamp = LocalDateTime.now();
-    }
+import java.time.LocalDateTime;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ErrorResponse(
+        String message,
+        int status,
+        String error,
+        LocalDateTime timestamp,
+        String path
+) {
     public ErrorResponse(String message, int status, String error) {
-        this();
-        this.message = message;
-        this.status = status;
-        this.error = error;
+        this(message, status, error, LocalDateTime.now(), null);
     }
 
     public ErrorResponse(String message, int status, String error, String path) {
-        this(message, status, error);
-        this.path = path;
-    }
-
-    // Getters and Setters
-    public String getMessage() {
-        return message;
-    }
-
-    public void setMessage(String message) {
-        this.message = message;
-    }
-
-    public int getStatus() {
-        return status;
-    }
-
-    public void setStatus(int status) {
-        this.status = status;
-    }
-
-    public String getError() {
-        return error;
-    }
-
-    public void setError(String error) {
-        this.error = error;
-    }
-
-    public LocalDateTime getTimestamp() {
-        return timestamp;
-    }
-
-    public void setTimestamp(LocalDateTime timestamp) {
-        this.timestamp = timestamp;
-    }
-
-    public String getPath() {
-        return path;
-    }
-
-    public void setPath(String path) {
-        this.path = path;
+        this(message, status, error, LocalDateTime.now(), path);
     }
 }
-
-
-
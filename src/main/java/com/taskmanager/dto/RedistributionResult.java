@@ -0,0 +1,3 @@
+package com.taskmanager.dto;
+
+public record RedistributionResult(int reassignedTasks, int unassignedTasks, int affectedUsers) {}
@@ -0,0 +1,108 @@
+package com.taskmanager.dto;
+
+import com.taskmanager.enums.AvailabilityStatus;
+import com.taskmanager.enums.PriorityLevel;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public class StatsDTO {
+    private long totalTasks;
+    private long activeTasks;
+    private long doneTasks;
+    private long unassignedTasks;
+    private Map<PriorityLevel, Long> tasksByPriority;
+    // Keyed by user id, unassigned tasks are counted in unassignedTasks
+    private Map<Long, Long> tasksByAssignee;
+    private long totalUsers;
+    private Map<AvailabilityStatus, Long> usersByAvailability;
+    private LocalDateTime computedAt;
+
+    public StatsDTO() {}
+
+    public StatsDTO(long totalTasks, long activeTasks, long doneTasks, long unassignedTasks,
+                    Map<PriorityLevel, Long> tasksByPriority, Map<Long, Long> tasksByAssignee,
+                    long totalUsers, Map<AvailabilityStatus, Long> usersByAvailability, LocalDateTime computedAt) {
+        this.totalTasks = totalTasks;
+        this.activeTasks = activeTasks;
+        this.doneTasks = doneTasks;
+        this.unassignedTasks = unassignedTasks;
+        this.tasksByPriority = tasksByPriority;
+        this.tasksByAssignee = tasksByAssignee;
+        this.totalUsers = totalUsers;
+        this.usersByAvailability = usersByAvailability;
+        this.computedAt = computedAt;
+    }
+
+    public long getTotalTasks() {
+        return totalTasks;
+    }
+
+    public void setTotalTasks(long totalTasks) {
+        this.totalTasks = totalTasks;
+    }
+
+    public long getActiveTasks() {
+        return activeTasks;
+    }
+
+    public void setActiveTasks(long activeTasks) {
+        this.activeTasks = activeTasks;
+    }
+
+    public long getDoneTasks() {
+        return doneTasks;
+    }
+
+    public void setDoneTasks(long doneTasks) {
+        this.doneTasks = doneTasks;
+    }
+
+    public long getUnassignedTasks() {
+        return unassignedTasks;
+    }
+
+    public void setUnassignedTasks(long unassignedTasks) {
+        this.unassignedTasks = unassignedTasks;
+    }
+
+    public Map<PriorityLevel, Long> getTasksByPriority() {
+        return tasksByPriority;
+    }
+
+    public void setTasksByPriority(Map<PriorityLevel, Long> tasksByPriority) {
+        this.tasksByPriority = tasksByPriority;
+    }
+
+    public Map<Long, Long> getTasksByAssignee() {
+        return tasksByAssignee;
+    }
+
+    public void setTasksByAssignee(Map<Long, Long> tasksByAssignee) {
+        this.tasksByAssignee = tasksByAssignee;
+    }
+
+    public long getTotalUsers() {
+        return totalUsers;
+    }
+
+    public void setTotalUsers(long totalUsers) {
+        this.totalUsers = totalUsers;
+    }
+
+    public Map<AvailabilityStatus, Long> getUsersByAvailability() {
+        return usersByAvailability;
+    }
+
+    public void setUsersByAvailability(Map<AvailabilityStatus, Long> usersByAvailability) {
+        this.usersByAvailability = usersByAvailability;
+    }
+
+    public LocalDateTime getComputedAt() {
+        return computedAt;
+    }
+
+    public void setComputedAt(LocalDateTime computedAt) {
+        this.computedAt = computedAt;
+    }
+}
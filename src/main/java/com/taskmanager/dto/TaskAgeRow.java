@@ -0,0 +1,13 @@
+package com.taskmanager.dto;
+
+import com.taskmanager.enums.PriorityLevel;
+
+import java.time.LocalDateTime;
+
+public interface TaskAgeRow {
+    Long getId();
+
+    PriorityLevel getPriorityLevel();
+
+    LocalDateTime getCreationTimestamp();
+}
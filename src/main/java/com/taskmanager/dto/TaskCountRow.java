@@ -0,0 +1,13 @@
+package com.taskmanager.dto;
+
+import com.taskmanager.enums.PriorityLevel;
+
+public interface TaskCountRow {
+    PriorityLevel getPriorityLevel();
+
+    boolean isDone();
+
+    Long getAssigneeId();
+
+    long getCount();
+}
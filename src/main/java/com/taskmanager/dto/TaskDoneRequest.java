@@ -0,0 +1,8 @@
+package com.taskmanager.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public record TaskDoneRequest(
+        @NotNull(message = "Done flag is required")
+        Boolean done
+) {}
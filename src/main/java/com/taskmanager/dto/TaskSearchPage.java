@@ -0,0 +1,32 @@
+package com.taskmanager.dto;
+
+import java.util.List;
+
+public class TaskSearchPage {
+    private List<TaskSummaryDTO> items;
+    // Pass back as ?cursor= to fetch the next page, null on the last page
+    private Long nextCursor;
+
+    public TaskSearchPage() {}
+
+    public TaskSearchPage(List<TaskSummaryDTO> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<TaskSummaryDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<TaskSummaryDTO> items) {
+        this.items = items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,73 @@
+package com.taskmanager.dto;
+
+import com.taskmanager.enums.PriorityLevel;
+
+import java.time.LocalDateTime;
+
+public class TaskSummaryDTO {
+    private Long id;
+    private String title;
+    private PriorityLevel priorityLevel;
+    private LocalDateTime creationTimestamp;
+    private Long assignedUserId;
+    private boolean done;
+
+    public TaskSummaryDTO() {}
+
+    public TaskSummaryDTO(Long id, String title, PriorityLevel priorityLevel, LocalDateTime creationTimestamp, Long assignedUserId, boolean done) {
+        this.id = id;
+        this.title = title;
+        this.priorityLevel = priorityLevel;
+        this.creationTimestamp = creationTimestamp;
+        this.assignedUserId = assignedUserId;
+        this.done = done;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public PriorityLevel getPriorityLevel() {
+        return priorityLevel;
+    }
+
+    public void setPriorityLevel(PriorityLevel priorityLevel) {
+        this.priorityLevel = priorityLevel;
+    }
+
+    public LocalDateTime getCreationTimestamp() {
+        return creationTimestamp;
+    }
+
+    public void setCreationTimestamp(LocalDateTime creationTimestamp) {
+        this.creationTimestamp = creationTimestamp;
+    }
+
+    public Long getAssignedUserId() {
+        return assignedUserId;
+    }
+
+    public void setAssignedUserId(Long assignedUserId) {
+        this.assignedUserId = assignedUserId;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public void setDone(boolean done) {
+        this.done = done;
+    }
+}
@@ -0,0 +1,9 @@
+package com.taskmanager.dto;
+
+public interface TaskTextProjection {
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+}
@@ -0,0 +1,51 @@
+package com.taskmanager.dto;
+
+import java.util.List;
+
+public class TaskTextSearchPage {
+    private List<TaskDTO> items;
+    private int page;
+    private int size;
+    private long totalHits;
+
+    public TaskTextSearchPage() {}
+
+    public TaskTextSearchPage(List<TaskDTO> items, int page, int size, long totalHits) {
+        this.items = items;
+        this.page = page;
+        this.size = size;
+        this.totalHits = totalHits;
+    }
+
+    public List<TaskDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<TaskDTO> items) {
+        this.items = items;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public long getTotalHits() {
+        return totalHits;
+    }
+
+    public void setTotalHits(long totalHits) {
+        this.totalHits = totalHits;
+    }
+}
@@ -0,0 +1,7 @@
+package com.taskmanager.dto;
+
+public interface TaskVersionRow {
+    Long getId();
+
+    Long getVersion();
+}
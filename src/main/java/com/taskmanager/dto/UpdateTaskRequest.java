@@ -0,0 +1,13 @@
+package com.taskmanager.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record UpdateTaskRequest(
+        @NotBlank(message = "Title is required")
+        @Size(max = 255, message = "Title must be at most 255 characters")
+        String title,
+
+        @Size(max = 255, message = "Description must be at most 255 characters")
+        String description
+) {}
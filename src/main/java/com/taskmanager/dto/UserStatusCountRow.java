@@ -0,0 +1,9 @@
+package com.taskmanager.dto;
+
+import com.taskmanager.enums.AvailabilityStatus;
+
+public interface UserStatusCountRow {
+    AvailabilityStatus getAvailabilityStatus();
+
+    long getCount();
+}
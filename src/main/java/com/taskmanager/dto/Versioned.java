@@ -0,0 +1,29 @@
+package com.taskmanager.dto;
+
+import java.util.Collection;
+import java.util.function.ToLongFunction;
+
+// A response body with the version stamp of the rows it was built from, in the formats of the
+// version stamp queries in TaskRepository and UserRepository
+public record Versioned<T>(T body, String version) {
+
+    public static String taskStamp(long taskVersion, long assigneeVersion) {
+        return taskVersion + "-" + assigneeVersion;
+    }
+
+    public static String listStamp(long count, long maxId, long... versionSums) {
+        StringBuilder stamp = new StringBuilder().append(count).append('-').append(maxId);
+        for (long sum : versionSums) {
+            stamp.append('-').append(sum);
+        }
+        return stamp.toString();
+    }
+
+    public static <E> long sum(Collection<E> rows, ToLongFunction<E> version) {
+        long sum = 0;
+        for (E row : rows) {
+            sum += version.applyAsLong(row);
+        }
+        return sum;
+    }
+}
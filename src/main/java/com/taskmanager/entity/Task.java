@@ -2,19 +2,34 @@ package com.taskmanager.entity;
 
 import com.taskmanager.enums.PriorityLevel;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import jakarta.validation.constraints.NotBlank;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tasks")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_done_completion", columnList = "done, completionTimestamp"),
+        @Index(name = "idx_tasks_priority_id", columnList = "priorityLevel, id"),
+        @Index(name = "idx_tasks_assignee_id", columnList = "assigned_user_id, id"),
+        @Index(name = "idx_tasks_creation", columnList = "creationTimestamp"),
+        @Index(name = "idx_tasks_done_id", columnList = "done, id")
+})
 public class Task {
+    // A pooled sequence instead of IDENTITY lets Hibernate batch inserts, ids come 50 at a time
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
+    @Version
+    private Long version;
+
     @NotBlank
     private String title;
 
+    @Basic(fetch = FetchType.LAZY)
     private String description;
 
     @Enumerated(EnumType.STRING)
@@ -28,6 +43,9 @@ public class Task {
     
     // Indicates whether the task is completed
     private boolean done = false;
+
+    // Set when the task is marked done, used to pick tasks for archival
+    private LocalDateTime completionTimestamp;
     
     public Task() {}
 
@@ -95,4 +113,20 @@ public class Task {
     public void setDone(boolean done) {
         this.done = done;
     }
+
+    public LocalDateTime getCompletionTimestamp() {
+        return completionTimestamp;
+    }
+
+    public void setCompletionTimestamp(LocalDateTime completionTimestamp) {
+        this.completionTimestamp = completionTimestamp;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,133 @@
+package com.taskmanager.entity;
+
+import com.taskmanager.enums.PriorityLevel;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "tasks_archive", indexes = {
+        @Index(name = "idx_tasks_archive_task_id", columnList = "taskId", unique = true),
+        @Index(name = "idx_tasks_archive_assignee", columnList = "assignedUserId")
+})
+public class TaskArchive {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // ID the task had in the tasks table
+    private Long taskId;
+
+    private String title;
+
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    private PriorityLevel priorityLevel;
+
+    // Plain columns instead of a relation, the user may be deleted after archival
+    private Long assignedUserId;
+
+    private String assignedUserName;
+
+    private LocalDateTime creationTimestamp;
+
+    private LocalDateTime completionTimestamp;
+
+    private LocalDateTime archivedAt;
+
+    public TaskArchive() {}
+
+    public TaskArchive(Task task) {
+        this.taskId = task.getId();
+        this.title = task.getTitle();
+        this.description = task.getDescription();
+        this.priorityLevel = task.getPriorityLevel();
+        if (task.getAssignedUser() != null) {
+            this.assignedUserId = task.getAssignedUser().getId();
+            this.assignedUserName = task.getAssignedUser().getUsername();
+        }
+        this.creationTimestamp = task.getCreationTimestamp();
+        this.completionTimestamp = task.getCompletionTimestamp();
+        this.archivedAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public PriorityLevel getPriorityLevel() {
+        return priorityLevel;
+    }
+
+    public void setPriorityLevel(PriorityLevel priorityLevel) {
+        this.priorityLevel = priorityLevel;
+    }
+
+    public Long getAssignedUserId() {
+        return assignedUserId;
+    }
+
+    public void setAssignedUserId(Long assignedUserId) {
+        this.assignedUserId = assignedUserId;
+    }
+
+    public String getAssignedUserName() {
+        return assignedUserName;
+    }
+
+    public void setAssignedUserName(String assignedUserName) {
+        this.assignedUserName = assignedUserName;
+    }
+
+    public LocalDateTime getCreationTimestamp() {
+        return creationTimestamp;
+    }
+
+    public void setCreationTimestamp(LocalDateTime creationTimestamp) {
+        this.creationTimestamp = creationTimestamp;
+    }
+
+    public LocalDateTime getCompletionTimestamp() {
+        return completionTimestamp;
+    }
+
+    public void setCompletionTimestamp(LocalDateTime completionTimestamp) {
+        this.completionTimestamp = completionTimestamp;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public void setArchivedAt(LocalDateTime archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+}
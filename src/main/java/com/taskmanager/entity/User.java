@@ -2,18 +2,22 @@ package com.taskmanager.entity;
 
 import com.taskmanager.enums.AvailabilityStatus;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
-import java.util.ArrayList;
-import java.util.List;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 @Table(name = "users")
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    private Long version;
+
     @NotBlank
     @Column(unique = true)
     private String username;
@@ -24,13 +28,14 @@ public class User {
     private String email;
 
     @NotBlank
+    @Basic(fetch = FetchType.LAZY)
     private String hashedPassword;
 
     @Enumerated(EnumType.STRING)
     private AvailabilityStatus availabilityStatus;
 
-    @OneToMany(mappedBy = "assignedUser", cascade = CascadeType.ALL, orphanRemoval = true)
-    private List<Task> tasks = new ArrayList<>();
+    // Taken offline with goOffline: heartbeats never bring the user back, only goOnline does
+    private boolean manuallyOffline;
 
     // Constructors
     public User() {}
@@ -42,14 +47,6 @@ public class User {
         this.availabilityStatus = availabilityStatus;
     }
 
-    public List<Task> getTasks() {
-        return tasks;
-    }
-
-    public void setTasks(List<Task> tasks) {
-        this.tasks = tasks;
-    }
-
     public AvailabilityStatus getAvailabilityStatus() {
         return availabilityStatus;
     }
@@ -58,6 +55,14 @@ public class User {
         this.availabilityStatus = availabilityStatus;
     }
 
+    public boolean isManuallyOffline() {
+        return manuallyOffline;
+    }
+
+    public void setManuallyOffline(boolean manuallyOffline) {
+        this.manuallyOffline = manuallyOffline;
+    }
+
     public String getHashedPassword() {
         return hashedPassword;
     }
@@ -89,4 +94,12 @@ public class User {
     public void setId(Long id) {
         this.id = id;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
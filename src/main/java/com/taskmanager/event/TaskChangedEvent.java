@@ -0,0 +1,38 @@
+package com.taskmanager.event;
+
+import com.taskmanager.dto.TaskDTO;
+
+// Published inside the writing transaction; before is null on create, after is null on delete.
+// actor is set when the change is made on behalf of a request by another thread, null means the
+// user of the publishing thread
+public class TaskChangedEvent {
+    private final TaskDTO before;
+    private final TaskDTO after;
+    private final String actor;
+
+    public TaskChangedEvent(TaskDTO before, TaskDTO after) {
+        this(before, after, null);
+    }
+
+    public TaskChangedEvent(TaskDTO before, TaskDTO after, String actor) {
+        this.before = before;
+        this.after = after;
+        this.actor = actor;
+    }
+
+    public TaskDTO getBefore() {
+        return before;
+    }
+
+    public TaskDTO getAfter() {
+        return after;
+    }
+
+    public String getActor() {
+        return actor;
+    }
+
+    public Long getTaskId() {
+        return after != null ? after.id() : before.id();
+    }
+}
@@ -0,0 +1,24 @@
+package com.taskmanager.event;
+
+import com.taskmanager.dto.TaskSummaryDTO;
+
+import java.util.List;
+
+// Bulk done/undone update; tasks hold the state before the update, all of them now have the given done flag
+public class TasksDoneChangedEvent {
+    private final List<TaskSummaryDTO> tasks;
+    private final boolean done;
+
+    public TasksDoneChangedEvent(List<TaskSummaryDTO> tasks, boolean done) {
+        this.tasks = tasks;
+        this.done = done;
+    }
+
+    public List<TaskSummaryDTO> getTasks() {
+        return tasks;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+}
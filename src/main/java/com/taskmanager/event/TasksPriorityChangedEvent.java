@@ -0,0 +1,26 @@
+package com.taskmanager.event;
+
+import com.taskmanager.dto.TaskSummaryDTO;
+import com.taskmanager.enums.PriorityLevel;
+
+import java.util.List;
+import java.util.Map;
+
+// Bulk priority change; tasks hold the state before the update, the map gives each task's new priority
+public class TasksPriorityChangedEvent {
+    private final List<TaskSummaryDTO> tasks;
+    private final Map<Long, PriorityLevel> priorities;
+
+    public TasksPriorityChangedEvent(List<TaskSummaryDTO> tasks, Map<Long, PriorityLevel> priorities) {
+        this.tasks = tasks;
+        this.priorities = priorities;
+    }
+
+    public List<TaskSummaryDTO> getTasks() {
+        return tasks;
+    }
+
+    public PriorityLevel getPriorityLevel(Long taskId) {
+        return priorities.get(taskId);
+    }
+}
@@ -0,0 +1,26 @@
+package com.taskmanager.event;
+
+import com.taskmanager.dto.TaskSummaryDTO;
+
+import java.util.List;
+import java.util.Map;
+
+// Bulk reassignment; tasks hold the state before the update, the map gives each task's new assignee
+// (null when the task went back to the claim queue)
+public class TasksReassignedEvent {
+    private final List<TaskSummaryDTO> tasks;
+    private final Map<Long, Long> assignees;
+
+    public TasksReassignedEvent(List<TaskSummaryDTO> tasks, Map<Long, Long> assignees) {
+        this.tasks = tasks;
+        this.assignees = assignees;
+    }
+
+    public List<TaskSummaryDTO> getTasks() {
+        return tasks;
+    }
+
+    public Long getAssigneeId(Long taskId) {
+        return assignees.get(taskId);
+    }
+}
@@ -0,0 +1,26 @@
+package com.taskmanager.event;
+
+import com.taskmanager.dto.TaskSummaryDTO;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Tasks removed from the tasks table in bulk (archival, cascades, bulk delete) without per-task events
+public class TasksRemovedEvent {
+    private final List<TaskSummaryDTO> tasks;
+
+    public TasksRemovedEvent(List<TaskSummaryDTO> tasks) {
+        this.tasks = tasks;
+    }
+
+    // State of each task just before it was removed
+    public List<TaskSummaryDTO> getTasks() {
+        return tasks;
+    }
+
+    public List<Long> getTaskIds() {
+        return tasks.stream()
+                .map(TaskSummaryDTO::getId)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,27 @@
+package com.taskmanager.event;
+
+import com.taskmanager.dto.UserDTO;
+
+// A user was created, updated or deleted; availability changes made by TaskService come with task events.
+// Before is null on create, after is null on delete.
+public class UserChangedEvent {
+    private final UserDTO before;
+    private final UserDTO after;
+
+    public UserChangedEvent(UserDTO before, UserDTO after) {
+        this.before = before;
+        this.after = after;
+    }
+
+    public UserDTO getBefore() {
+        return before;
+    }
+
+    public UserDTO getAfter() {
+        return after;
+    }
+
+    public Long getUserId() {
+        return after != null ? after.id() : before.id();
+    }
+}
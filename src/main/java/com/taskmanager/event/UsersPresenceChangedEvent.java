@@ -0,0 +1,30 @@
+package com.taskmanager.event;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Presence transitions written in one batch: users who came back online and users whose heartbeats stopped
+public class UsersPresenceChangedEvent {
+    private final List<Long> online;
+    private final List<Long> offline;
+
+    public UsersPresenceChangedEvent(List<Long> online, List<Long> offline) {
+        this.online = online;
+        this.offline = offline;
+    }
+
+    public List<Long> getOnline() {
+        return online;
+    }
+
+    public List<Long> getOffline() {
+        return offline;
+    }
+
+    public List<Long> getUserIds() {
+        List<Long> userIds = new ArrayList<>(online.size() + offline.size());
+        userIds.addAll(online);
+        userIds.addAll(offline);
+        return userIds;
+    }
+}
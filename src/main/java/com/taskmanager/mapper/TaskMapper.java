@@ -0,0 +1,52 @@
+package com.taskmanager.mapper;
+
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.dto.TaskSummaryDTO;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.TaskArchive;
+import com.taskmanager.entity.User;
+
+public final class TaskMapper {
+
+    private TaskMapper() {}
+
+    public static TaskDTO toDTO(Task task) {
+        User assignee = task.getAssignedUser();
+        return new TaskDTO(
+                task.getId(),
+                task.getTitle(),
+                task.getDescription(),
+                task.getPriorityLevel(),
+                task.getCreationTimestamp(),
+                assignee != null ? assignee.getId() : null,
+                assignee != null ? assignee.getUsername() : null,
+                task.isDone()
+        );
+    }
+
+    public static TaskDTO toDTO(TaskArchive archived) {
+        return new TaskDTO(
+                archived.getTaskId(),
+                archived.getTitle(),
+                archived.getDescription(),
+                archived.getPriorityLevel(),
+                archived.getCreationTimestamp(),
+                archived.getAssignedUserId(),
+                archived.getAssignedUserName(),
+                true
+        );
+    }
+
+    // Reads only the assignee id, which a lazy proxy answers without loading the user
+    public static TaskSummaryDTO toSummary(Task task) {
+        User assignee = task.getAssignedUser();
+        return new TaskSummaryDTO(
+                task.getId(),
+                task.getTitle(),
+                task.getPriorityLevel(),
+                task.getCreationTimestamp(),
+                assignee != null ? assignee.getId() : null,
+                task.isDone()
+        );
+    }
+}
@@ -0,0 +1,18 @@
+package com.taskmanager.mapper;
+
+import com.taskmanager.dto.UserDTO;
+import com.taskmanager.entity.User;
+
+public final class UserMapper {
+
+    private UserMapper() {}
+
+    public static UserDTO toDTO(User user) {
+        return new UserDTO(
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getAvailabilityStatus()
+        );
+    }
+}
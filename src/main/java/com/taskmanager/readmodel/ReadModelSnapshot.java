@@ -0,0 +1,124 @@
+package com.taskmanager.readmodel;
+
+import com.taskmanager.readmodel.ReadModelState.TaskRow;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+// Fixed-layout image of the task rows, written and read through a memory-mapped file.
+// Users are not stored: the table is small and is always reloaded on start.
+final class ReadModelSnapshot {
+
+    private static final int MAGIC = 0x544D5253;
+    private static final int FORMAT_VERSION = 1;
+    // magic, format version, task count
+    private static final int HEADER_BYTES = 3 * Integer.BYTES;
+    // id, version, created, assignee, priority, done, title and description lengths
+    private static final int FIXED_TASK_BYTES = 4 * Long.BYTES + 2 + 2 * Integer.BYTES;
+    private static final int CHECKSUM_BYTES = Long.BYTES;
+    private static final int NULL_STRING = -1;
+
+    private ReadModelSnapshot() {}
+
+    // Written next to the target and moved over it, so a crash never leaves a half-written snapshot
+    static void write(Path file, Long2ObjectMap<TaskRow> tasks) throws IOException {
+        long size = HEADER_BYTES + CHECKSUM_BYTES;
+        for (TaskRow row : tasks.values()) {
+            size += FIXED_TASK_BYTES + encodedLength(row.title()) + encodedLength(row.description());
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot of " + size + " bytes does not fit into one mapping");
+        }
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(tasks.size());
+            for (Long2ObjectMap.Entry<TaskRow> entry : tasks.long2ObjectEntrySet()) {
+                TaskRow row = entry.getValue();
+                buffer.putLong(entry.getLongKey())
+                        .putLong(row.version())
+                        .putLong(row.created())
+                        .putLong(row.assigneeId())
+                        .put(row.priority())
+                        .put((byte) (row.done() ? 1 : 0));
+                putString(buffer, row.title());
+                putString(buffer, row.description());
+            }
+            buffer.putLong(checksum(buffer, buffer.position()));
+            buffer.force();
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static ReadModelState read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + CHECKSUM_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot " + file + " has an invalid size of " + size + " bytes");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int bodyBytes = (int) size - CHECKSUM_BYTES;
+            if (checksum(buffer, bodyBytes) != buffer.getLong(bodyBytes)) {
+                throw new IOException("Snapshot " + file + " is corrupted");
+            }
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                throw new IOException("Snapshot " + file + " has an unknown format");
+            }
+
+            int count = buffer.getInt();
+            ReadModelState state = new ReadModelState(count, 0);
+            for (int i = 0; i < count; i++) {
+                long id = buffer.getLong();
+                long version = buffer.getLong();
+                long created = buffer.getLong();
+                long assigneeId = buffer.getLong();
+                byte priority = buffer.get();
+                boolean done = buffer.get() != 0;
+                String title = getString(buffer);
+                String description = getString(buffer);
+                state.putTask(id, new TaskRow(title, description, priority, created, assigneeId, done, version));
+            }
+            return state;
+        }
+    }
+
+    private static long checksum(ByteBuffer buffer, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(0).limit(length));
+        return crc.getValue();
+    }
+
+    private static int encodedLength(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8).length : 0;
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putInt(NULL_STRING);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
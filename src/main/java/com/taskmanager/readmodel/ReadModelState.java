@@ -0,0 +1,91 @@
+package com.taskmanager.readmodel;
+
+import com.taskmanager.enums.AvailabilityStatus;
+import com.taskmanager.enums.PriorityLevel;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+
+// Tasks and users of the read model with their lookup indexes; not thread-safe, TaskReadModel guards it
+final class ReadModelState {
+
+    static final int PRIORITY_SLOTS = PriorityLevel.values().length + 1;
+    // Task and user ids start at 1, so 0 stands for "no assignee" without boxing
+    static final long NO_USER = 0;
+    // Rows changed through events do not know their new version and are re-read on the next catch-up
+    static final long UNKNOWN_VERSION = -1;
+
+    // The id is the map key, the assignee a raw id and the timestamp packed into nanoseconds,
+    // so besides its strings a task costs one 48-byte row, a map slot and two set slots
+    record TaskRow(String title, String description, byte priority, long created, long assigneeId,
+                   boolean done, long version) {}
+
+    record UserRow(String username, String email, AvailabilityStatus status, long version) {}
+
+    final Long2ObjectOpenHashMap<TaskRow> tasks;
+    final Long2ObjectOpenHashMap<UserRow> users;
+    final Long2ObjectOpenHashMap<LongOpenHashSet> tasksByUser = new Long2ObjectOpenHashMap<>();
+    // One extra set for tasks without a priority
+    final LongOpenHashSet[] tasksByPriority = new LongOpenHashSet[PRIORITY_SLOTS];
+
+    ReadModelState() {
+        this(0, 0);
+    }
+
+    ReadModelState(int expectedTasks, int expectedUsers) {
+        tasks = new Long2ObjectOpenHashMap<>(expectedTasks);
+        users = new Long2ObjectOpenHashMap<>(expectedUsers);
+        for (int i = 0; i < tasksByPriority.length; i++) {
+            tasksByPriority[i] = new LongOpenHashSet();
+        }
+    }
+
+    // Rows are immutable, so a copy shares them and only rebuilds the maps
+    ReadModelState copy() {
+        ReadModelState copy = new ReadModelState(tasks.size(), users.size());
+        copy.users.putAll(users);
+        for (Long2ObjectMap.Entry<TaskRow> entry : tasks.long2ObjectEntrySet()) {
+            copy.putTask(entry.getLongKey(), entry.getValue());
+        }
+        return copy;
+    }
+
+    void putTask(long id, TaskRow row) {
+        TaskRow previous = tasks.put(id, row);
+        if (previous != null) {
+            unindex(id, previous);
+        }
+        tasksByPriority[slot(row.priority())].add(id);
+        if (row.assigneeId() != NO_USER) {
+            LongOpenHashSet owned = tasksByUser.get(row.assigneeId());
+            if (owned == null) {
+                owned = new LongOpenHashSet();
+                tasksByUser.put(row.assigneeId(), owned);
+            }
+            owned.add(id);
+        }
+    }
+
+    void removeTask(long id) {
+        TaskRow previous = tasks.remove(id);
+        if (previous != null) {
+            unindex(id, previous);
+        }
+    }
+
+    private void unindex(long id, TaskRow row) {
+        tasksByPriority[slot(row.priority())].remove(id);
+        LongOpenHashSet owned = tasksByUser.get(row.assigneeId());
+        if (owned != null && owned.remove(id) && owned.isEmpty()) {
+            tasksByUser.remove(row.assigneeId());
+        }
+    }
+
+    static int slot(byte priority) {
+        return priority >= 0 ? priority : PRIORITY_SLOTS - 1;
+    }
+
+    static int slot(PriorityLevel priorityLevel) {
+        return priorityLevel != null ? priorityLevel.ordinal() : PRIORITY_SLOTS - 1;
+    }
+}
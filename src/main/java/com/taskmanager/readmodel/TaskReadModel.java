@@ -0,0 +1,699 @@
+package com.taskmanager.readmodel;
+
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.dto.TaskSummaryDTO;
+import com.taskmanager.dto.TaskVersionRow;
+import com.taskmanager.dto.UserDTO;
+import com.taskmanager.dto.Versioned;
+import com.taskmanager.cache.ResponseCache;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.User;
+import com.taskmanager.enums.AvailabilityStatus;
+import com.taskmanager.enums.PriorityLevel;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.event.TasksDoneChangedEvent;
+import com.taskmanager.event.TasksPriorityChangedEvent;
+import com.taskmanager.event.TasksReassignedEvent;
+import com.taskmanager.event.TasksRemovedEvent;
+import com.taskmanager.event.UserChangedEvent;
+import com.taskmanager.event.UsersPresenceChangedEvent;
+import com.taskmanager.readmodel.ReadModelState.TaskRow;
+import com.taskmanager.readmodel.ReadModelState.UserRow;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import static com.taskmanager.readmodel.ReadModelState.NO_USER;
+import static com.taskmanager.readmodel.ReadModelState.UNKNOWN_VERSION;
+
+// Opt-in copy of tasks and users in long-keyed maps, answering hot reads without a database round trip
+@Component
+public class TaskReadModel {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskReadModel.class);
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final int VERSION_BATCH_SIZE = 10_000;
+    private static final PriorityLevel[] PRIORITIES = PriorityLevel.values();
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate readTransaction;
+    private final TaskExecutor refresher;
+    private final ResponseCache responseCache;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Set<Long> staleTasks = ConcurrentHashMap.newKeySet();
+    private final Set<Long> staleUsers = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+
+    @Value("${tasks.read-model.enabled:false}")
+    private boolean enabled;
+
+    @Value("${tasks.read-model.snapshot-path:}")
+    private String snapshotPath;
+
+    // Guarded by lock; replaced as a whole on rebuild and catch-up
+    private ReadModelState state = new ReadModelState();
+    // Guarded by lock; changes applied while a rebuild or reconcile reads the database
+    private List<Consumer<ReadModelState>> journal;
+    private volatile boolean ready;
+
+    public TaskReadModel(TaskRepository taskRepository, UserRepository userRepository,
+                         PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                         @Qualifier("applicationTaskExecutor") TaskExecutor refresher, ResponseCache responseCache) {
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.refresher = refresher;
+        this.responseCache = responseCache;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        Gauge.builder("readmodel.size", this, model -> model.read(s -> s.tasks.size())).tag("entity", "tasks").register(meterRegistry);
+        Gauge.builder("readmodel.size", this, model -> model.read(s -> s.users.size())).tag("entity", "users").register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // The versioned finders answer only from rows whose versions are known, so the ETag always describes the
+    // body served. Empty means the model is not ready, a row is missing or a row was changed by an event and
+    // not re-read yet; callers then go to the database.
+    public Optional<Versioned<TaskDTO>> findVersionedTask(long id) {
+        return readIfReady(s -> {
+            TaskRow row = s.tasks.get(id);
+            String version = row != null ? taskStamp(s, row) : null;
+            return version != null ? new Versioned<>(toDTO(s, id, row), version) : null;
+        });
+    }
+
+    public Optional<String> findTaskVersion(long id) {
+        return readIfReady(s -> {
+            TaskRow row = s.tasks.get(id);
+            return row != null ? taskStamp(s, row) : null;
+        });
+    }
+
+    public Optional<Versioned<List<TaskDTO>>> findVersionedTasksByPriority(PriorityLevel priorityLevel) {
+        return readIfReady(s -> versionedList(s, s.tasksByPriority[ReadModelState.slot(priorityLevel)]));
+    }
+
+    public Optional<String> findTasksByPriorityVersion(PriorityLevel priorityLevel) {
+        return readIfReady(s -> listStamp(s, s.tasksByPriority[ReadModelState.slot(priorityLevel)]));
+    }
+
+    public Optional<Versioned<List<TaskDTO>>> findVersionedTasksByAssignee(long userId) {
+        return readIfReady(s -> s.users.containsKey(userId) ? versionedList(s, owned(s, userId)) : null);
+    }
+
+    public Optional<String> findTasksByAssigneeVersion(long userId) {
+        return readIfReady(s -> s.users.containsKey(userId) ? listStamp(s, owned(s, userId)) : null);
+    }
+
+    // User rows are only written from the database, so their versions are always known
+    public Optional<Versioned<List<UserDTO>>> findVersionedAvailableUsers() {
+        return readIfReady(s -> {
+            List<UserDTO> available = availableUsers(s);
+            return new Versioned<>(available, availableStamp(s, available));
+        });
+    }
+
+    public Optional<String> findAvailableUsersVersion() {
+        return readIfReady(s -> availableStamp(s, availableUsers(s)));
+    }
+
+    // Starts from the last snapshot when there is one and reads only rows changed since it was taken
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        reload(current -> {
+            ReadModelState snapshot = readSnapshot();
+            if (snapshot == null) {
+                return loadAll();
+            }
+            catchUp(snapshot);
+            return snapshot;
+        });
+    }
+
+    // Corrects drift from changes that raced with event updates or the previous catch-up
+    @Scheduled(initialDelayString = "${tasks.read-model.reconcile-ms:600000}",
+               fixedDelayString = "${tasks.read-model.reconcile-ms:600000}")
+    public void reconcile() {
+        if (!ready) {
+            return;
+        }
+        reload(current -> {
+            catchUp(current);
+            return current;
+        });
+    }
+
+    // Listeners keep applying committed changes to the live state while the loader reads the database. They
+    // are journaled and replayed onto the loader's result before it replaces the live state, so changes
+    // committed after the loader read their rows are not lost. Replayed refreshes never go back a version.
+    private void reload(UnaryOperator<ReadModelState> loader) {
+        ReadModelState base;
+        lock.writeLock().lock();
+        try {
+            journal = new ArrayList<>();
+            base = state.copy();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ReadModelState fresh = null;
+        try {
+            fresh = loader.apply(base);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (fresh != null) {
+                    for (Consumer<ReadModelState> change : journal) {
+                        change.accept(fresh);
+                    }
+                    state = fresh;
+                    ready = true;
+                }
+                journal = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "${tasks.read-model.snapshot-ms:300000}",
+               fixedDelayString = "${tasks.read-model.snapshot-ms:300000}")
+    @PreDestroy
+    public void writeSnapshot() {
+        if (!ready || snapshotPath.isBlank()) {
+            return;
+        }
+        // Rows are immutable, so copying the map is enough to write outside the lock
+        Long2ObjectMap<TaskRow> tasks = read(s -> new Long2ObjectOpenHashMap<>(s.tasks));
+        try {
+            ReadModelSnapshot.write(Path.of(snapshotPath), tasks);
+            log.debug("Task read model snapshot written with {} tasks", tasks.size());
+        } catch (IOException e) {
+            log.error("Failed to write task read model snapshot to {}", snapshotPath, e);
+        }
+    }
+
+    private ReadModelState readSnapshot() {
+        if (snapshotPath.isBlank() || !Files.exists(Path.of(snapshotPath))) {
+            return null;
+        }
+        try {
+            return ReadModelSnapshot.read(Path.of(snapshotPath));
+        } catch (IOException e) {
+            log.warn("Ignoring task read model snapshot {}, loading from database", snapshotPath, e);
+            return null;
+        }
+    }
+
+    private ReadModelState loadAll() {
+        ReadModelState fresh = new ReadModelState();
+        loadUsers(fresh);
+        long afterId = 0;
+        List<Task> batch;
+        do {
+            long from = afterId;
+            // Each page gets its own persistence context so loaded entities do not pile up
+            batch = readTransaction.execute(status -> {
+                List<Task> page = taskRepository.findPageAfter(from, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                page.forEach(task -> fresh.putTask(task.getId(), toRow(task)));
+                return page;
+            });
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+        log.info("Task read model loaded with {} tasks and {} users", fresh.tasks.size(), fresh.users.size());
+        return fresh;
+    }
+
+    // Scans only ids and versions; full rows are read for new or changed tasks, missing ones are dropped
+    private void catchUp(ReadModelState base) {
+        loadUsers(base);
+        LongOpenHashSet seen = new LongOpenHashSet(base.tasks.size());
+        LongArrayList changed = new LongArrayList();
+        long afterId = 0;
+        List<TaskVersionRow> batch;
+        do {
+            long from = afterId;
+            batch = readTransaction.execute(status ->
+                    taskRepository.findVersionsAfter(from, PageRequest.of(0, VERSION_BATCH_SIZE)));
+            for (TaskVersionRow row : batch) {
+                seen.add(row.getId().longValue());
+                TaskRow current = base.tasks.get(row.getId().longValue());
+                if (current == null || current.version() != row.getVersion()) {
+                    changed.add(row.getId().longValue());
+                }
+            }
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == VERSION_BATCH_SIZE);
+
+        LongArrayList removed = new LongArrayList();
+        base.tasks.keySet().forEach(id -> {
+            if (!seen.contains(id)) {
+                removed.add(id);
+            }
+        });
+        removed.forEach(base::removeTask);
+
+        for (int from = 0; from < changed.size(); from += REBUILD_BATCH_SIZE) {
+            List<Long> ids = changed.subList(from, Math.min(from + REBUILD_BATCH_SIZE, changed.size()));
+            readTransaction.executeWithoutResult(status ->
+                    taskRepository.findAllById(ids).forEach(task -> base.putTask(task.getId(), toRow(task))));
+        }
+        log.info("Task read model caught up: {} tasks read, {} removed, {} unchanged",
+                changed.size(), removed.size(), seen.size() - changed.size());
+    }
+
+    private void loadUsers(ReadModelState target) {
+        target.users.clear();
+        readTransaction.executeWithoutResult(status -> {
+            for (User user : userRepository.findAll()) {
+                target.users.put(user.getId().longValue(), toRow(user));
+            }
+        });
+    }
+
+    @TransactionalEventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        TaskDTO before = event.getBefore();
+        TaskDTO after = event.getAfter();
+        write(s -> {
+            if (after != null) {
+                s.putTask(after.id(), toRow(after));
+            } else {
+                s.removeTask(before.id());
+            }
+        });
+
+        // Availability is recalculated by TaskService whenever a user's active tasks change
+        Set<Long> affected = new HashSet<>();
+        if (before == null || after == null || before.done() != after.done()
+                || !Objects.equals(before.assignedUserId(), after.assignedUserId())) {
+            addAssignee(affected, before != null ? before.assignedUserId() : null);
+            addAssignee(affected, after != null ? after.assignedUserId() : null);
+        }
+        scheduleRefresh(after != null ? Set.of(after.id()) : Set.of(), affected);
+    }
+
+    @TransactionalEventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onTasksRemoved(TasksRemovedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Set<Long> affected = new HashSet<>();
+        write(s -> {
+            for (TaskSummaryDTO task : event.getTasks()) {
+                s.removeTask(task.getId());
+                addAssignee(affected, task.getAssignedUserId());
+            }
+        });
+        scheduleRefresh(Set.of(), affected);
+    }
+
+    @TransactionalEventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onTasksDoneChanged(TasksDoneChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Set<Long> affected = new HashSet<>();
+        write(s -> {
+            for (TaskSummaryDTO task : event.getTasks()) {
+                TaskRow row = s.tasks.get(task.getId().longValue());
+                if (row != null) {
+                    s.putTask(task.getId(), new TaskRow(row.title(), row.description(), row.priority(),
+                            row.created(), row.assigneeId(), event.isDone(), UNKNOWN_VERSION));
+                }
+                addAssignee(affected, task.getAssignedUserId());
+            }
+        });
+        scheduleRefresh(taskIds(event.getTasks()), affected);
+    }
+
+    @TransactionalEventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onTasksReassigned(TasksReassignedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Set<Long> affected = new HashSet<>();
+        write(s -> {
+            for (TaskSummaryDTO task : event.getTasks()) {
+                Long assignee = event.getAssigneeId(task.getId());
+                TaskRow row = s.tasks.get(task.getId().longValue());
+                if (row != null) {
+                    s.putTask(task.getId(), new TaskRow(row.title(), row.description(), row.priority(),
+                            row.created(), assignee != null ? assignee : NO_USER, row.done(), UNKNOWN_VERSION));
+                }
+                addAssignee(affected, task.getAssignedUserId());
+                addAssignee(affected, assignee);
+            }
+        });
+        scheduleRefresh(taskIds(event.getTasks()), affected);
+    }
+
+    @TransactionalEventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onTasksPriorityChanged(TasksPriorityChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        write(s -> {
+            for (TaskSummaryDTO task : event.getTasks()) {
+                TaskRow row = s.tasks.get(task.getId().longValue());
+                if (row != null) {
+                    s.putTask(task.getId(), new TaskRow(row.title(), row.description(),
+                            priorityOf(event.getPriorityLevel(task.getId())), row.created(), row.assigneeId(),
+                            row.done(), UNKNOWN_VERSION));
+                }
+            }
+        });
+        scheduleRefresh(taskIds(event.getTasks()), Set.of());
+    }
+
+    @TransactionalEventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onUserChanged(UserChangedEvent event) {
+        if (enabled) {
+            scheduleRefresh(Set.of(), Set.of(event.getUserId()));
+        }
+    }
+
+    @TransactionalEventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onUsersPresenceChanged(UsersPresenceChangedEvent event) {
+        if (enabled) {
+            scheduleRefresh(Set.of(), event.getUserIds());
+        }
+    }
+
+    // After-commit listeners still hold the committing connection, so opening another one there can exhaust
+    // the pool under concurrent writes. Re-reads run on the executor instead, and rows that change again
+    // before a refresh starts are read once. Task rows get their versions back here.
+    private void scheduleRefresh(Collection<Long> taskIds, Collection<Long> userIds) {
+        if (taskIds.isEmpty() && userIds.isEmpty()) {
+            return;
+        }
+        staleTasks.addAll(taskIds);
+        staleUsers.addAll(userIds);
+        if (refreshScheduled.compareAndSet(false, true)) {
+            try {
+                refresher.execute(this::refreshStale);
+            } catch (RuntimeException e) {
+                refreshScheduled.set(false);
+                log.warn("Could not schedule task read model refresh", e);
+            }
+        }
+    }
+
+    private void refreshStale() {
+        // Cleared before draining, so ids added from now on schedule another refresh
+        refreshScheduled.set(false);
+        List<Long> taskIds = drain(staleTasks);
+        List<Long> userIds = drain(staleUsers);
+        if (taskIds.isEmpty() && userIds.isEmpty()) {
+            return;
+        }
+        try {
+            refreshTasks(taskIds);
+            refreshUsers(userIds);
+        } catch (RuntimeException e) {
+            // The next reconcile re-reads rows without a version and reloads all users
+            log.warn("Failed to refresh {} tasks and {} users in the task read model", taskIds.size(), userIds.size(), e);
+        }
+        // Cached responses were built from the rows before the refresh and carry their ETags
+        responseCache.invalidate();
+    }
+
+    private void refreshTasks(Collection<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        List<Task> found = readTransaction.execute(status -> taskRepository.findAllById(taskIds));
+        write(s -> {
+            Set<Long> missing = new HashSet<>(taskIds);
+            for (Task task : found) {
+                missing.remove(task.getId());
+                TaskRow current = s.tasks.get(task.getId().longValue());
+                // A row removed meanwhile was deleted after the read; never go back a version
+                if (current != null && current.version() <= versionOf(task.getVersion())) {
+                    s.putTask(task.getId(), toRow(task));
+                }
+            }
+            for (Long id : missing) {
+                s.removeTask(id);
+            }
+        });
+    }
+
+    private void refreshUsers(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        List<User> found = readTransaction.execute(status -> userRepository.findAllById(userIds));
+        write(s -> {
+            Set<Long> missing = new HashSet<>(userIds);
+            for (User user : found) {
+                missing.remove(user.getId());
+                UserRow current = s.users.get(user.getId().longValue());
+                // Refreshes from concurrent commits may finish out of order; never go back a version
+                if (current == null || current.version() <= versionOf(user.getVersion())) {
+                    s.users.put(user.getId().longValue(), toRow(user));
+                }
+            }
+            for (Long id : missing) {
+                s.users.remove(id.longValue());
+            }
+        });
+    }
+
+    private <T> T read(Function<ReadModelState, T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(state);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private <T> Optional<T> readIfReady(Function<ReadModelState, T> reader) {
+        return ready ? Optional.ofNullable(read(reader)) : Optional.empty();
+    }
+
+    private void write(Consumer<ReadModelState> writer) {
+        lock.writeLock().lock();
+        try {
+            writer.accept(state);
+            if (journal != null) {
+                journal.add(writer);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static List<UserDTO> availableUsers(ReadModelState s) {
+        List<UserDTO> available = new ArrayList<>();
+        for (Long2ObjectMap.Entry<UserRow> entry : s.users.long2ObjectEntrySet()) {
+            UserRow row = entry.getValue();
+            if (row.status() == AvailabilityStatus.AVAILABLE) {
+                available.add(new UserDTO(entry.getLongKey(), row.username(), row.email(), row.status()));
+            }
+        }
+        available.sort((a, b) -> Long.compare(a.id(), b.id()));
+        return available;
+    }
+
+    private static String availableStamp(ReadModelState s, List<UserDTO> available) {
+        long maxId = available.isEmpty() ? 0 : available.get(available.size() - 1).id();
+        return Versioned.listStamp(available.size(), maxId,
+                Versioned.sum(available, user -> s.users.get(user.id().longValue()).version()));
+    }
+
+    private static LongOpenHashSet owned(ReadModelState s, long userId) {
+        LongOpenHashSet owned = s.tasksByUser.get(userId);
+        return owned != null ? owned : new LongOpenHashSet();
+    }
+
+    // Null when a task row or the assignee's row has no known version
+    private static String taskStamp(ReadModelState s, TaskRow row) {
+        long assigneeVersion = assigneeVersion(s, row);
+        if (row.version() == UNKNOWN_VERSION || assigneeVersion == UNKNOWN_VERSION) {
+            return null;
+        }
+        return Versioned.taskStamp(row.version(), assigneeVersion);
+    }
+
+    private static String listStamp(ReadModelState s, LongOpenHashSet ids) {
+        long maxId = 0;
+        long taskVersions = 0;
+        long userVersions = 0;
+        for (long id : ids) {
+            TaskRow row = s.tasks.get(id);
+            long assigneeVersion = assigneeVersion(s, row);
+            if (row.version() == UNKNOWN_VERSION || assigneeVersion == UNKNOWN_VERSION) {
+                return null;
+            }
+            maxId = Math.max(maxId, id);
+            taskVersions += row.version();
+            userVersions += assigneeVersion;
+        }
+        return Versioned.listStamp(ids.size(), maxId, taskVersions, userVersions);
+    }
+
+    private static Versioned<List<TaskDTO>> versionedList(ReadModelState s, LongOpenHashSet ids) {
+        String version = listStamp(s, ids);
+        return version != null ? new Versioned<>(toDTOs(s, ids), version) : null;
+    }
+
+    // Unassigned tasks count as version 0, like the LEFT JOIN in the stamp queries
+    private static long assigneeVersion(ReadModelState s, TaskRow row) {
+        if (row.assigneeId() == NO_USER) {
+            return 0;
+        }
+        UserRow user = s.users.get(row.assigneeId());
+        return user != null ? user.version() : UNKNOWN_VERSION;
+    }
+
+    private static List<TaskDTO> toDTOs(ReadModelState s, LongOpenHashSet ids) {
+        long[] sorted = ids.toLongArray();
+        Arrays.sort(sorted);
+        List<TaskDTO> result = new ArrayList<>(sorted.length);
+        for (long id : sorted) {
+            result.add(toDTO(s, id, s.tasks.get(id)));
+        }
+        return result;
+    }
+
+    private static TaskDTO toDTO(ReadModelState s, long id, TaskRow row) {
+        Long assigneeId = null;
+        String assigneeName = null;
+        if (row.assigneeId() != NO_USER) {
+            assigneeId = row.assigneeId();
+            UserRow user = s.users.get(row.assigneeId());
+            assigneeName = user != null ? user.username() : null;
+        }
+        return new TaskDTO(id, row.title(), row.description(),
+                row.priority() >= 0 ? PRIORITIES[row.priority()] : null,
+                decode(row.created()), assigneeId, assigneeName, row.done());
+    }
+
+    // Events carry no version, so the row is re-read on the next catch-up
+    private static TaskRow toRow(TaskDTO task) {
+        return new TaskRow(task.title(), task.description(), priorityOf(task.priorityLevel()),
+                encode(task.creationTimestamp()),
+                task.assignedUserId() != null ? task.assignedUserId() : NO_USER, task.done(), UNKNOWN_VERSION);
+    }
+
+    // Reads only the assignee id, which a lazy proxy answers without loading the user
+    private static TaskRow toRow(Task task) {
+        User assignee = task.getAssignedUser();
+        return new TaskRow(task.getTitle(), task.getDescription(), priorityOf(task.getPriorityLevel()),
+                encode(task.getCreationTimestamp()),
+                assignee != null ? assignee.getId() : NO_USER, task.isDone(), versionOf(task.getVersion()));
+    }
+
+    private static UserRow toRow(User user) {
+        return new UserRow(user.getUsername(), user.getEmail(), user.getAvailabilityStatus(), versionOf(user.getVersion()));
+    }
+
+    private static long versionOf(Long version) {
+        return version != null ? version : 0;
+    }
+
+    private static byte priorityOf(PriorityLevel priorityLevel) {
+        return (byte) (priorityLevel != null ? priorityLevel.ordinal() : -1);
+    }
+
+    private static long encode(LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return NO_TIMESTAMP;
+        }
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * NANOS_PER_SECOND + timestamp.getNano();
+    }
+
+    private static LocalDateTime decode(long nanos) {
+        if (nanos == NO_TIMESTAMP) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, NANOS_PER_SECOND),
+                (int) Math.floorMod(nanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+
+    private static List<Long> taskIds(List<TaskSummaryDTO> tasks) {
+        return tasks.stream().map(TaskSummaryDTO::getId).toList();
+    }
+
+    private static List<Long> drain(Set<Long> ids) {
+        List<Long> drained = new ArrayList<>();
+        for (Iterator<Long> it = ids.iterator(); it.hasNext(); ) {
+            drained.add(it.next());
+            it.remove();
+        }
+        return drained;
+    }
+
+    private static void addAssignee(Set<Long> target, Long userId) {
+        if (userId != null) {
+            target.add(userId);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.TaskArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface TaskArchiveRepository extends JpaRepository<TaskArchive, Long> {
+
+    List<TaskArchive> findByAssignedUserId(Long assignedUserId);
+
+    long countByAssignedUserId(Long assignedUserId);
+}
@@ -0,0 +1,22 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.enums.PriorityLevel;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+
+public interface TaskBulkRepository {
+
+    int updateDone(Specification<Task> spec, boolean done, LocalDateTime completionTimestamp);
+
+    int deleteMatching(Specification<Task> spec);
+
+    // Task id to new assignee id; a null assignee leaves the task unassigned
+    int reassign(Map<Long, Long> assigneeByTaskId);
+
+    // Raises active tasks below the given priority to it; done tasks and higher priorities are left alone
+    int escalate(Collection<Long> taskIds, PriorityLevel priorityLevel);
+}
@@ -0,0 +1,104 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.enums.PriorityLevel;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Single UPDATE/DELETE statements; the specifications used here must not rely on the query argument
+class TaskBulkRepositoryImpl implements TaskBulkRepository {
+
+    // Keeps the bind parameters of one statement well below the PostgreSQL limit
+    private static final int REASSIGN_CHUNK_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int updateDone(Specification<Task> spec, boolean done, LocalDateTime completionTimestamp) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Task> update = cb.createCriteriaUpdate(Task.class);
+        Root<Task> root = update.from(Task.class);
+        update.set(root.<Boolean>get("done"), done)
+                .set(root.<LocalDateTime>get("completionTimestamp"), completionTimestamp)
+                // Bump the version so ETags and If-Match see the change
+                .set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L))
+                .where(spec.toPredicate(root, null, cb));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public int deleteMatching(Specification<Task> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaDelete<Task> delete = cb.createCriteriaDelete(Task.class);
+        Root<Task> root = delete.from(Task.class);
+        delete.where(spec.toPredicate(root, null, cb));
+        return entityManager.createQuery(delete).executeUpdate();
+    }
+
+    // One UPDATE per chunk: a CASE over id groups picks each task's new assignee
+    @Override
+    public int reassign(Map<Long, Long> assigneeByTaskId) {
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(assigneeByTaskId.entrySet());
+        int updated = 0;
+        for (int from = 0; from < entries.size(); from += REASSIGN_CHUNK_SIZE) {
+            updated += reassignChunk(entries.subList(from, Math.min(from + REASSIGN_CHUNK_SIZE, entries.size())));
+        }
+        return updated;
+    }
+
+    private int reassignChunk(List<Map.Entry<Long, Long>> entries) {
+        Map<Long, List<Long>> taskIdsByAssignee = new LinkedHashMap<>();
+        List<Long> taskIds = new ArrayList<>(entries.size());
+        for (Map.Entry<Long, Long> entry : entries) {
+            taskIds.add(entry.getKey());
+            if (entry.getValue() != null) {
+                taskIdsByAssignee.computeIfAbsent(entry.getValue(), id -> new ArrayList<>()).add(entry.getKey());
+            }
+        }
+
+        StringBuilder hql = new StringBuilder("UPDATE Task t SET t.assignedUser = CASE");
+        for (int i = 0; i < taskIdsByAssignee.size(); i++) {
+            hql.append(" WHEN t.id IN :ids").append(i).append(" THEN :user").append(i);
+        }
+        // Bump the version so ETags and If-Match see the change
+        hql.append(" ELSE NULL END, t.version = t.version + 1 WHERE t.id IN :taskIds");
+
+        Query update = entityManager.createQuery(hql.toString());
+        int i = 0;
+        for (Map.Entry<Long, List<Long>> group : taskIdsByAssignee.entrySet()) {
+            update.setParameter("ids" + i, group.getValue());
+            update.setParameter("user" + i, group.getKey());
+            i++;
+        }
+        return update.setParameter("taskIds", taskIds).executeUpdate();
+    }
+
+    @Override
+    public int escalate(Collection<Long> taskIds, PriorityLevel priorityLevel) {
+        List<PriorityLevel> lower = Arrays.asList(PriorityLevel.values()).subList(0, priorityLevel.ordinal());
+        if (taskIds.isEmpty() || lower.isEmpty()) {
+            return 0;
+        }
+        return entityManager.createQuery("UPDATE Task t SET t.priorityLevel = :priorityLevel, t.version = t.version + 1 " +
+                        "WHERE t.id IN :taskIds AND t.done = false AND t.priorityLevel IN :lower")
+                .setParameter("priorityLevel", priorityLevel)
+                .setParameter("taskIds", taskIds)
+                .setParameter("lower", lower)
+                .executeUpdate();
+    }
+}
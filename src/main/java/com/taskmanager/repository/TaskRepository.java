@@ -1,17 +1,51 @@
 package com.taskmanager.repository;
 
+import com.taskmanager.dto.ActiveTaskCountRow;
+import com.taskmanager.dto.TaskAgeRow;
+import com.taskmanager.dto.TaskCountRow;
+import com.taskmanager.dto.TaskTextProjection;
+import com.taskmanager.dto.TaskVersionRow;
 import com.taskmanager.entity.Task;
 import com.taskmanager.entity.User;
 import com.taskmanager.enums.PriorityLevel;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskSearchRepository, TaskBulkRepository {
 
+    // Finders whose rows are mapped to TaskDTO load the assignee and the lazy description in the same
+    // query, so mapping never initializes a proxy per row, whether or not the user is in the cache.
+    @Override
+    @EntityGraph(attributePaths = {"assignedUser", "description"})
+    List<Task> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"assignedUser", "description"})
+    Optional<Task> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = {"assignedUser", "description"})
+    List<Task> findAllById(Iterable<Long> ids);
+
+    @EntityGraph(attributePaths = {"assignedUser", "description"})
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Task> findByPriorityLevel(PriorityLevel priorityLevel);
+
+    @EntityGraph(attributePaths = {"assignedUser", "description"})
     List<Task> findByAssignedUser(User assignedUser);
 
     @Query("SELECT t FROM Task t WHERE t.priorityLevel = 'HIGH' OR t.priorityLevel = 'URGENT'")
@@ -25,4 +59,69 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
 
     @Query("SELECT t FROM Task t WHERE t.assignedUser.id = :userId AND t.done = false")
     List<Task> findActiveTasksByUserId(Long userId);
+
+    // Users without active tasks have no row
+    @Query("SELECT t.assignedUser.id AS assigneeId, COUNT(t) AS count FROM Task t " +
+           "WHERE t.done = false AND t.assignedUser.id IN :userIds GROUP BY t.assignedUser.id")
+    List<ActiveTaskCountRow> countActiveGroupedByAssignee(Collection<Long> userIds);
+
+    // Task responses render the assignee's name, so the assignee's version is part of the stamp
+    @Query("SELECT CONCAT(str(t.version), '-', str(COALESCE(u.version, 0))) FROM Task t LEFT JOIN t.assignedUser u WHERE t.id = :id")
+    Optional<String> findVersionStampById(Long id);
+
+    // Version stamps change whenever a row in the result or one of its assignees is inserted, updated or deleted
+    @Query("SELECT CONCAT(str(COUNT(t)), '-', str(COALESCE(MAX(t.id), 0)), '-', str(COALESCE(SUM(t.version), 0)), '-', " +
+           "str(COALESCE(SUM(u.version), 0))) FROM Task t LEFT JOIN t.assignedUser u")
+    String computeVersionStamp();
+
+    @Query("SELECT CONCAT(str(COUNT(t)), '-', str(COALESCE(MAX(t.id), 0)), '-', str(COALESCE(SUM(t.version), 0)), '-', " +
+           "str(COALESCE(SUM(u.version), 0))) FROM Task t LEFT JOIN t.assignedUser u WHERE t.priorityLevel = :priorityLevel")
+    String computeVersionStampByPriority(PriorityLevel priorityLevel);
+
+    @Query("SELECT CONCAT(str(COUNT(t)), '-', str(COALESCE(MAX(t.id), 0)), '-', str(COALESCE(SUM(t.version), 0)), '-', " +
+           "str(COALESCE(SUM(u.version), 0))) FROM Task t LEFT JOIN t.assignedUser u WHERE u.id = :userId")
+    String computeVersionStampByAssignee(Long userId);
+
+    // Tasks completed before completion times were recorded count as completed now
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.completionTimestamp = :timestamp WHERE t.done = true AND t.completionTimestamp IS NULL")
+    int backfillCompletionTimestamps(LocalDateTime timestamp);
+
+    @EntityGraph(attributePaths = "description")
+    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.assignedUser WHERE t.done = true AND t.completionTimestamp < :cutoff ORDER BY t.completionTimestamp")
+    List<Task> findCompletedBefore(LocalDateTime cutoff, Pageable pageable);
+
+    // One grouped scan; per-priority, per-done and per-assignee totals are rolled up from these rows
+    @Query("SELECT t.priorityLevel AS priorityLevel, t.done AS done, t.assignedUser.id AS assigneeId, COUNT(t) AS count " +
+           "FROM Task t GROUP BY t.priorityLevel, t.done, t.assignedUser.id")
+    List<TaskCountRow> countGroupedByPriorityDoneAndAssignee();
+
+    // Lock timeout -2 is Hibernate's SKIP LOCKED: rows being claimed by other transactions are passed over, not waited on
+    @EntityGraph(attributePaths = "description")
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT t FROM Task t WHERE t.assignedUser IS NULL AND t.done = false ORDER BY " +
+           "CASE t.priorityLevel WHEN com.taskmanager.enums.PriorityLevel.URGENT THEN 0 " +
+           "WHEN com.taskmanager.enums.PriorityLevel.HIGH THEN 1 WHEN com.taskmanager.enums.PriorityLevel.MEDIUM THEN 2 " +
+           "WHEN com.taskmanager.enums.PriorityLevel.LOW THEN 3 ELSE 4 END, t.creationTimestamp, t.id")
+    List<Task> findClaimable(Pageable pageable);
+
+    @EntityGraph(attributePaths = "description")
+    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.assignedUser WHERE t.id IN :ids")
+    List<Task> findAllWithAssigneeByIdIn(Collection<Long> ids);
+
+    @Query("SELECT t.id AS id, t.title AS title, t.description AS description FROM Task t WHERE t.id > :afterId ORDER BY t.id")
+    List<TaskTextProjection> findTextAfter(Long afterId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "description")
+    @Query("SELECT t FROM Task t WHERE t.id > :afterId ORDER BY t.id")
+    List<Task> findPageAfter(Long afterId, Pageable pageable);
+
+    @Query("SELECT t.id AS id, t.version AS version FROM Task t WHERE t.id > :afterId ORDER BY t.id")
+    List<TaskVersionRow> findVersionsAfter(Long afterId, Pageable pageable);
+
+    // Active tasks only, read as a range of idx_tasks_done_id
+    @Query("SELECT t.id AS id, t.priorityLevel AS priorityLevel, t.creationTimestamp AS creationTimestamp " +
+           "FROM Task t WHERE t.done = false AND t.id > :afterId ORDER BY t.id")
+    List<TaskAgeRow> findActiveAgesAfter(Long afterId, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.dto.TaskSummaryDTO;
+import com.taskmanager.entity.Task;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface TaskSearchRepository {
+
+    List<TaskSummaryDTO> searchSummaries(Specification<Task> spec, int limit);
+}
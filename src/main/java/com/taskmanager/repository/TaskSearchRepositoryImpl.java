@@ -0,0 +1,42 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.dto.TaskSummaryDTO;
+import com.taskmanager.entity.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+class TaskSearchRepositoryImpl implements TaskSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Selects only the summary columns, ordered by id for keyset paging
+    @Override
+    public List<TaskSummaryDTO> searchSummaries(Specification<Task> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskSummaryDTO> query = cb.createQuery(TaskSummaryDTO.class);
+        Root<Task> root = query.from(Task.class);
+        query.select(cb.construct(TaskSummaryDTO.class,
+                root.get("id"),
+                root.get("title"),
+                root.get("priorityLevel"),
+                root.get("creationTimestamp"),
+                root.get("assignedUser").get("id"),
+                root.get("done")));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,47 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.enums.PriorityLevel;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {}
+
+    public static Specification<Task> priorityIn(Collection<PriorityLevel> priorities) {
+        return (root, query, cb) -> root.get("priorityLevel").in(priorities);
+    }
+
+    public static Specification<Task> noPriority() {
+        return (root, query, cb) -> cb.isNull(root.get("priorityLevel"));
+    }
+
+    // Compares the foreign key column directly, no join to users
+    public static Specification<Task> assignedTo(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("assignedUser").get("id"), userId);
+    }
+
+    public static Specification<Task> done(boolean done) {
+        return (root, query, cb) -> cb.equal(root.get("done"), done);
+    }
+
+    public static Specification<Task> createdFrom(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("creationTimestamp"), from);
+    }
+
+    public static Specification<Task> createdBefore(LocalDateTime to) {
+        return (root, query, cb) -> cb.lessThan(root.get("creationTimestamp"), to);
+    }
+
+    public static Specification<Task> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    // Keyset cursor: results are ordered by id, so the next page starts after the last id seen
+    public static Specification<Task> idAfter(Long id) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), id);
+    }
+}
@@ -1,22 +1,90 @@
 package com.taskmanager.repository;
 
+import com.taskmanager.dto.UserStatusCountRow;
 import com.taskmanager.entity.User;
 import com.taskmanager.enums.AvailabilityStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+    // The password hash is lazy; login and token checks read it from this lookup outside a transaction
+    @EntityGraph(attributePaths = "hashedPassword")
     Optional<User> findByUsername(String username);
+    // Serializes claims by the same user so the active task cap holds under concurrency
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.username = :username")
+    Optional<User> findByUsernameForUpdate(String username);
+
+    // Serializes going offline with the user's own claims
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findByIdForUpdate(Long id);
+
+    @Query("SELECT u.id FROM User u WHERE u.username = :username")
+    Optional<Long> findIdByUsername(String username);
+
+    @Query("SELECT u.id FROM User u WHERE u.availabilityStatus <> com.taskmanager.enums.AvailabilityStatus.OFFLINE")
+    List<Long> findOnlineIds();
+
     boolean existsByEmail(String email);
     boolean existsByUsername(String username);
 
     @Query("SELECT u FROM User u WHERE u.availabilityStatus = 'AVAILABLE'")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<User> findAvailableUsers();
 
     List<User> findByAvailabilityStatus(AvailabilityStatus availabilityStatus);
+
+    @Query("SELECT u.version FROM User u WHERE u.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    // Version stamps change whenever a row in the result is inserted, updated or deleted
+    @Query("SELECT CONCAT(str(COUNT(u)), '-', str(COALESCE(MAX(u.id), 0)), '-', str(COALESCE(SUM(u.version), 0))) FROM User u")
+    String computeVersionStamp();
+
+    @Query("SELECT CONCAT(str(COUNT(u)), '-', str(COALESCE(MAX(u.id), 0)), '-', str(COALESCE(SUM(u.version), 0))) FROM User u WHERE u.availabilityStatus = 'AVAILABLE'")
+    String computeAvailableVersionStamp();
+
+    @Query("SELECT u.availabilityStatus AS availabilityStatus, COUNT(u) AS count FROM User u GROUP BY u.availabilityStatus")
+    List<UserStatusCountRow> countGroupedByAvailability();
+
+    // Same rule as the per-task recalculation: BUSY with 3 or more active tasks, otherwise AVAILABLE; OFFLINE users are left as they are
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.availabilityStatus = CASE " +
+           "WHEN (SELECT COUNT(t) FROM Task t WHERE t.assignedUser = u AND t.done = false) >= 3 " +
+           "THEN com.taskmanager.enums.AvailabilityStatus.BUSY ELSE com.taskmanager.enums.AvailabilityStatus.AVAILABLE END, " +
+           "u.version = u.version + 1 WHERE u.id IN :userIds " +
+           "AND u.availabilityStatus <> com.taskmanager.enums.AvailabilityStatus.OFFLINE")
+    int recalculateAvailability(Collection<Long> userIds);
+
+    // Presence transitions; users coming back get the status their active tasks imply, users taken
+    // offline with goOffline stay offline
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.availabilityStatus = CASE " +
+           "WHEN (SELECT COUNT(t) FROM Task t WHERE t.assignedUser = u AND t.done = false) >= 3 " +
+           "THEN com.taskmanager.enums.AvailabilityStatus.BUSY ELSE com.taskmanager.enums.AvailabilityStatus.AVAILABLE END, " +
+           "u.version = u.version + 1 WHERE u.id IN :userIds " +
+           "AND u.availabilityStatus = com.taskmanager.enums.AvailabilityStatus.OFFLINE AND u.manuallyOffline = false")
+    int markOnline(Collection<Long> userIds);
+
+    // Unlike goOffline, active tasks stay with the user: a missed heartbeat is often a short disconnect,
+    // and the user only stops receiving new tasks until the next heartbeat
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.availabilityStatus = com.taskmanager.enums.AvailabilityStatus.OFFLINE, " +
+           "u.version = u.version + 1 WHERE u.id IN :userIds " +
+           "AND u.availabilityStatus <> com.taskmanager.enums.AvailabilityStatus.OFFLINE")
+    int markOffline(Collection<Long> userIds);
 }
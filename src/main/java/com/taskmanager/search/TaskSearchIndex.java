@@ -0,0 +1,210 @@
+package com.taskmanager.search;
+
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.dto.TaskTextProjection;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.event.TasksRemovedEvent;
+import com.taskmanager.repository.TaskRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class TaskSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchIndex.class);
+
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String DESCRIPTION = "description";
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final TaskRepository taskRepository;
+    private final Analyzer analyzer = new StandardAnalyzer();
+
+    // Empty keeps the index on the heap; it is rebuilt from the database on every start either way
+    @Value("${tasks.search.index-dir:}")
+    private String indexDir;
+
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    public TaskSearchIndex(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    public record Hits(List<Long> taskIds, long totalHits) {}
+
+    @PostConstruct
+    void open() throws IOException {
+        directory = indexDir.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexDir));
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE);
+        writer = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() throws IOException {
+        long indexed = 0;
+        Long afterId = 0L;
+        List<TaskTextProjection> batch;
+        do {
+            batch = taskRepository.findTextAfter(afterId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (TaskTextProjection task : batch) {
+                writer.updateDocument(new Term(ID, task.getId().toString()),
+                        toDocument(task.getId(), task.getTitle(), task.getDescription()));
+            }
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+                indexed += batch.size();
+            }
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+        writer.commit();
+        searcherManager.maybeRefresh();
+        log.info("Task search index rebuilt with {} tasks", indexed);
+    }
+
+    // Runs after commit, so rolled back writes never reach the index
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        try {
+            TaskDTO task = event.getAfter();
+            if (task == null) {
+                writer.deleteDocuments(new Term(ID, event.getTaskId().toString()));
+            } else {
+                writer.updateDocument(new Term(ID, task.id().toString()),
+                        toDocument(task.id(), task.title(), task.description()));
+            }
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.error("Failed to update search index for task {}", event.getTaskId(), e);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTasksRemoved(TasksRemovedEvent event) {
+        try {
+            Term[] terms = event.getTaskIds().stream()
+                    .map(id -> new Term(ID, id.toString()))
+                    .toArray(Term[]::new);
+            writer.deleteDocuments(terms);
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.error("Failed to remove {} tasks from search index", event.getTaskIds().size(), e);
+        }
+    }
+
+    // Ids in rank order; totalHits is a lower bound once it passes Lucene's counting threshold
+    public Hits search(String text, int offset, int limit) {
+        Query query = buildQuery(text);
+        if (query == null) {
+            return new Hits(List.of(), 0);
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs top = searcher.search(query, offset + limit);
+                StoredFields storedFields = searcher.storedFields();
+                List<Long> ids = new ArrayList<>();
+                for (int i = offset; i < top.scoreDocs.length; i++) {
+                    ScoreDoc hit = top.scoreDocs[i];
+                    ids.add(Long.valueOf(storedFields.document(hit.doc).get(ID)));
+                }
+                return new Hits(ids, top.totalHits.value());
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Every word must match the title or description, either exactly or as a prefix;
+    // exact matches rank above prefix matches and title matches above description matches
+    Query buildQuery(String text) {
+        List<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String term : terms) {
+            BooleanQuery.Builder word = new BooleanQuery.Builder()
+                    .add(new BoostQuery(new TermQuery(new Term(TITLE, term)), 3f), BooleanClause.Occur.SHOULD)
+                    .add(new TermQuery(new Term(DESCRIPTION, term)), BooleanClause.Occur.SHOULD)
+                    .add(new BoostQuery(new PrefixQuery(new Term(TITLE, term)), 1.5f), BooleanClause.Occur.SHOULD)
+                    .add(new BoostQuery(new PrefixQuery(new Term(DESCRIPTION, term)), 0.5f), BooleanClause.Occur.SHOULD);
+            query.add(word.build(), BooleanClause.Occur.MUST);
+        }
+        return query.build();
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(TITLE, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private Document toDocument(Long id, String title, String description) {
+        Document document = new Document();
+        document.add(new StringField(ID, id.toString(), Field.Store.YES));
+        document.add(new TextField(TITLE, title != null ? title : "", Field.Store.NO));
+        document.add(new TextField(DESCRIPTION, description != null ? description : "", Field.Store.NO));
+        return document;
+    }
+}
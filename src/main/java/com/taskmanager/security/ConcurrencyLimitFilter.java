@@ -0,0 +1,113 @@
+package com.taskmanager.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.readmodel.TaskReadModel;
+import com.taskmanager.service.TaskCreationBatcher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+// Caps concurrent requests that need a database connection. Runs after ResponseCacheFilter, so cached
+// responses never take a permit; heartbeats, reads answered by the read model and batched creations
+// are exempt as well.
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final ObjectMapper objectMapper;
+    private final TaskReadModel taskReadModel;
+    private final TaskCreationBatcher taskCreationBatcher;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Counter overloaded;
+
+    private Semaphore concurrency;
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+
+    // Kept at or below the pool size so excess requests get 429 instead of waiting for a connection
+    @Value("${rate-limit.max-concurrent-requests:${spring.datasource.hikari.maximum-pool-size:10}}")
+    private int maxConcurrentRequests;
+
+    @Value("${rate-limit.concurrency-paths:/api/**}")
+    private List<String> concurrencyPaths;
+
+    @Value("${rate-limit.concurrency-exempt-paths:/api/presence/**}")
+    private List<String> exemptPaths;
+
+    // GET paths served from the read model while it is ready
+    @Value("${rate-limit.read-model-paths:/api/tasks/{id:[0-9]+},/api/tasks/priority/*,/api/tasks/assignee/*,/api/users/available}")
+    private List<String> readModelPaths;
+
+    public ConcurrencyLimitFilter(ObjectMapper objectMapper, TaskReadModel taskReadModel,
+                                  TaskCreationBatcher taskCreationBatcher, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.taskReadModel = taskReadModel;
+        this.taskCreationBatcher = taskCreationBatcher;
+        this.overloaded = Counter.builder("http.server.requests.rejected").tag("reason", "concurrency").register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() {
+        this.concurrency = new Semaphore(maxConcurrentRequests);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!matches(concurrencyPaths, path) || matches(exemptPaths, path)) {
+            return true;
+        }
+        if (isBatchedCreation(request, path)) {
+            return true;
+        }
+        // Rows the read model cannot version are still read from the database, outside the cap
+        return HttpMethod.GET.matches(request.getMethod()) && taskReadModel.isReady() && matches(readModelPaths, path);
+    }
+
+    // Callers waiting for their batch hold no connection; the batcher bounds them with its queue
+    // capacity and wait timeout. With permits they would cap a batch at max-concurrent-requests.
+    private boolean isBatchedCreation(HttpServletRequest request, String path) {
+        String autoAssign = request.getParameter("autoAssign");
+        return HttpMethod.POST.matches(request.getMethod()) && path.equals("/api/tasks")
+                && (autoAssign == null || Boolean.parseBoolean(autoAssign))
+                && taskCreationBatcher.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!concurrency.tryAcquire()) {
+            overloaded.increment();
+            RateLimitFilter.reject(objectMapper, response, "Сервер перегружен, повторите позже", 1);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            concurrency.release();
+        }
+    }
+
+    private boolean matches(List<String> patterns, String path) {
+        return patterns.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import com.taskmanager.service.PresenceTracker;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -12,16 +13,24 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
+    // Sent by every client every few seconds: while presence tracking is on, the signed token is enough here,
+    // the tracker resolves the user itself and rejects unknown ones, so these requests skip the user lookup
+    private static final String HEARTBEAT_PATH = "/api/presence/heartbeat";
+
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final PresenceTracker presenceTracker;
 
-    public JwtAuthFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService) {
+    public JwtAuthFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService,
+                         PresenceTracker presenceTracker) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.presenceTracker = presenceTracker;
     }
 
     @Override
@@ -39,10 +48,15 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                 username = jwtUtil.getUsernameFromToken(jwt);
 
                 if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-
-                    UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
-                            userDetails, null, userDetails.getAuthorities());
+                    UsernamePasswordAuthenticationToken authenticationToken;
+                    if (presenceTracker.isEnabled()
+                            && request.getRequestURI().equals(request.getContextPath() + HEARTBEAT_PATH)) {
+                        authenticationToken = new UsernamePasswordAuthenticationToken(username, null, List.of());
+                    } else {
+                        UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+                        authenticationToken = new UsernamePasswordAuthenticationToken(
+                                userDetails, null, userDetails.getAuthorities());
+                    }
                     authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authenticationToken);
                 }
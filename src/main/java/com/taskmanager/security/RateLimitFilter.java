@@ -0,0 +1,174 @@
+package com.taskmanager.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Runs right after JwtAuthFilter: authenticated requests are limited per user, anonymous ones per client address.
+// Concurrency is capped separately by ConcurrencyLimitFilter.
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // Requests per second and burst size for the paths matching pattern
+    record Rule(String pattern, double ratePerSecond, int burst) {
+
+        long emissionIntervalNanos() {
+            return (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        }
+
+        static Rule parse(String pattern, String limit) {
+            String[] parts = limit.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Rate limit must look like <requests per second>:<burst>, got " + limit);
+            }
+            return new Rule(pattern.trim(), Double.parseDouble(parts[0]), Integer.parseInt(parts[1]));
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    // GCRA state per subject and rule: the time at which the bucket is full again
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final Counter rateLimited;
+
+    private List<Rule> rules;
+    private Rule defaultRule;
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+
+    // Comma separated <ant pattern>=<requests per second>:<burst>, the first match wins
+    @Value("${rate-limit.rules:}")
+    private List<String> ruleSpecs;
+
+    @Value("${rate-limit.default:20:40}")
+    private String defaultLimit;
+
+    public RateLimitFilter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.rateLimited = Counter.builder("http.server.requests.rejected").tag("reason", "rate-limit").register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() {
+        List<Rule> parsed = new ArrayList<>();
+        for (String spec : ruleSpecs) {
+            if (spec.isBlank()) {
+                continue;
+            }
+            int separator = spec.lastIndexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Rate limit rule must look like <pattern>=<rate>:<burst>, got " + spec);
+            }
+            parsed.add(Rule.parse(spec.substring(0, separator), spec.substring(separator + 1)));
+        }
+        this.rules = parsed;
+        this.defaultRule = Rule.parse("/**", defaultLimit);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Rule rule = findRule(path);
+
+        long retryAfterNanos = acquireToken(subject(request) + "|" + rule.pattern(), rule, System.nanoTime());
+        if (retryAfterNanos > 0) {
+            rateLimited.increment();
+            reject(objectMapper, response, "Слишком много запросов, повторите позже", TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos) + 1);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private Rule findRule(String path) {
+        for (Rule rule : rules) {
+            if (pathMatcher.match(rule.pattern(), path)) {
+                return rule;
+            }
+        }
+        return defaultRule;
+    }
+
+    private String subject(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    // Returns 0 when the request is admitted, otherwise the time until a token is available
+    long acquireToken(String key, Rule rule, long now) {
+        AtomicLong bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        long interval = rule.emissionIntervalNanos();
+        long capacity = interval * rule.burst();
+        while (true) {
+            long fullAt = bucket.get();
+            // Refill is implicit: a bucket full in the past starts from now
+            long next = Math.max(fullAt, now) + interval;
+            if (next - now > capacity) {
+                return next - now - capacity;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // A full bucket carries no state, dropping it only loses the time it was last used
+    @Scheduled(fixedDelayString = "${rate-limit.idle-sweep-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    int bucketCount() {
+        return buckets.size();
+    }
+
+    static void reject(ObjectMapper objectMapper, HttpServletResponse response, String message, long retryAfterSeconds)
+            throws IOException {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("message", message);
+        errorResponse.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        errorResponse.put("error", "Too Many Requests");
+        errorResponse.put("timestamp", LocalDateTime.now());
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
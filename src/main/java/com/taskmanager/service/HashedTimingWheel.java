@@ -0,0 +1,131 @@
+package com.taskmanager.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// Timers hashed by deadline tick into a fixed ring of buckets, so scheduling is O(1) and a tick only
+// looks at one bucket. A deadline more than one lap away waits in its bucket for the remaining rounds.
+// Any thread may schedule or cancel; a single thread drives the wheel with advance.
+final class HashedTimingWheel<T> {
+
+    final class Timeout {
+        private final T item;
+        private final long deadline;
+        private long remainingRounds;
+        // Set once, either by cancel or by firing, whichever comes first
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        private Timeout(T item, long deadline) {
+            this.item = item;
+            this.deadline = deadline;
+        }
+
+        T item() {
+            return item;
+        }
+
+        long deadline() {
+            return deadline;
+        }
+
+        // False when the timer already fired or was cancelled. Cancelled timers are dropped when the wheel reaches their bucket
+        boolean cancel() {
+            if (!finished.compareAndSet(false, true)) {
+                return false;
+            }
+            size.decrementAndGet();
+            return true;
+        }
+    }
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final List<Timeout>[] buckets;
+    private final int mask;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    // Next tick to process; only touched by the advancing thread
+    private long tick;
+
+    @SuppressWarnings("unchecked")
+    HashedTimingWheel(long tickMillis, int bucketCount, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive: " + tickMillis);
+        }
+        if (Integer.bitCount(bucketCount) != 1) {
+            throw new IllegalArgumentException("Bucket count must be a power of two: " + bucketCount);
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.buckets = new List[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        this.mask = bucketCount - 1;
+    }
+
+    Timeout schedule(T item, long deadlineMillis) {
+        Timeout timeout = new Timeout(item, deadlineMillis);
+        size.incrementAndGet();
+        pending.add(timeout);
+        return timeout;
+    }
+
+    // Timers that are scheduled and not yet fired or cancelled
+    int size() {
+        return size.get();
+    }
+
+    // Fires every timer whose tick has passed by now, in tick order; returns how many fired
+    int advance(long nowMillis, Consumer<T> expired) {
+        long lastTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        int fired = 0;
+        while (tick <= lastTick) {
+            transferPending();
+            fired += expireBucket(buckets[(int) (tick & mask)], expired);
+            tick++;
+        }
+        return fired;
+    }
+
+    private void transferPending() {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.finished.get()) {
+                continue;
+            }
+            // Rounded up so a timer never fires before its deadline, at most one tick after it.
+            // Past deadlines go into the next unprocessed tick's bucket
+            long deadlineTick = Math.max(Math.ceilDiv(timeout.deadline - startMillis, tickMillis), tick);
+            timeout.remainingRounds = (deadlineTick - tick) / buckets.length;
+            buckets[(int) (deadlineTick & mask)].add(timeout);
+        }
+    }
+
+    private int expireBucket(List<Timeout> bucket, Consumer<T> expired) {
+        int fired = 0;
+        Iterator<Timeout> it = bucket.iterator();
+        while (it.hasNext()) {
+            Timeout timeout = it.next();
+            if (timeout.finished.get()) {
+                it.remove();
+            } else if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+            } else {
+                it.remove();
+                if (timeout.finished.compareAndSet(false, true)) {
+                    size.decrementAndGet();
+                    expired.accept(timeout.item);
+                    fired++;
+                }
+            }
+        }
+        return fired;
+    }
+}
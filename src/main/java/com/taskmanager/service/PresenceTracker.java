@@ -0,0 +1,205 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.UserDTO;
+import com.taskmanager.event.UserChangedEvent;
+import com.taskmanager.event.UsersPresenceChangedEvent;
+import com.taskmanager.exception.ResourceNotFoundException;
+import com.taskmanager.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Online users kept in memory from client heartbeats. A heartbeat only stamps the user's entry; each entry
+// has one timer on a hashed timing wheel, re-armed from the last stamp when it fires. Only transitions
+// between online and offline reach the users table, as batched UPDATEs once per tick.
+@Component
+public class PresenceTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(PresenceTracker.class);
+    private static final int WHEEL_BUCKETS = 512;
+    private static final int FLUSH_CHUNK_SIZE = 1000;
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<String, Long> userIds = new ConcurrentHashMap<>();
+    private final Map<Long, Presence> online = new ConcurrentHashMap<>();
+    // Latest transition per user not yet written: true for back online, false for gone
+    private final Map<Long, Boolean> transitions = new ConcurrentHashMap<>();
+
+    @Value("${users.presence.enabled:false}")
+    private boolean enabled;
+
+    @Value("${users.presence.timeout-ms:30000}")
+    private long timeoutMs;
+
+    @Value("${users.presence.tick-ms:1000}")
+    private long tickMs;
+
+    private HashedTimingWheel<Long> wheel;
+
+    private static final class Presence {
+        private volatile long lastSeen;
+
+        private Presence(long lastSeen) {
+            this.lastSeen = lastSeen;
+        }
+    }
+
+    public PresenceTracker(UserRepository userRepository, TransactionTemplate transactionTemplate,
+                           ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        Gauge.builder("presence.online", online, Map::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() {
+        wheel = new HashedTimingWheel<>(tickMs, WHEEL_BUCKETS, System.currentTimeMillis());
+    }
+
+    // Users online before a restart get one timeout to send their first heartbeat
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<Long> ids = userRepository.findOnlineIds();
+        for (Long userId : ids) {
+            if (online.putIfAbsent(userId, new Presence(now)) == null) {
+                wheel.schedule(userId, now + timeoutMs);
+            }
+        }
+        log.info("Presence tracking {} users with a {} ms timeout", ids.size(), timeoutMs);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isOnline(Long userId) {
+        return online.containsKey(userId);
+    }
+
+    public void heartbeat(String username) {
+        if (!enabled) {
+            return;
+        }
+        // Resolved once per user, later heartbeats never touch the database
+        Long userId = userIds.computeIfAbsent(username, name -> userRepository.findIdByUsername(name).orElse(null));
+        if (userId == null) {
+            throw new ResourceNotFoundException("Пользователь не найден: " + username);
+        }
+        heartbeat(userId, System.currentTimeMillis());
+    }
+
+    void heartbeat(Long userId, long now) {
+        while (true) {
+            Presence presence = online.get(userId);
+            if (presence != null) {
+                presence.lastSeen = now;
+                // Otherwise the entry expired between the lookup and the stamp and is added again
+                if (online.get(userId) == presence) {
+                    return;
+                }
+                continue;
+            }
+            if (online.putIfAbsent(userId, new Presence(now)) == null) {
+                wheel.schedule(userId, now + timeoutMs);
+                transitions.put(userId, Boolean.TRUE);
+                return;
+            }
+        }
+    }
+
+    // Heartbeats skip the user lookup, so the cached id is all that ties a token to a user: a deleted or
+    // renamed user's name stops resolving here, and a deleted user leaves the online set
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        UserDTO before = event.getBefore();
+        if (!enabled || before == null) {
+            return;
+        }
+        UserDTO after = event.getAfter();
+        if (after == null || !after.username().equals(before.username())) {
+            userIds.remove(before.username());
+        }
+        if (after == null) {
+            online.remove(before.id());
+            transitions.remove(before.id());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${users.presence.tick-ms:1000}", fixedDelayString = "${users.presence.tick-ms:1000}")
+    public void tick() {
+        if (enabled) {
+            tick(System.currentTimeMillis());
+        }
+    }
+
+    void tick(long now) {
+        wheel.advance(now, userId -> expire(userId, now));
+        flush();
+    }
+
+    private void expire(Long userId, long now) {
+        Presence presence = online.get(userId);
+        if (presence == null) {
+            return;
+        }
+        long deadline = presence.lastSeen + timeoutMs;
+        if (deadline > now) {
+            wheel.schedule(userId, deadline);
+        } else if (online.remove(userId, presence)) {
+            transitions.put(userId, Boolean.FALSE);
+        }
+    }
+
+    private void flush() {
+        if (transitions.isEmpty()) {
+            return;
+        }
+        List<Long> cameOnline = new ArrayList<>();
+        List<Long> wentOffline = new ArrayList<>();
+        for (Long userId : transitions.keySet()) {
+            Boolean isOnline = transitions.remove(userId);
+            if (isOnline != null) {
+                (isOnline ? cameOnline : wentOffline).add(userId);
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int from = 0; from < cameOnline.size(); from += FLUSH_CHUNK_SIZE) {
+                    userRepository.markOnline(cameOnline.subList(from, Math.min(from + FLUSH_CHUNK_SIZE, cameOnline.size())));
+                }
+                for (int from = 0; from < wentOffline.size(); from += FLUSH_CHUNK_SIZE) {
+                    userRepository.markOffline(wentOffline.subList(from, Math.min(from + FLUSH_CHUNK_SIZE, wentOffline.size())));
+                }
+                eventPublisher.publishEvent(new UsersPresenceChangedEvent(cameOnline, wentOffline));
+            });
+        } catch (RuntimeException e) {
+            // Retried on the next tick unless a newer transition for the same user arrived meanwhile
+            cameOnline.forEach(userId -> transitions.putIfAbsent(userId, Boolean.TRUE));
+            wentOffline.forEach(userId -> transitions.putIfAbsent(userId, Boolean.FALSE));
+            log.warn("Failed to write presence changes for {} users", cameOnline.size() + wentOffline.size(), e);
+        }
+    }
+}
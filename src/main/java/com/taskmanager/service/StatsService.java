@@ -0,0 +1,107 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.StatsDTO;
+import com.taskmanager.dto.UserStatusCountRow;
+import com.taskmanager.enums.AvailabilityStatus;
+import com.taskmanager.enums.PriorityLevel;
+import com.taskmanager.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+public class StatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(StatsService.class);
+
+    private final TaskCounters taskCounters;
+    private final UserRepository userRepository;
+    private final TaskExecutor taskExecutor;
+
+    @Value("${stats.cache.ttl-ms:5000}")
+    private long ttlMs;
+
+    private volatile Snapshot snapshot;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    public StatsService(TaskCounters taskCounters, UserRepository userRepository,
+                        @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
+        this.taskCounters = taskCounters;
+        this.userRepository = userRepository;
+        this.taskExecutor = taskExecutor;
+    }
+
+    private record Snapshot(StatsDTO stats, long computedAtNanos) {}
+
+    // Stale-while-revalidate: callers always get the last snapshot, and at most one
+    // background refresh runs once it is older than the TTL
+    public StatsDTO getStats() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return loadFirstSnapshot();
+        }
+        if (System.nanoTime() - current.computedAtNanos() >= ttlMs * 1_000_000 && refreshing.compareAndSet(false, true)) {
+            try {
+                taskExecutor.execute(this::refresh);
+            } catch (RuntimeException e) {
+                refreshing.set(false);
+                log.warn("Could not schedule statistics refresh", e);
+            }
+        }
+        return current.stats();
+    }
+
+    private synchronized StatsDTO loadFirstSnapshot() {
+        if (snapshot == null) {
+            snapshot = new Snapshot(computeStats(), System.nanoTime());
+        }
+        return snapshot.stats();
+    }
+
+    private void refresh() {
+        try {
+            snapshot = new Snapshot(computeStats(), System.nanoTime());
+        } catch (RuntimeException e) {
+            // Keep serving the previous snapshot, the next request retries
+            log.warn("Statistics refresh failed", e);
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    StatsDTO computeStats() {
+        // Task figures come from the in-memory counters, only users are counted in the database
+        Map<PriorityLevel, Long> byPriority = new EnumMap<>(PriorityLevel.class);
+        for (PriorityLevel level : PriorityLevel.values()) {
+            byPriority.put(level, taskCounters.count(level, false) + taskCounters.count(level, true));
+        }
+        Map<Long, Long> byAssignee = taskCounters.tasksByUser();
+        long active = taskCounters.count(false);
+        long done = taskCounters.count(true);
+        long assigned = byAssignee.values().stream().mapToLong(Long::longValue).sum();
+        long unassigned = Math.max(0, active + done - assigned);
+
+        Map<AvailabilityStatus, Long> byAvailability = new EnumMap<>(AvailabilityStatus.class);
+        for (AvailabilityStatus status : AvailabilityStatus.values()) {
+            byAvailability.put(status, 0L);
+        }
+        long users = 0;
+        for (UserStatusCountRow row : userRepository.countGroupedByAvailability()) {
+            if (row.getAvailabilityStatus() != null) {
+                byAvailability.put(row.getAvailabilityStatus(), row.getCount());
+            }
+            users += row.getCount();
+        }
+
+        return new StatsDTO(active + done, active, done, unassigned, byPriority, byAssignee,
+                users, byAvailability, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,101 @@
+package com.taskmanager.service;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.TaskArchive;
+import com.taskmanager.event.TasksRemovedEvent;
+import com.taskmanager.mapper.TaskMapper;
+import com.taskmanager.repository.TaskArchiveRepository;
+import com.taskmanager.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+public class TaskArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskArchiveService.class);
+
+    private final TaskRepository taskRepository;
+    private final TaskArchiveRepository taskArchiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${tasks.archive.after-days:30}")
+    private int archiveAfterDays;
+
+    @Value("${tasks.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${tasks.archive.pause-ms:200}")
+    private long pauseMs;
+
+    public TaskArchiveService(TaskRepository taskRepository, TaskArchiveRepository taskArchiveRepository,
+                              TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher) {
+        this.taskRepository = taskRepository;
+        this.taskArchiveRepository = taskArchiveRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Scheduled(cron = "${tasks.archive.cron:0 0 3 * * *}")
+    public void archiveCompletedTasks() {
+        LocalDateTime now = LocalDateTime.now();
+        Integer backfilled = transactionTemplate.execute(status -> taskRepository.backfillCompletionTimestamps(now));
+        if (backfilled != null && backfilled > 0) {
+            log.info("Set a completion time on {} done tasks that had none", backfilled);
+        }
+
+        LocalDateTime cutoff = now.minusDays(archiveAfterDays);
+        long total = 0;
+        int moved;
+        do {
+            // Each batch is its own short transaction so the job never holds locks for long
+            moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            total += moved;
+            if (moved == batchSize && !pause()) {
+                break;
+            }
+        } while (moved == batchSize);
+
+        if (total > 0) {
+            log.info("Archived {} tasks completed before {}", total, cutoff);
+        }
+    }
+
+    int archiveBatch(LocalDateTime cutoff) {
+        List<Task> batch = taskRepository.findCompletedBefore(cutoff, PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        taskArchiveRepository.saveAll(batch.stream()
+                .map(TaskArchive::new)
+                .collect(Collectors.toList()));
+        taskRepository.deleteAllByIdInBatch(batch.stream()
+                .map(Task::getId)
+                .collect(Collectors.toList()));
+        eventPublisher.publishEvent(new TasksRemovedEvent(batch.stream()
+                .map(TaskMapper::toSummary)
+                .collect(Collectors.toList())));
+        return batch.size();
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.TaskCountRow;
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.dto.TaskSummaryDTO;
+import com.taskmanager.enums.PriorityLevel;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.event.TasksDoneChangedEvent;
+import com.taskmanager.event.TasksPriorityChangedEvent;
+import com.taskmanager.event.TasksReassignedEvent;
+import com.taskmanager.event.TasksRemovedEvent;
+import com.taskmanager.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// In-memory task totals per user and per priority/done state, kept current from committed changes.
+// Changes are staged when published inside their transaction and applied once it commits, without locks
+@Component
+public class TaskCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskCounters.class);
+
+    private final TaskRepository taskRepository;
+
+    // One extra row for tasks without a priority; column 0 is active, 1 is done
+    private final Cell[][] byPriority = new Cell[PriorityLevel.values().length + 1][2];
+    private final Map<Long, Cell> activeByUser = new ConcurrentHashMap<>();
+    private final Map<Long, Cell> totalByUser = new ConcurrentHashMap<>();
+
+    public TaskCounters(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+        for (Cell[] row : byPriority) {
+            row[0] = new Cell();
+            row[1] = new Cell();
+        }
+    }
+
+    private static final class Cell {
+        private final LongAdder value = new LongAdder();
+        // Staged changes whose transaction has not completed yet
+        private final AtomicInteger pending = new AtomicInteger();
+        // Applied changes; bumped before the value so reconcile sees any change it might have read
+        private final AtomicLong changes = new AtomicLong();
+
+        private void apply(long amount) {
+            changes.incrementAndGet();
+            value.add(amount);
+        }
+    }
+
+    private record Delta(Cell cell, long amount) {}
+
+    private static int row(PriorityLevel priorityLevel) {
+        return priorityLevel != null ? priorityLevel.ordinal() : PriorityLevel.values().length;
+    }
+
+    public long activeTasks(Long userId) {
+        Cell cell = activeByUser.get(userId);
+        return cell != null ? Math.max(0, cell.value.sum()) : 0;
+    }
+
+    public long count(PriorityLevel priorityLevel, boolean done) {
+        return byPriority[row(priorityLevel)][done ? 1 : 0].value.sum();
+    }
+
+    public long count(boolean done) {
+        long total = 0;
+        for (Cell[] row : byPriority) {
+            total += row[done ? 1 : 0].value.sum();
+        }
+        return total;
+    }
+
+    public Map<Long, Long> tasksByUser() {
+        Map<Long, Long> result = new HashMap<>();
+        totalByUser.forEach((userId, cell) -> {
+            long total = cell.value.sum();
+            if (total > 0) {
+                result.put(userId, total);
+            }
+        });
+        return result;
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        List<Delta> deltas = new ArrayList<>();
+        add(deltas, event.getBefore(), -1);
+        add(deltas, event.getAfter(), 1);
+        stage(deltas);
+    }
+
+    @EventListener
+    public void onTasksRemoved(TasksRemovedEvent event) {
+        List<Delta> deltas = new ArrayList<>();
+        for (TaskSummaryDTO task : event.getTasks()) {
+            add(deltas, task.getPriorityLevel(), task.isDone(), task.getAssignedUserId(), -1);
+        }
+        stage(deltas);
+    }
+
+    @EventListener
+    public void onTasksDoneChanged(TasksDoneChangedEvent event) {
+        List<Delta> deltas = new ArrayList<>();
+        for (TaskSummaryDTO task : event.getTasks()) {
+            add(deltas, task.getPriorityLevel(), task.isDone(), task.getAssignedUserId(), -1);
+            add(deltas, task.getPriorityLevel(), event.isDone(), task.getAssignedUserId(), 1);
+        }
+        stage(deltas);
+    }
+
+    @EventListener
+    public void onTasksReassigned(TasksReassignedEvent event) {
+        List<Delta> deltas = new ArrayList<>();
+        for (TaskSummaryDTO task : event.getTasks()) {
+            add(deltas, task.getPriorityLevel(), task.isDone(), task.getAssignedUserId(), -1);
+            add(deltas, task.getPriorityLevel(), task.isDone(), event.getAssigneeId(task.getId()), 1);
+        }
+        stage(deltas);
+    }
+
+    @EventListener
+    public void onTasksPriorityChanged(TasksPriorityChangedEvent event) {
+        List<Delta> deltas = new ArrayList<>();
+        for (TaskSummaryDTO task : event.getTasks()) {
+            add(deltas, task.getPriorityLevel(), task.isDone(), task.getAssignedUserId(), -1);
+            add(deltas, event.getPriorityLevel(task.getId()), task.isDone(), task.getAssignedUserId(), 1);
+        }
+        stage(deltas);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        reconcile();
+    }
+
+    // Corrects drift one cell at a time. A cell with a change in flight at any point of the query may or may
+    // not be counted in its result, so it is left as it is and corrected on a later run: never counted twice.
+    @Scheduled(initialDelayString = "${tasks.counters.reconcile-ms:300000}",
+               fixedDelayString = "${tasks.counters.reconcile-ms:300000}")
+    public synchronized void reconcile() {
+        Map<Cell, Long> marks = new IdentityHashMap<>();
+        forEachCell(cell -> marks.put(cell, cell.pending.get() == 0 ? cell.changes.get() : -1));
+
+        long[][] priorityCounts = new long[byPriority.length][2];
+        Map<Long, Long> activeCounts = new HashMap<>();
+        Map<Long, Long> totalCounts = new HashMap<>();
+        for (TaskCountRow row : taskRepository.countGroupedByPriorityDoneAndAssignee()) {
+            priorityCounts[row(row.getPriorityLevel())][row.isDone() ? 1 : 0] += row.getCount();
+            if (row.getAssigneeId() != null) {
+                totalCounts.merge(row.getAssigneeId(), row.getCount(), Long::sum);
+                if (!row.isDone()) {
+                    activeCounts.merge(row.getAssigneeId(), row.getCount(), Long::sum);
+                }
+            }
+        }
+
+        int skipped = 0;
+        for (int i = 0; i < byPriority.length; i++) {
+            for (int done = 0; done < 2; done++) {
+                skipped += correct(byPriority[i][done], marks, priorityCounts[i][done]) ? 0 : 1;
+            }
+        }
+        skipped += correct(activeByUser, marks, activeCounts);
+        skipped += correct(totalByUser, marks, totalCounts);
+        log.debug("Task counters reconciled with database, {} busy counters left for the next run", skipped);
+    }
+
+    private int correct(Map<Long, Cell> cells, Map<Cell, Long> marks, Map<Long, Long> counts) {
+        Set<Long> userIds = new HashSet<>(cells.keySet());
+        userIds.addAll(counts.keySet());
+        int skipped = 0;
+        for (Long userId : userIds) {
+            Cell cell = cells.computeIfAbsent(userId, id -> new Cell());
+            skipped += correct(cell, marks, counts.getOrDefault(userId, 0L)) ? 0 : 1;
+        }
+        return skipped;
+    }
+
+    // A cell created after the marks were taken starts from zero changes
+    private boolean correct(Cell cell, Map<Cell, Long> marks, long actual) {
+        long mark = marks.getOrDefault(cell, 0L);
+        if (mark < 0 || cell.pending.get() != 0 || cell.changes.get() != mark) {
+            return false;
+        }
+        long current = cell.value.sum();
+        if (cell.changes.get() != mark) {
+            return false;
+        }
+        // Relative, so a change applied from here on is kept
+        cell.value.add(actual - current);
+        return true;
+    }
+
+    private void forEachCell(Consumer<Cell> action) {
+        for (Cell[] row : byPriority) {
+            action.accept(row[0]);
+            action.accept(row[1]);
+        }
+        activeByUser.values().forEach(action);
+        totalByUser.values().forEach(action);
+    }
+
+    // Outside a transaction the change is already durable and is applied right away
+    private void stage(List<Delta> deltas) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deltas.forEach(delta -> delta.cell().apply(delta.amount()));
+            return;
+        }
+        deltas.forEach(delta -> delta.cell().pending.incrementAndGet());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deltas.forEach(delta -> delta.cell().apply(delta.amount()));
+            }
+
+            // Also runs after a rollback; after a commit it follows afterCommit, so the change is in the value
+            @Override
+            public void afterCompletion(int status) {
+                deltas.forEach(delta -> delta.cell().pending.decrementAndGet());
+            }
+        });
+    }
+
+    private void add(List<Delta> deltas, TaskDTO task, long amount) {
+        if (task != null) {
+            add(deltas, task.priorityLevel(), task.done(), task.assignedUserId(), amount);
+        }
+    }
+
+    private void add(List<Delta> deltas, PriorityLevel priorityLevel, boolean done, Long userId, long amount) {
+        deltas.add(new Delta(byPriority[row(priorityLevel)][done ? 1 : 0], amount));
+        if (userId != null) {
+            deltas.add(new Delta(totalByUser.computeIfAbsent(userId, id -> new Cell()), amount));
+            if (!done) {
+                deltas.add(new Delta(activeByUser.computeIfAbsent(userId, id -> new Cell()), amount));
+            }
+        }
+    }
+}
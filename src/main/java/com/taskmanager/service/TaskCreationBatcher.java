@@ -0,0 +1,208 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.CreateTaskRequest;
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.exception.BusinessLogicException;
+import com.taskmanager.exception.TooManyRequestsException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// Group commit for auto-assigned task creation: callers enqueue, one writer thread creates whole batches
+@Component
+public class TaskCreationBatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskCreationBatcher.class);
+
+    // actor is taken on the request thread: the writer thread has no security context of its own.
+    // claimed is won either by the writer taking the request into a batch or by the caller giving up on it
+    private record Pending(CreateTaskRequest request, String actor, AtomicBoolean claimed,
+                           CompletableFuture<TaskDTO> result) {}
+
+    private final TaskService taskService;
+    private final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+    // ConcurrentLinkedQueue.size() walks the queue, so the bound is tracked separately
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    @Value("${tasks.create-batching.enabled:false}")
+    private boolean enabled;
+
+    @Value("${tasks.create-batching.batch-size:100}")
+    private int batchSize;
+
+    @Value("${tasks.create-batching.max-delay-ms:5}")
+    private long maxDelayMs;
+
+    @Value("${tasks.create-batching.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${tasks.create-batching.wait-timeout-ms:10000}")
+    private long waitTimeoutMs;
+
+    public TaskCreationBatcher(TaskService taskService) {
+        this.taskService = taskService;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drainLoop, "task-create-batcher");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        // The writer finishes what is already queued before exiting
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Blocks until the batch holding this request is committed. Only a request still queued after
+    // wait-timeout-ms is given up with 429: it is then never created, so a retry cannot duplicate it.
+    // A request already taken into a batch is waited for until that batch finishes.
+    public TaskDTO createTask(CreateTaskRequest request, String actor) {
+        Pending pending = enqueue(request, actor);
+        try {
+            return pending.result().get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw failure(e.getCause());
+        } catch (TimeoutException e) {
+            return giveUpOrAwaitBatch(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return giveUpOrAwaitBatch(pending);
+        }
+    }
+
+    private TaskDTO giveUpOrAwaitBatch(Pending pending) {
+        if (pending.claimed().compareAndSet(false, true)) {
+            throw new TooManyRequestsException("Сервер перегружен, повторите позже");
+        }
+        try {
+            return pending.result().join();
+        } catch (CompletionException e) {
+            throw failure(e.getCause());
+        }
+    }
+
+    private static RuntimeException failure(Throwable cause) {
+        return cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+    }
+
+    CompletableFuture<TaskDTO> submit(CreateTaskRequest request, String actor) {
+        return enqueue(request, actor).result();
+    }
+
+    private Pending enqueue(CreateTaskRequest request, String actor) {
+        if (!running) {
+            throw new TooManyRequestsException("Сервер перегружен, повторите позже");
+        }
+        int size = queued.incrementAndGet();
+        if (size > queueCapacity) {
+            queued.decrementAndGet();
+            throw new TooManyRequestsException("Сервер перегружен, повторите позже");
+        }
+        Pending pending = new Pending(request, actor, new AtomicBoolean(), new CompletableFuture<>());
+        queue.add(pending);
+        // Wake the writer when it may be parked on an empty queue or a full batch is ready
+        if (size == 1 || size == batchSize) {
+            LockSupport.unpark(writer);
+        }
+        return pending;
+    }
+
+    private void drainLoop() {
+        long maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+        while (running || queued.get() > 0) {
+            int size = queued.get();
+            if (size == 0) {
+                LockSupport.park(this);
+                continue;
+            }
+            if (size < batchSize && running) {
+                // Give concurrent callers a few milliseconds to join the batch
+                LockSupport.parkNanos(this, maxDelayNanos);
+            }
+            flush(drain());
+        }
+    }
+
+    private List<Pending> drain() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        Pending pending;
+        int polled = 0;
+        while (batch.size() < batchSize && (pending = queue.poll()) != null) {
+            polled++;
+            // Callers that gave up waiting are not created
+            if (pending.claimed().compareAndSet(false, true)) {
+                batch.add(pending);
+            }
+        }
+        queued.addAndGet(-polled);
+        return batch;
+    }
+
+    void flush(List<Pending> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<TaskDTO> created;
+        try {
+            created = taskService.createTasks(batch.stream().map(Pending::request).toList(),
+                    batch.stream().map(Pending::actor).toList());
+        } catch (BusinessLogicException e) {
+            // No available users: every request in the batch fails the same way
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+            return;
+        } catch (RuntimeException e) {
+            // One bad request must not fail its neighbours: fall back to one transaction per request
+            log.warn("Batch of {} task creations failed, retrying one by one", batch.size(), e);
+            for (Pending pending : batch) {
+                try {
+                    pending.result().complete(taskService.createTask(pending.request(), pending.actor()));
+                } catch (RuntimeException single) {
+                    pending.result().completeExceptionally(single);
+                }
+            }
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            TaskDTO task = created.get(i);
+            if (task != null) {
+                batch.get(i).result().complete(task);
+            } else {
+                batch.get(i).result().completeExceptionally(new BusinessLogicException(TaskService.NO_USER_CAPACITY));
+            }
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.TaskAgeRow;
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.dto.TaskSummaryDTO;
+import com.taskmanager.enums.PriorityLevel;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.event.TasksDoneChangedEvent;
+import com.taskmanager.event.TasksPriorityChangedEvent;
+import com.taskmanager.event.TasksRemovedEvent;
+import com.taskmanager.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.taskmanager.repository.TaskSpecifications.done;
+import static com.taskmanager.repository.TaskSpecifications.idIn;
+import static com.taskmanager.repository.TaskSpecifications.priorityIn;
+
+// Active tasks gain priority with age: each level above LOW has an age since creation at which a task is
+// raised to it. Every active task below URGENT has one timer on a hashed timing wheel for its next level,
+// armed from committed changes. Due tasks are re-read and raised together, one UPDATE per target level.
+@Component
+public class TaskEscalator {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskEscalator.class);
+    private static final int WHEEL_BUCKETS = 512;
+    private static final int BATCH_SIZE = 1000;
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter escalated;
+    private final Map<Long, HashedTimingWheel<Due>.Timeout> timers = new ConcurrentHashMap<>();
+
+    @Value("${tasks.escalation.enabled:false}")
+    private boolean enabled;
+
+    @Value("${tasks.escalation.medium-after-hours:24}")
+    private long mediumAfterHours;
+
+    @Value("${tasks.escalation.high-after-hours:72}")
+    private long highAfterHours;
+
+    @Value("${tasks.escalation.urgent-after-hours:168}")
+    private long urgentAfterHours;
+
+    @Value("${tasks.escalation.tick-ms:60000}")
+    private long tickMs;
+
+    // Age in millis at which a task reaches each level, by ordinal
+    private long[] thresholds;
+    private HashedTimingWheel<Due> wheel;
+
+    // One per armed timer, so a fired timer is told apart from a newer one for the same task
+    private record Due(Long taskId) {}
+
+    public TaskEscalator(TaskRepository taskRepository, TransactionTemplate transactionTemplate,
+                         ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.escalated = Counter.builder("tasks.escalated").register(meterRegistry);
+        Gauge.builder("tasks.escalation.timers", timers, Map::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() {
+        thresholds = new long[PriorityLevel.values().length];
+        thresholds[PriorityLevel.MEDIUM.ordinal()] = TimeUnit.HOURS.toMillis(mediumAfterHours);
+        thresholds[PriorityLevel.HIGH.ordinal()] = TimeUnit.HOURS.toMillis(highAfterHours);
+        thresholds[PriorityLevel.URGENT.ordinal()] = TimeUnit.HOURS.toMillis(urgentAfterHours);
+        wheel = new HashedTimingWheel<>(tickMs, WHEEL_BUCKETS, System.currentTimeMillis());
+    }
+
+    // Tasks already past a threshold fire on the first tick and are raised in one batch
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long afterId = 0;
+        List<TaskAgeRow> page;
+        do {
+            page = taskRepository.findActiveAgesAfter(afterId, PageRequest.of(0, BATCH_SIZE));
+            for (TaskAgeRow row : page) {
+                arm(row.getId(), row.getPriorityLevel(), row.getCreationTimestamp());
+                afterId = row.getId();
+            }
+        } while (page.size() == BATCH_SIZE);
+        log.info("Task escalation tracking {} active tasks", timers.size());
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        TaskDTO after = event.getAfter();
+        if (after == null || after.done()) {
+            cancel(event.getTaskId());
+        } else {
+            arm(after.id(), after.priorityLevel(), after.creationTimestamp());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTasksRemoved(TasksRemovedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        for (TaskSummaryDTO task : event.getTasks()) {
+            cancel(task.getId());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTasksDoneChanged(TasksDoneChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        for (TaskSummaryDTO task : event.getTasks()) {
+            if (event.isDone()) {
+                cancel(task.getId());
+            } else {
+                arm(task.getId(), task.getPriorityLevel(), task.getCreationTimestamp());
+            }
+        }
+    }
+
+    // Also re-arms tasks raised by this escalator for their next level
+    @TransactionalEventListener
+    public void onTasksPriorityChanged(TasksPriorityChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        for (TaskSummaryDTO task : event.getTasks()) {
+            arm(task.getId(), event.getPriorityLevel(task.getId()), task.getCreationTimestamp());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${tasks.escalation.tick-ms:60000}", fixedDelayString = "${tasks.escalation.tick-ms:60000}")
+    public void tick() {
+        if (enabled) {
+            tick(System.currentTimeMillis());
+        }
+    }
+
+    void tick(long now) {
+        List<Long> due = new ArrayList<>();
+        wheel.advance(now, fired -> {
+            timers.computeIfPresent(fired.taskId(), (taskId, timeout) -> timeout.item() == fired ? null : timeout);
+            due.add(fired.taskId());
+        });
+        for (int from = 0; from < due.size(); from += BATCH_SIZE) {
+            escalate(due.subList(from, Math.min(from + BATCH_SIZE, due.size())), now);
+        }
+    }
+
+    boolean isArmed(Long taskId) {
+        return timers.containsKey(taskId);
+    }
+
+    private void escalate(List<Long> taskIds, long now) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Re-read so tasks completed or deleted since their timer was armed drop out here
+                List<TaskSummaryDTO> tasks = taskRepository.searchSummaries(idIn(taskIds).and(done(false)), taskIds.size());
+                Map<PriorityLevel, List<Long>> idsByLevel = new EnumMap<>(PriorityLevel.class);
+                Map<Long, PriorityLevel> priorities = new HashMap<>();
+                List<TaskSummaryDTO> raised = new ArrayList<>();
+                for (TaskSummaryDTO task : tasks) {
+                    PriorityLevel target = levelForAge(task.getCreationTimestamp(), now);
+                    if (task.getPriorityLevel() == null || target.compareTo(task.getPriorityLevel()) <= 0) {
+                        arm(task.getId(), task.getPriorityLevel(), task.getCreationTimestamp());
+                        continue;
+                    }
+                    idsByLevel.computeIfAbsent(target, level -> new ArrayList<>()).add(task.getId());
+                    priorities.put(task.getId(), target);
+                    raised.add(task);
+                }
+                if (raised.isEmpty()) {
+                    return;
+                }
+                Set<Long> applied = new HashSet<>();
+                idsByLevel.forEach((level, ids) -> applied.addAll(escalate(ids, level)));
+                raised.removeIf(task -> !applied.contains(task.getId()));
+                if (raised.isEmpty()) {
+                    return;
+                }
+                eventPublisher.publishEvent(new TasksPriorityChangedEvent(raised, priorities));
+                escalated.increment(raised.size());
+            });
+        } catch (RuntimeException e) {
+            // Retried on the next tick unless the task was re-armed meanwhile
+            for (Long taskId : taskIds) {
+                timers.computeIfAbsent(taskId, id -> wheel.schedule(new Due(id), now));
+            }
+            log.warn("Failed to escalate {} tasks", taskIds.size(), e);
+        }
+    }
+
+    // Ids the guarded UPDATE actually raised. Tasks completed or re-prioritized between the read and the
+    // UPDATE are skipped by it and must not reach the event, so on a short count the raised ones are re-read
+    private List<Long> escalate(List<Long> ids, PriorityLevel level) {
+        int updated = taskRepository.escalate(ids, level);
+        if (updated == ids.size()) {
+            return ids;
+        }
+        return taskRepository.searchSummaries(idIn(ids).and(done(false)).and(priorityIn(List.of(level))), ids.size())
+                .stream()
+                .map(TaskSummaryDTO::getId)
+                .collect(Collectors.toList());
+    }
+
+    // Tasks without a priority are left out of escalation
+    private void arm(Long taskId, PriorityLevel priorityLevel, LocalDateTime created) {
+        if (priorityLevel == null || priorityLevel == PriorityLevel.URGENT || created == null) {
+            cancel(taskId);
+            return;
+        }
+        PriorityLevel next = PriorityLevel.values()[priorityLevel.ordinal() + 1];
+        long deadline = millis(created) + thresholds[next.ordinal()];
+        HashedTimingWheel<Due>.Timeout previous = timers.put(taskId, wheel.schedule(new Due(taskId), deadline));
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    private void cancel(Long taskId) {
+        HashedTimingWheel<Due>.Timeout timeout = timers.remove(taskId);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    // The highest level whose age threshold the task has reached
+    private PriorityLevel levelForAge(LocalDateTime created, long now) {
+        long age = now - millis(created);
+        PriorityLevel reached = PriorityLevel.LOW;
+        for (PriorityLevel level : PriorityLevel.values()) {
+            if (age >= thresholds[level.ordinal()]) {
+                reached = level;
+            }
+        }
+        return reached;
+    }
+
+    private static long millis(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,127 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.ActiveTaskCountRow;
+import com.taskmanager.dto.RedistributionResult;
+import com.taskmanager.dto.TaskSummaryDTO;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.User;
+import com.taskmanager.enums.PriorityLevel;
+import com.taskmanager.event.TasksReassignedEvent;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.TaskSpecifications;
+import com.taskmanager.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Hands all active tasks of one user to the other available users in a single pass: one capacity
+// snapshot and the same first-fit rule as TaskService.createTasks. Tasks are read and moved a page at a
+// time, each page with one UPDATE; tasks nobody has room for go back to the claim queue.
+@Service
+@Transactional
+public class TaskRedistributor {
+
+    private static final int MAX_ACTIVE_TASKS = 3;
+
+    // Most urgent first, so they are the ones placed when capacity runs out; tasks without a priority last
+    private static final List<Specification<Task>> PLACEMENT_LEVELS = placementLevels();
+
+    // Oldest first within a page
+    private static final Comparator<TaskSummaryDTO> PLACEMENT_ORDER = Comparator
+            .comparing(TaskSummaryDTO::getCreationTimestamp, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(TaskSummaryDTO::getId);
+
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TaskRedistributor(TaskRepository taskRepository, UserRepository userRepository,
+                             ApplicationEventPublisher eventPublisher) {
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    private static List<Specification<Task>> placementLevels() {
+        List<Specification<Task>> levels = new ArrayList<>();
+        PriorityLevel[] priorities = PriorityLevel.values();
+        for (int i = priorities.length - 1; i >= 0; i--) {
+            levels.add(TaskSpecifications.priorityIn(List.of(priorities[i])));
+        }
+        levels.add(TaskSpecifications.noPriority());
+        return levels;
+    }
+
+    public RedistributionResult redistributeActiveTasks(Long userId) {
+        Specification<Task> active = TaskSpecifications.assignedTo(userId).and(TaskSpecifications.done(false));
+        List<Long> candidates = null;
+        Map<Long, Long> activeByUser = new HashMap<>();
+        Set<Long> targets = new LinkedHashSet<>();
+        int next = 0;
+        int reassigned = 0;
+        int unassigned = 0;
+        for (Specification<Task> level : PLACEMENT_LEVELS) {
+            List<TaskSummaryDTO> page;
+            long lastId = 0;
+            do {
+                page = new ArrayList<>(taskRepository.searchSummaries(
+                        active.and(level).and(TaskSpecifications.idAfter(lastId)), UserService.DELETE_PAGE_SIZE));
+                if (page.isEmpty()) {
+                    break;
+                }
+                lastId = page.get(page.size() - 1).getId();
+                if (candidates == null) {
+                    candidates = loadCandidates(userId, activeByUser);
+                }
+                page.sort(PLACEMENT_ORDER);
+
+                Map<Long, Long> assignees = new LinkedHashMap<>();
+                for (TaskSummaryDTO task : page) {
+                    while (next < candidates.size() && activeByUser.getOrDefault(candidates.get(next), 0L) >= MAX_ACTIVE_TASKS) {
+                        next++;
+                    }
+                    Long assignee = next < candidates.size() ? candidates.get(next) : null;
+                    assignees.put(task.getId(), assignee);
+                    if (assignee != null) {
+                        activeByUser.merge(assignee, 1L, Long::sum);
+                        targets.add(assignee);
+                        reassigned++;
+                    } else {
+                        unassigned++;
+                    }
+                }
+                taskRepository.reassign(assignees);
+                eventPublisher.publishEvent(new TasksReassignedEvent(page, assignees));
+            } while (page.size() == UserService.DELETE_PAGE_SIZE);
+        }
+
+        if (!targets.isEmpty()) {
+            userRepository.recalculateAvailability(targets);
+        }
+        return new RedistributionResult(reassigned, unassigned, targets.size());
+    }
+
+    // Other available users in assignment order, with their active task counts filled into activeByUser
+    private List<Long> loadCandidates(Long userId, Map<Long, Long> activeByUser) {
+        List<Long> candidates = userRepository.findAvailableUsers().stream()
+                .map(User::getId)
+                .filter(id -> !id.equals(userId))
+                .toList();
+        if (!candidates.isEmpty()) {
+            for (ActiveTaskCountRow row : taskRepository.countActiveGroupedByAssignee(candidates)) {
+                activeByUser.put(row.getAssigneeId(), row.getCount());
+            }
+        }
+        return candidates;
+    }
+}
@@ -1,108 +1,315 @@
 package com.taskmanager.service;
 
 import com.taskmanager.entity.Task;
+import com.taskmanager.entity.TaskArchive;
 import com.taskmanager.entity.User;
 import com.taskmanager.enums.PriorityLevel;
 import com.taskmanager.enums.AvailabilityStatus;
+import com.taskmanager.dto.BulkTaskRequest;
+import com.taskmanager.dto.BulkTaskResult;
+import com.taskmanager.dto.CreateTaskRequest;
 import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.dto.TaskSearchFilter;
+import com.taskmanager.dto.TaskSearchPage;
+import com.taskmanager.dto.TaskSummaryDTO;
+import com.taskmanager.dto.TaskTextSearchPage;
+import com.taskmanager.dto.UpdateTaskRequest;
+import com.taskmanager.dto.Versioned;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.event.TasksDoneChangedEvent;
+import com.taskmanager.event.TasksRemovedEvent;
+import com.taskmanager.repository.TaskArchiveRepository;
 import com.taskmanager.repository.TaskRepository;
 import com.taskmanager.repository.UserRepository;
 import com.taskmanager.exception.ResourceNotFoundException;
 import com.taskmanager.exception.BusinessLogicException;
+import com.taskmanager.exception.PreconditionFailedException;
+import com.taskmanager.exception.ValidationException;
+import com.taskmanager.mapper.TaskMapper;
+import com.taskmanager.readmodel.TaskReadModel;
+import com.taskmanager.repository.TaskSpecifications;
+import com.taskmanager.search.TaskSearchIndex;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class TaskService {
 
+    private static final int MAX_SEARCH_PAGE_SIZE = 200;
+    private static final int MAX_TEXT_SEARCH_DEPTH = 10_000;
+    // Shared with TaskCreationBatcher, so batched and single creations fail alike
+    static final String NO_AVAILABLE_USERS = "Нет доступных пользователей для назначения задачи";
+    static final String NO_USER_CAPACITY = "Все доступные пользователи имеют 3 активные задачи";
+
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
-
-    public TaskService(TaskRepository taskRepository, UserRepository userRepository) {
+    private final TaskArchiveRepository taskArchiveRepository;
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskCounters taskCounters;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SingleFlight singleFlight;
+    private final TaskReadModel taskReadModel;
+
+    public TaskService(TaskRepository taskRepository, UserRepository userRepository,
+                       TaskArchiveRepository taskArchiveRepository, TaskSearchIndex taskSearchIndex,
+                       TaskCounters taskCounters, ApplicationEventPublisher eventPublisher,
+                       SingleFlight singleFlight, TaskReadModel taskReadModel) {
         this.taskRepository = taskRepository;
         this.userRepository = userRepository;
+        this.taskArchiveRepository = taskArchiveRepository;
+        this.taskSearchIndex = taskSearchIndex;
+        this.taskCounters = taskCounters;
+        this.eventPublisher = eventPublisher;
+        this.singleFlight = singleFlight;
+        this.taskReadModel = taskReadModel;
     }
 
     public List<TaskDTO> getAllTasks() {
-        return taskRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return getAllTasks(false);
     }
 
-    public TaskDTO getTaskById(Long id) {
-        Task task = taskRepository.findById(id)
+    public List<TaskDTO> getAllTasks(boolean includeArchived) {
+        Stream<TaskDTO> tasks = taskRepository.findAll().stream()
+                .map(TaskMapper::toDTO);
+        if (includeArchived) {
+            tasks = Stream.concat(tasks, taskArchiveRepository.findAll().stream()
+                    .map(TaskMapper::toDTO));
+        }
+        return tasks.collect(Collectors.toList());
+    }
+
+    // Bodies carry the version of the rows they were built from. The read model answers only when it knows
+    // those versions, so its ETags never pair a lagging body with the database's newer version.
+    public Versioned<TaskDTO> getTaskById(Long id) {
+        return taskReadModel.findVersionedTask(id).orElseGet(() -> {
+            Task task = taskRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Задача не найдена с ID: " + id));
+            return new Versioned<>(TaskMapper.toDTO(task), versionStamp(task));
+        });
+    }
+
+    public String getTaskVersion(Long id) {
+        return taskReadModel.findTaskVersion(id)
+                .or(() -> taskRepository.findVersionStampById(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Задача не найдена с ID: " + id));
-        return convertToDTO(task);
     }
 
-    public TaskDTO createTask(Task task) {
+    public String getTasksVersionStamp(boolean includeArchived) {
+        String stamp = taskRepository.computeVersionStamp();
+        // Archived rows are never modified, their count is enough to detect changes
+        return includeArchived ? stamp + "-" + taskArchiveRepository.count() : stamp;
+    }
+
+    public String getTasksByPriorityVersionStamp(PriorityLevel priorityLevel) {
+        return taskReadModel.findTasksByPriorityVersion(priorityLevel)
+                .orElseGet(() -> taskRepository.computeVersionStampByPriority(priorityLevel));
+    }
+
+    public String getTasksByAssigneeVersionStamp(Long userId, boolean includeArchived) {
+        if (!includeArchived) {
+            return taskReadModel.findTasksByAssigneeVersion(userId)
+                    .orElseGet(() -> taskRepository.computeVersionStampByAssignee(userId));
+        }
+        return taskRepository.computeVersionStampByAssignee(userId) + "-" + taskArchiveRepository.countByAssignedUserId(userId);
+    }
+
+    public TaskDTO createTask(CreateTaskRequest request) {
+        return createTask(request, true);
+    }
+
+    public TaskDTO createTask(CreateTaskRequest request, boolean autoAssign) {
+        return createTask(request, autoAssign, null);
+    }
+
+    // Auto-assigned creation on behalf of actor, for callers that run off the request thread
+    public TaskDTO createTask(CreateTaskRequest request, String actor) {
+        return createTask(request, true, actor);
+    }
+
+    private TaskDTO createTask(CreateTaskRequest request, boolean autoAssign, String actor) {
+        if (!autoAssign) {
+            // Left unassigned for workers to pick up with claimNextTask
+            Task savedTask = taskRepository.save(new Task(request.title(), request.description(), request.priorityLevel(), null));
+            TaskDTO created = TaskMapper.toDTO(savedTask);
+            eventPublisher.publishEvent(new TaskChangedEvent(null, created));
+            return created;
+        }
+
         // Auto-assign to an available user with less than 3 active tasks
         List<User> availableUsers = userRepository.findAvailableUsers();
         if (availableUsers.isEmpty()) {
-            throw new BusinessLogicException("Нет доступных пользователей для назначения задачи");
+            throw new BusinessLogicException(NO_AVAILABLE_USERS);
         }
 
         User assignee = null;
+        long assigneeActive = 0;
         for (User u : availableUsers) {
-            long activeCount = taskRepository.countActiveTasksByUserId(u.getId());
+            long activeCount = taskCounters.activeTasks(u.getId());
             if (activeCount < 3) {
                 assignee = u;
+                assigneeActive = activeCount;
                 break;
             }
         }
 
         if (assignee == null) {
-            throw new BusinessLogicException("Все доступные пользователи имеют 3 активные задачи");
+            throw new BusinessLogicException(NO_USER_CAPACITY);
         }
 
-        task.setAssignedUser(assignee);
-        task.setDone(false);
-        task.setCreationTimestamp(LocalDateTime.now());
-
+        Task task = new Task(request.title(), request.description(), request.priorityLevel(), assignee);
         Task savedTask = taskRepository.save(task);
 
-        // After assignment, if this is the 3rd active task, mark user BUSY
-        long activeAfter = taskRepository.countActiveTasksByUserId(assignee.getId());
+        // After assignment, if this is the 3rd active task, mark user BUSY.
+        // Counters only see committed changes, so the new task is added here
+        long activeAfter = assigneeActive + 1;
         if (activeAfter >= 3) {
             assignee.setAvailabilityStatus(AvailabilityStatus.BUSY);
             userRepository.save(assignee);
         }
 
-        return convertToDTO(savedTask);
+        TaskDTO created = TaskMapper.toDTO(savedTask);
+        eventPublisher.publishEvent(new TaskChangedEvent(null, created, actor));
+        return created;
+    }
+
+    // Same assignment rule as createTask for a whole batch: one user scan, one transaction, batched inserts.
+    // actors.get(i) is the user who sent requests.get(i). An entry is null when no user had capacity left
+    // for that request
+    public List<TaskDTO> createTasks(List<CreateTaskRequest> requests, List<String> actors) {
+        List<User> availableUsers = userRepository.findAvailableUsers();
+        if (availableUsers.isEmpty()) {
+            throw new BusinessLogicException(NO_AVAILABLE_USERS);
+        }
+        long[] active = new long[availableUsers.size()];
+        for (int i = 0; i < active.length; i++) {
+            active[i] = taskCounters.activeTasks(availableUsers.get(i).getId());
+        }
+
+        List<Task> tasks = new ArrayList<>(requests.size());
+        List<User> becameBusy = new ArrayList<>();
+        int next = 0;
+        for (CreateTaskRequest request : requests) {
+            while (next < active.length && active[next] >= 3) {
+                next++;
+            }
+            if (next == active.length) {
+                tasks.add(null);
+                continue;
+            }
+            User assignee = availableUsers.get(next);
+            tasks.add(new Task(request.title(), request.description(), request.priorityLevel(), assignee));
+            if (++active[next] >= 3) {
+                assignee.setAvailabilityStatus(AvailabilityStatus.BUSY);
+                becameBusy.add(assignee);
+            }
+        }
+
+        taskRepository.saveAll(tasks.stream().filter(Objects::nonNull).toList());
+        userRepository.saveAll(becameBusy);
+
+        List<TaskDTO> created = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            TaskDTO dto = tasks.get(i) != null ? TaskMapper.toDTO(tasks.get(i)) : null;
+            if (dto != null) {
+                eventPublisher.publishEvent(new TaskChangedEvent(null, dto, actors.get(i)));
+            }
+            created.add(dto);
+        }
+        return created;
+    }
+
+    public Optional<TaskDTO> claimNextTask(String username) {
+        // Locking the caller's row serializes only this user's claims, other users never wait on it
+        User user = userRepository.findByUsernameForUpdate(username)
+                .orElseThrow(() -> new ResourceNotFoundException("Пользователь не найден: " + username));
+        if (user.getAvailabilityStatus() == AvailabilityStatus.OFFLINE) {
+            throw new BusinessLogicException("Пользователь не в сети и не может брать задачи");
+        }
+
+        // Counted in the database: counters lag behind a claim committed by a request that held the lock before us
+        long active = taskRepository.countActiveTasksByUserId(user.getId());
+        if (active >= 3) {
+            throw new BusinessLogicException("У пользователя уже 3 активные задачи");
+        }
+
+        List<Task> claimable = taskRepository.findClaimable(PageRequest.of(0, 1));
+        if (claimable.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Task task = claimable.get(0);
+        TaskDTO before = TaskMapper.toDTO(task);
+        task.setAssignedUser(user);
+        Task claimedTask = taskRepository.save(task);
+
+        if (active + 1 >= 3) {
+            user.setAvailabilityStatus(AvailabilityStatus.BUSY);
+            userRepository.save(user);
+        }
+
+        TaskDTO after = TaskMapper.toDTO(claimedTask);
+        eventPublisher.publishEvent(new TaskChangedEvent(before, after));
+        return Optional.of(after);
+    }
+
+    public TaskDTO updateTask(Long id, UpdateTaskRequest request) {
+        return updateTask(id, request, null);
     }
 
-    public TaskDTO updateTask(Long id, Task taskDetails) {
+    public TaskDTO updateTask(Long id, UpdateTaskRequest request, Long expectedVersion) {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Задача не найдена с ID: " + id));
 
-        task.setTitle(taskDetails.getTitle());
-        task.setDescription(taskDetails.getDescription());
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new PreconditionFailedException("Задача была изменена, текущая версия: " + task.getVersion());
+        }
+
+        TaskDTO before = TaskMapper.toDTO(task);
+        task.setTitle(request.title());
+        task.setDescription(request.description());
 
         Task updatedTask = taskRepository.save(task);
-        return convertToDTO(updatedTask);
+        TaskDTO after = TaskMapper.toDTO(updatedTask);
+        eventPublisher.publishEvent(new TaskChangedEvent(before, after));
+        return after;
     }
 
     public TaskDTO updateTaskDone(Long id, boolean done) {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Задача не найдена с ID: " + id));
 
+        TaskDTO before = TaskMapper.toDTO(task);
+        boolean wasDone = task.isDone();
         task.setDone(done);
+        task.setCompletionTimestamp(done ? LocalDateTime.now() : null);
         Task updatedTask = taskRepository.save(task);
 
         // Recalculate availability for the assigned user
         if (updatedTask.getAssignedUser() != null) {
             User assigned = updatedTask.getAssignedUser();
-            long active = taskRepository.countActiveTasksByUserId(assigned.getId());
-            assigned.setAvailabilityStatus(active >= 3 ? AvailabilityStatus.BUSY : AvailabilityStatus.AVAILABLE);
-            userRepository.save(assigned);
+            long active = taskCounters.activeTasks(assigned.getId()) + (wasDone == done ? 0 : done ? -1 : 1);
+            updateAvailability(assigned, active);
         }
 
-        return convertToDTO(updatedTask);
+        TaskDTO after = TaskMapper.toDTO(updatedTask);
+        eventPublisher.publishEvent(new TaskChangedEvent(before, after));
+        return after;
     }
 
     public void deleteTask(Long id) {
@@ -110,84 +317,266 @@ public class TaskService {
                 .orElseThrow(() -> new ResourceNotFoundException("Задача не найдена с ID: " + id));
         
         User assignedUser = task.getAssignedUser();
+        TaskDTO before = TaskMapper.toDTO(task);
         taskRepository.delete(task);
+        eventPublisher.publishEvent(new TaskChangedEvent(before, null));
         
         // Recalculate availability for the assigned user after deletion
         if (assignedUser != null) {
-            long active = taskRepository.countActiveTasksByUserId(assignedUser.getId());
-            assignedUser.setAvailabilityStatus(active >= 3 ? AvailabilityStatus.BUSY : AvailabilityStatus.AVAILABLE);
-            userRepository.save(assignedUser);
+            long active = taskCounters.activeTasks(assignedUser.getId()) - (task.isDone() ? 0 : 1);
+            updateAvailability(assignedUser, active);
         }
     }
 
-    public List<TaskDTO> getTasksByPriority(PriorityLevel priorityLevel) {
-        return taskRepository.findByPriorityLevel(priorityLevel).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    // Runs outside the class-level transaction so concurrent callers can share one query
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Versioned<List<TaskDTO>> getTasksByPriority(PriorityLevel priorityLevel) {
+        return taskReadModel.findVersionedTasksByPriority(priorityLevel).orElseGet(() ->
+                singleFlight.execute("TaskService.getTasksByPriority:" + priorityLevel,
+                        () -> versioned(taskRepository.findByPriorityLevel(priorityLevel))));
     }
 
-    public List<TaskDTO> getTasksByAssignee(Long userId) {
+    public Versioned<List<TaskDTO>> getTasksByAssignee(Long userId) {
+        return getTasksByAssignee(userId, false);
+    }
+
+    public Versioned<List<TaskDTO>> getTasksByAssignee(Long userId, boolean includeArchived) {
+        if (!includeArchived) {
+            Optional<Versioned<List<TaskDTO>>> fromReadModel = taskReadModel.findVersionedTasksByAssignee(userId);
+            if (fromReadModel.isPresent()) {
+                return fromReadModel.get();
+            }
+        }
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Пользователь не найден с ID: " + userId));
-        return taskRepository.findByAssignedUser(user).stream()
-                .map(this::convertToDTO)
+        Versioned<List<TaskDTO>> active = versioned(taskRepository.findByAssignedUser(user));
+        if (!includeArchived) {
+            return active;
+        }
+        List<TaskArchive> archived = taskArchiveRepository.findByAssignedUserId(userId);
+        List<TaskDTO> tasks = Stream.concat(active.body().stream(), archived.stream().map(TaskMapper::toDTO))
+                .collect(Collectors.toList());
+        return new Versioned<>(tasks, active.version() + "-" + archived.size());
+    }
+
+    private static Versioned<List<TaskDTO>> versioned(List<Task> tasks) {
+        long maxId = tasks.stream().mapToLong(Task::getId).max().orElse(0);
+        String version = Versioned.listStamp(tasks.size(), maxId,
+                Versioned.sum(tasks, task -> versionOf(task.getVersion())),
+                Versioned.sum(tasks, TaskService::assigneeVersion));
+        return new Versioned<>(tasks.stream().map(TaskMapper::toDTO).toList(), version);
+    }
+
+    // Same format as TaskRepository.findVersionStampById
+    private static String versionStamp(Task task) {
+        return Versioned.taskStamp(versionOf(task.getVersion()), assigneeVersion(task));
+    }
+
+    private static long assigneeVersion(Task task) {
+        User assignee = task.getAssignedUser();
+        return assignee != null ? versionOf(assignee.getVersion()) : 0;
+    }
+
+    private static long versionOf(Long version) {
+        return version != null ? version : 0;
+    }
+
+    @Transactional(readOnly = true)
+    public TaskSearchPage searchTasks(TaskSearchFilter filter, Long cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_SEARCH_PAGE_SIZE));
+        Specification<Task> spec = toSpecification(filter);
+        if (cursor != null) {
+            spec = spec.and(TaskSpecifications.idAfter(cursor));
+        }
+
+        // One extra row tells whether another page exists without a COUNT query
+        List<TaskSummaryDTO> rows = taskRepository.searchSummaries(spec, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new TaskSearchPage(rows, null);
+        }
+        List<TaskSummaryDTO> items = rows.subList(0, pageSize);
+        return new TaskSearchPage(new ArrayList<>(items), items.get(pageSize - 1).getId());
+    }
+
+    private Specification<Task> toSpecification(TaskSearchFilter filter) {
+        if (filter.getCreatedFrom() != null && filter.getCreatedTo() != null
+                && filter.getCreatedFrom().isAfter(filter.getCreatedTo())) {
+            throw new ValidationException("Начало периода позже его окончания");
+        }
+
+        List<Specification<Task>> conditions = new ArrayList<>();
+        if (filter.getPriority() != null && !filter.getPriority().isEmpty()) {
+            conditions.add(TaskSpecifications.priorityIn(filter.getPriority()));
+        }
+        if (filter.getAssigneeId() != null) {
+            conditions.add(TaskSpecifications.assignedTo(filter.getAssigneeId()));
+        }
+        if (filter.getDone() != null) {
+            conditions.add(TaskSpecifications.done(filter.getDone()));
+        }
+        if (filter.getCreatedFrom() != null) {
+            conditions.add(TaskSpecifications.createdFrom(filter.getCreatedFrom()));
+        }
+        if (filter.getCreatedTo() != null) {
+            conditions.add(TaskSpecifications.createdBefore(filter.getCreatedTo()));
+        }
+        return Specification.allOf(conditions);
+    }
+
+    public BulkTaskResult updateTasksDone(BulkTaskRequest request) {
+        boolean done = request.done();
+
+        // Only tasks whose flag actually changes are touched
+        List<TaskSummaryDTO> changing = findBulkTargets(request, TaskSpecifications.done(!done));
+        if (changing.isEmpty()) {
+            return new BulkTaskResult(0, 0);
+        }
+
+        List<Long> ids = changing.stream()
+                .map(TaskSummaryDTO::getId)
+                .collect(Collectors.toList());
+        int updated = taskRepository.updateDone(
+                TaskSpecifications.idIn(ids).and(TaskSpecifications.done(!done)),
+                done, done ? LocalDateTime.now() : null);
+        int users = recalculateAvailability(changing);
+
+        eventPublisher.publishEvent(new TasksDoneChangedEvent(changing, done));
+        return new BulkTaskResult(updated, users);
+    }
+
+    public BulkTaskResult deleteTasks(BulkTaskRequest request) {
+        List<TaskSummaryDTO> removing = findBulkTargets(request, null);
+        if (removing.isEmpty()) {
+            return new BulkTaskResult(0, 0);
+        }
+
+        List<Long> ids = removing.stream()
+                .map(TaskSummaryDTO::getId)
                 .collect(Collectors.toList());
+        int deleted = taskRepository.deleteMatching(TaskSpecifications.idIn(ids));
+        int users = recalculateAvailability(removing);
+
+        eventPublisher.publishEvent(new TasksRemovedEvent(removing));
+        return new BulkTaskResult(deleted, users);
+    }
+
+    // Resolves the selection to concrete rows first so the statements, the status
+    // recalculation and the published event all agree on the same set of tasks.
+    // The request itself is validated by the controller: ids or filter, at most MAX_TASKS ids.
+    private List<TaskSummaryDTO> findBulkTargets(BulkTaskRequest request, Specification<Task> extra) {
+        Specification<Task> spec;
+        if (request.ids() != null) {
+            spec = TaskSpecifications.idIn(request.ids());
+        } else {
+            TaskSearchFilter filter = request.filter();
+            if ((filter.getPriority() == null || filter.getPriority().isEmpty()) && filter.getAssigneeId() == null
+                    && filter.getDone() == null && filter.getCreatedFrom() == null && filter.getCreatedTo() == null) {
+                throw new ValidationException("Фильтр должен содержать хотя бы одно условие");
+            }
+            spec = toSpecification(filter);
+        }
+        if (extra != null) {
+            spec = spec.and(extra);
+        }
+
+        List<TaskSummaryDTO> rows = taskRepository.searchSummaries(spec, BulkTaskRequest.MAX_TASKS + 1);
+        if (rows.size() > BulkTaskRequest.MAX_TASKS) {
+            throw new ValidationException("Можно изменить не более " + BulkTaskRequest.MAX_TASKS + " задач за один запрос");
+        }
+        return rows;
+    }
+
+    // An OFFLINE user keeps that status until they come back online, whatever happens to their tasks
+    private void updateAvailability(User user, long active) {
+        if (user.getAvailabilityStatus() != AvailabilityStatus.OFFLINE) {
+            user.setAvailabilityStatus(active >= 3 ? AvailabilityStatus.BUSY : AvailabilityStatus.AVAILABLE);
+            userRepository.save(user);
+        }
+    }
+
+    private int recalculateAvailability(List<TaskSummaryDTO> tasks) {
+        Set<Long> userIds = tasks.stream()
+                .map(TaskSummaryDTO::getAssignedUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (!userIds.isEmpty()) {
+            userRepository.recalculateAvailability(userIds);
+        }
+        return userIds.size();
     }
 
+    @Transactional(readOnly = true)
+    public TaskTextSearchPage searchTasksByText(String text, int page, int size) {
+        if (text == null || text.isBlank()) {
+            throw new ValidationException("Поисковый запрос не может быть пустым");
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_SEARCH_PAGE_SIZE));
+        int offset = Math.max(0, page) * pageSize;
+        if (offset + pageSize > MAX_TEXT_SEARCH_DEPTH) {
+            throw new ValidationException("Слишком дальняя страница, уточните запрос");
+        }
+
+        TaskSearchIndex.Hits hits = taskSearchIndex.search(text, offset, pageSize);
+        if (hits.taskIds().isEmpty()) {
+            return new TaskTextSearchPage(List.of(), page, pageSize, hits.totalHits());
+        }
+
+        // Load current rows and keep the index rank order; ids deleted since indexing are skipped
+        Map<Long, Task> tasks = taskRepository.findAllWithAssigneeByIdIn(hits.taskIds()).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        List<TaskDTO> items = hits.taskIds().stream()
+                .map(tasks::get)
+                .filter(Objects::nonNull)
+                .map(TaskMapper::toDTO)
+                .collect(Collectors.toList());
+        return new TaskTextSearchPage(items, page, pageSize, hits.totalHits());
+    }
 
     public TaskDTO assignTaskToAvailableUser(Long taskId) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Задача не найдена с ID: " + taskId));
 
         User previousAssignee = task.getAssignedUser();
-        
+        TaskDTO before = TaskMapper.toDTO(task);
+
         List<User> availableUsers = userRepository.findAvailableUsers();
         if (availableUsers.isEmpty()) {
-            throw new BusinessLogicException("Нет доступных пользователей для назначения задачи");
+            throw new BusinessLogicException(NO_AVAILABLE_USERS);
         }
 
         // Choose first available user with < 3 active tasks
         User chosen = null;
+        long chosenActive = 0;
         for (User u : availableUsers) {
-            long active = taskRepository.countActiveTasksByUserId(u.getId());
+            long active = taskCounters.activeTasks(u.getId());
             if (active < 3) {
                 chosen = u;
+                chosenActive = active;
                 break;
             }
         }
 
         if (chosen == null) {
-            throw new BusinessLogicException("Все доступные пользователи имеют 3 активные задачи");
+            throw new BusinessLogicException(NO_USER_CAPACITY);
         }
 
         task.setAssignedUser(chosen);
         Task updatedTask = taskRepository.save(task);
 
         // Recalculate availability for the new assignee
-        long activeAfter = taskRepository.countActiveTasksByUserId(chosen.getId());
+        boolean reassigned = previousAssignee == null || !previousAssignee.getId().equals(chosen.getId());
+        long activeAfter = chosenActive + (reassigned && !task.isDone() ? 1 : 0);
         chosen.setAvailabilityStatus(activeAfter >= 3 ? AvailabilityStatus.BUSY : AvailabilityStatus.AVAILABLE);
         userRepository.save(chosen);
 
         // Recalculate availability for the previous assignee (if any)
         if (previousAssignee != null && !previousAssignee.getId().equals(chosen.getId())) {
-            long previousActive = taskRepository.countActiveTasksByUserId(previousAssignee.getId());
-            previousAssignee.setAvailabilityStatus(previousActive >= 3 ? AvailabilityStatus.BUSY : AvailabilityStatus.AVAILABLE);
-            userRepository.save(previousAssignee);
+            long previousActive = taskCounters.activeTasks(previousAssignee.getId()) - (task.isDone() ? 0 : 1);
+            updateAvailability(previousAssignee, previousActive);
         }
 
-        return convertToDTO(updatedTask);
-    }
-
-    private TaskDTO convertToDTO(Task task) {
-        return new TaskDTO(
-                task.getId(),
-                task.getTitle(),
-                task.getDescription(),
-                task.getPriorityLevel(),
-                task.getCreationTimestamp(),
-                task.getAssignedUser() != null ? task.getAssignedUser().getId() : null,
-                task.getAssignedUser() != null ? task.getAssignedUser().getUsername() : null,
-                task.isDone()
-        );
+        TaskDTO after = TaskMapper.toDTO(updatedTask);
+        eventPublisher.publishEvent(new TaskChangedEvent(before, after));
+        return after;
     }
-}
\ No newline at end of file
+}
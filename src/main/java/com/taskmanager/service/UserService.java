@@ -1,14 +1,27 @@
 package com.taskmanager.service;
 
+import com.taskmanager.entity.Task;
 import com.taskmanager.entity.User;
 import com.taskmanager.enums.AvailabilityStatus;
 import com.taskmanager.dto.UserDTO;
 import com.taskmanager.dto.CreateUserRequest;
+import com.taskmanager.dto.RedistributionResult;
+import com.taskmanager.dto.TaskSummaryDTO;
+import com.taskmanager.dto.Versioned;
+import com.taskmanager.event.TasksRemovedEvent;
+import com.taskmanager.event.UserChangedEvent;
+import com.taskmanager.mapper.UserMapper;
+import com.taskmanager.readmodel.TaskReadModel;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.TaskSpecifications;
 import com.taskmanager.repository.UserRepository;
 import com.taskmanager.exception.ResourceNotFoundException;
 import com.taskmanager.exception.ValidationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -18,24 +31,54 @@ import java.util.stream.Collectors;
 @Transactional
 public class UserService {
 
+    // Also the page size of TaskRedistributor
+    static final int DELETE_PAGE_SIZE = 1000;
+
     private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
+    private final TaskRedistributor taskRedistributor;
     private final PasswordEncoder passwordEncoder;
-
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    private final ApplicationEventPublisher eventPublisher;
+    private final SingleFlight singleFlight;
+    private final TaskReadModel taskReadModel;
+
+    public UserService(UserRepository userRepository, TaskRepository taskRepository,
+                       TaskRedistributor taskRedistributor, PasswordEncoder passwordEncoder,
+                       ApplicationEventPublisher eventPublisher, SingleFlight singleFlight,
+                       TaskReadModel taskReadModel) {
         this.userRepository = userRepository;
+        this.taskRepository = taskRepository;
+        this.taskRedistributor = taskRedistributor;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
+        this.singleFlight = singleFlight;
+        this.taskReadModel = taskReadModel;
     }
 
     public List<UserDTO> getAllUsers() {
         return userRepository.findAll().stream()
-                .map(this::convertToDTO)
+                .map(UserMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
     public UserDTO getUserById(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Пользователь не найден с ID: " + id));
-        return convertToDTO(user);
+        return UserMapper.toDTO(user);
+    }
+
+    public long getUserVersion(Long id) {
+        return userRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Пользователь не найден с ID: " + id));
+    }
+
+    public String getUsersVersionStamp() {
+        return userRepository.computeVersionStamp();
+    }
+
+    public String getAvailableUsersVersionStamp() {
+        return taskReadModel.findAvailableUsersVersion()
+                .orElseGet(userRepository::computeAvailableVersionStamp);
     }
 
     public UserDTO createUser(CreateUserRequest request) {
@@ -55,7 +98,9 @@ public class UserService {
         user.setAvailabilityStatus(AvailabilityStatus.AVAILABLE);
 
         User savedUser = userRepository.save(user);
-        return convertToDTO(savedUser);
+        UserDTO created = UserMapper.toDTO(savedUser);
+        eventPublisher.publishEvent(new UserChangedEvent(null, created));
+        return created;
     }
 
     public UserDTO updateUser(Long id, CreateUserRequest request) {
@@ -67,6 +112,7 @@ public class UserService {
             throw new ValidationException("Email уже существует: " + request.getEmail());
         }
 
+        UserDTO before = UserMapper.toDTO(user);
         user.setUsername(request.getUsername());
         user.setEmail(request.getEmail());
         if (request.getPassword() != null && !request.getPassword().isEmpty()) {
@@ -74,27 +120,84 @@ public class UserService {
         }
 
         User updatedUser = userRepository.save(user);
-        return convertToDTO(updatedUser);
+        UserDTO after = UserMapper.toDTO(updatedUser);
+        eventPublisher.publishEvent(new UserChangedEvent(before, after));
+        return after;
     }
 
     public void deleteUser(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Пользователь не найден с ID: " + id));
+        UserDTO before = UserMapper.toDTO(user);
+
+        // Set-based instead of a cascade over the user's tasks: active ones move to other users,
+        // completed ones are deleted a page at a time, each page with one DELETE and one removal event
+        taskRedistributor.redistributeActiveTasks(id);
+        Specification<Task> completed = TaskSpecifications.assignedTo(id).and(TaskSpecifications.done(true));
+        List<TaskSummaryDTO> page;
+        long lastId = 0;
+        do {
+            page = taskRepository.searchSummaries(completed.and(TaskSpecifications.idAfter(lastId)), DELETE_PAGE_SIZE);
+            if (page.isEmpty()) {
+                break;
+            }
+            List<Long> ids = page.stream()
+                    .map(TaskSummaryDTO::getId)
+                    .collect(Collectors.toList());
+            taskRepository.deleteMatching(TaskSpecifications.idIn(ids));
+            eventPublisher.publishEvent(new TasksRemovedEvent(page));
+            lastId = ids.get(ids.size() - 1);
+        } while (page.size() == DELETE_PAGE_SIZE);
+
         userRepository.delete(user);
+        eventPublisher.publishEvent(new UserChangedEvent(before, null));
     }
 
-    public List<UserDTO> getAvailableUsers() {
-        return userRepository.findAvailableUsers().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    // Takes the user out of assignment; their active tasks go to other users in the same transaction
+    public RedistributionResult goOffline(Long id) {
+        User user = userRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Пользователь не найден с ID: " + id));
+        UserDTO before = UserMapper.toDTO(user);
+        user.setAvailabilityStatus(AvailabilityStatus.OFFLINE);
+        user.setManuallyOffline(true);
+        userRepository.save(user);
+
+        // Also run for a user who is already offline, in case a task reached them in the meantime
+        RedistributionResult result = taskRedistributor.redistributeActiveTasks(id);
+        if (before.availabilityStatus() != AvailabilityStatus.OFFLINE) {
+            eventPublisher.publishEvent(new UserChangedEvent(before, UserMapper.toDTO(user)));
+        }
+        return result;
+    }
+
+    public UserDTO goOnline(Long id) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Пользователь не найден с ID: " + id));
+        if (user.getAvailabilityStatus() != AvailabilityStatus.OFFLINE) {
+            return UserMapper.toDTO(user);
+        }
+
+        UserDTO before = UserMapper.toDTO(user);
+        long active = taskRepository.countActiveTasksByUserId(id);
+        user.setAvailabilityStatus(active >= 3 ? AvailabilityStatus.BUSY : AvailabilityStatus.AVAILABLE);
+        user.setManuallyOffline(false);
+        User updatedUser = userRepository.save(user);
+        UserDTO after = UserMapper.toDTO(updatedUser);
+        eventPublisher.publishEvent(new UserChangedEvent(before, after));
+        return after;
     }
 
-    private UserDTO convertToDTO(User user) {
-        return new UserDTO(
-                user.getId(),
-                user.getUsername(),
-                user.getEmail(),
-                user.getAvailabilityStatus()
-        );
+    // Runs outside the class-level transaction so concurrent callers can share one query
+    @Transactional(propagation = Propagation.SUPPORTS)
+    // The version describes the rows in the body, in the format of UserRepository.computeAvailableVersionStamp
+    public Versioned<List<UserDTO>> getAvailableUsers() {
+        return taskReadModel.findVersionedAvailableUsers().orElseGet(() ->
+                singleFlight.execute("UserService.getAvailableUsers", () -> {
+                    List<User> users = userRepository.findAvailableUsers();
+                    long maxId = users.stream().mapToLong(User::getId).max().orElse(0);
+                    String version = Versioned.listStamp(users.size(), maxId,
+                            Versioned.sum(users, user -> user.getVersion() != null ? user.getVersion() : 0));
+                    return new Versioned<>(users.stream().map(UserMapper::toDTO).toList(), version);
+                }));
     }
-}
\ No newline at end of file
+}
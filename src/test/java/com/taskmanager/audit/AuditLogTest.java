@@ -0,0 +1,160 @@
+package com.taskmanager.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.dto.TaskSummaryDTO;
+import com.taskmanager.dto.UserDTO;
+import com.taskmanager.enums.AvailabilityStatus;
+import com.taskmanager.enums.PriorityLevel;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.event.TasksDoneChangedEvent;
+import com.taskmanager.event.UserChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditLogTest {
+
+    @TempDir
+    Path dir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void record_WhenDirectoryNotSet_ShouldDoNothing() throws Exception {
+        // Given
+        AuditLog auditLog = auditLog("", 1 << 20);
+
+        // When
+        auditLog.onTaskChanged(new TaskChangedEvent(null, task(1L, "Task")));
+        auditLog.stop();
+
+        // Then
+        assertFalse(auditLog.isEnabled());
+        assertTrue(AuditFormat.segments(dir).isEmpty());
+    }
+
+    @Test
+    void events_ShouldBeWrittenWithActorAndPayloads() throws Exception {
+        // Given
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("alice", null, List.of()));
+        AuditLog auditLog = auditLog(dir.toString(), 1 << 20);
+        TaskDTO created = task(1L, "Task");
+        TaskDTO renamed = task(1L, "Renamed");
+
+        // When
+        auditLog.onTaskChanged(new TaskChangedEvent(null, created));
+        auditLog.onTaskChanged(new TaskChangedEvent(created, renamed));
+        auditLog.onTaskChanged(new TaskChangedEvent(null, task(2L, "Other")));
+        auditLog.onTasksDoneChanged(new TasksDoneChangedEvent(List.of(
+                new TaskSummaryDTO(1L, "Renamed", PriorityLevel.HIGH, LocalDateTime.now(), 7L, false)), true));
+        SecurityContextHolder.clearContext();
+        auditLog.onUserChanged(new UserChangedEvent(null, new UserDTO(1L, "bob", "bob@example.com", AvailabilityStatus.AVAILABLE)));
+        auditLog.stop();
+
+        // Then
+        List<AuditRecord> history = AuditLogReader.findByTask(dir, 1L);
+        assertEquals(List.of(AuditAction.TASK_CREATED, AuditAction.TASK_UPDATED, AuditAction.TASK_DONE_CHANGED),
+                history.stream().map(AuditRecord::action).toList());
+        assertEquals("alice", history.get(0).actor());
+        assertNull(history.get(0).before());
+        assertTrue(history.get(1).before().contains("\"title\":\"Task\""));
+        assertTrue(history.get(1).after().contains("\"title\":\"Renamed\""));
+        assertEquals("{\"done\":true}", history.get(2).after());
+
+        List<AuditRecord> user = AuditLogReader.findByUser(dir, 1L);
+        assertEquals(1, user.size());
+        assertEquals("system", user.get(0).actor());
+        assertEquals(5.0, meterRegistry.get("audit.records").tag("result", "written").counter().count());
+    }
+
+    @Test
+    void taskChanged_WithActor_ShouldRecordItInsteadOfThePublishingThread() throws Exception {
+        // Given
+        AuditLog auditLog = auditLog(dir.toString(), 1 << 20);
+
+        // When
+        auditLog.onTaskChanged(new TaskChangedEvent(null, task(1L, "Task"), "alice"));
+        auditLog.stop();
+
+        // Then
+        assertEquals("alice", AuditLogReader.findByTask(dir, 1L).get(0).actor());
+    }
+
+    @Test
+    void append_ShouldRollSegmentsAndResumeAfterRestart() throws Exception {
+        // Given
+        AuditLog first = auditLog(dir.toString(), 1024);
+        for (long id = 1; id <= 20; id++) {
+            first.onTaskChanged(new TaskChangedEvent(null, task(id, "Task " + id)));
+        }
+        first.stop();
+
+        // When
+        AuditLog second = auditLog(dir.toString(), 1024);
+        second.onTaskChanged(new TaskChangedEvent(null, task(21L, "Task 21")));
+        second.stop();
+
+        // Then
+        assertTrue(AuditFormat.segments(dir).size() > 1);
+        List<Long> sequences = new ArrayList<>();
+        AuditLogReader.replay(dir, record -> sequences.add(record.sequence()));
+        assertEquals(21, sequences.size());
+        for (int i = 0; i < sequences.size(); i++) {
+            assertEquals(i + 1, sequences.get(i));
+        }
+        assertEquals(21L, AuditLogReader.findByTask(dir, 21L).get(0).sequence());
+    }
+
+    @Test
+    void read_ShouldStopAtTornRecord() {
+        // Given
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        AuditFormat.write(buffer, 1, 0, AuditAction.TASK_CREATED, 1, AuditFormat.encode("alice"), null, AuditFormat.encode("{}"));
+        int second = buffer.position();
+        AuditFormat.write(buffer, 2, 0, AuditAction.TASK_DELETED, 1, AuditFormat.encode("alice"), AuditFormat.encode("{}"), null);
+        buffer.put(second + 20, (byte) 0x7F);
+
+        // When
+        buffer.position(0);
+        AuditRecord first = AuditFormat.read(buffer);
+        AuditRecord torn = AuditFormat.read(buffer);
+
+        // Then
+        assertEquals(1, first.sequence());
+        assertNull(torn);
+        assertEquals(second, buffer.position());
+    }
+
+    private AuditLog auditLog(String directory, int segmentSize) throws Exception {
+        AuditLog auditLog = new AuditLog(new ObjectMapper().findAndRegisterModules(), meterRegistry);
+        ReflectionTestUtils.setField(auditLog, "dir", directory);
+        ReflectionTestUtils.setField(auditLog, "segmentSize", segmentSize);
+        ReflectionTestUtils.setField(auditLog, "ringCapacity", 1024);
+        ReflectionTestUtils.setField(auditLog, "forceMs", 1000L);
+        auditLog.start();
+        return auditLog;
+    }
+
+    private TaskDTO task(Long id, String title) {
+        return new TaskDTO(id, title, "Description", PriorityLevel.HIGH, LocalDateTime.now(), 7L, "bob", false);
+    }
+}
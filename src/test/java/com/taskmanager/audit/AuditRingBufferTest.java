@@ -0,0 +1,73 @@
+package com.taskmanager.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditRingBufferTest {
+
+    @Test
+    void offer_WhenFull_ShouldRejectUntilPolled() {
+        // Given
+        AuditRingBuffer<Integer> ring = new AuditRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(i));
+        }
+
+        // When
+        boolean rejected = !ring.offer(4);
+        Integer first = ring.poll();
+
+        // Then
+        assertTrue(rejected);
+        assertEquals(0, first);
+        assertTrue(ring.offer(4));
+        assertEquals(1, ring.poll());
+    }
+
+    @Test
+    void offer_FromManyThreads_ShouldDeliverEveryElementOnce() throws Exception {
+        // Given
+        int producers = 8;
+        int perProducer = 20_000;
+        AuditRingBuffer<Integer> ring = new AuditRingBuffer<>(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    while (!ring.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                return null;
+            });
+        }
+
+        // When
+        start.countDown();
+        boolean[] seen = new boolean[producers * perProducer];
+        int received = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (received < seen.length && System.nanoTime() < deadline) {
+            Integer value = ring.poll();
+            if (value != null) {
+                assertFalse(seen[value]);
+                seen[value] = true;
+                received++;
+            }
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(seen.length, received);
+        assertTrue(ring.isEmpty());
+    }
+}
@@ -0,0 +1,123 @@
+package com.taskmanager.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ResponseCache responseCache;
+    private ResponseCacheFilter filter;
+    private AtomicInteger controllerCalls;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        responseCache = new ResponseCache(meterRegistry);
+        filter = new ResponseCacheFilter(responseCache);
+        ReflectionTestUtils.setField(filter, "cachedPaths", List.of("/api/users/available", "/api/tasks/priority/*"));
+        controllerCalls = new AtomicInteger();
+    }
+
+    @Test
+    void secondRequest_ShouldBeServedFromCacheWithoutController() throws Exception {
+        // When
+        MockHttpServletResponse first = perform(get("/api/tasks/priority/URGENT"));
+        MockHttpServletResponse second = perform(get("/api/tasks/priority/URGENT"));
+
+        // Then
+        assertEquals(1, controllerCalls.get());
+        assertEquals(200, second.getStatus());
+        assertEquals(first.getContentAsString(), second.getContentAsString());
+        assertEquals("W/\"1\"", second.getHeader("ETag"));
+        assertEquals("application/json", second.getContentType());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void cachedResponse_WithMatchingIfNoneMatch_ShouldReturnNotModified() throws Exception {
+        // Given
+        perform(get("/api/users/available"));
+        MockHttpServletRequest request = get("/api/users/available");
+        request.addHeader("If-None-Match", "W/\"1\"");
+
+        // When
+        MockHttpServletResponse response = perform(request);
+
+        // Then
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(1, controllerCalls.get());
+    }
+
+    @Test
+    void invalidate_ShouldSendNextRequestToController() throws Exception {
+        // Given
+        perform(get("/api/users/available"));
+
+        // When
+        responseCache.invalidate();
+        MockHttpServletResponse response = perform(get("/api/users/available"));
+
+        // Then
+        assertEquals(2, controllerCalls.get());
+        assertTrue(response.getContentAsString().contains("\"call\":2"));
+    }
+
+    @Test
+    void put_WithGenerationFromBeforeInvalidation_ShouldBeDiscarded() {
+        // Given
+        long generation = responseCache.generation();
+        responseCache.invalidate();
+
+        // When
+        responseCache.put("/api/users/available", new ResponseCache.Entry(new byte[0], "application/json", null, generation));
+
+        // Then
+        assertNull(responseCache.get("/api/users/available"));
+    }
+
+    @Test
+    void uncachedPathsAndCborRequests_ShouldAlwaysReachController() throws Exception {
+        // Given
+        MockHttpServletRequest cbor = get("/api/users/available");
+        cbor.addHeader("Accept", "application/cbor");
+
+        // When
+        perform(get("/api/tasks"));
+        perform(get("/api/tasks"));
+        perform(cbor);
+        perform(cbor);
+
+        // Then
+        assertEquals(4, controllerCalls.get());
+    }
+
+    private MockHttpServletRequest get(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain controller = (req, res) -> {
+            int call = controllerCalls.incrementAndGet();
+            res.setContentType("application/json");
+            ((HttpServletResponse) res).setHeader("ETag", "W/\"1\"");
+            res.getOutputStream().write(("{\"call\":" + call + "}").getBytes(StandardCharsets.UTF_8));
+        };
+        filter.doFilter(request, response, controller);
+        return response;
+    }
+}
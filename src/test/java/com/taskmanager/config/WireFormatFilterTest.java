@@ -0,0 +1,86 @@
+package com.taskmanager.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WireFormatFilterTest {
+
+    private final WireFormatFilter filter = new WireFormatFilter();
+
+    @Test
+    void jsonRequest_ShouldVaryByAcceptAndKeepPlainETag() throws Exception {
+        // Given
+        MockHttpServletRequest request = get("application/json");
+
+        // When
+        MockHttpServletResponse response = perform(request, new AtomicReference<>());
+
+        // Then
+        assertEquals("Accept", response.getHeader("Vary"));
+        assertEquals("\"3-2\"", response.getHeader("ETag"));
+    }
+
+    @Test
+    void cborRequest_ShouldSuffixETagAndStripItFromConditionalHeaders() throws Exception {
+        // Given
+        MockHttpServletRequest request = get("application/cbor");
+        request.addHeader("If-None-Match", "\"3-2+cbor\", \"3-2\"");
+        AtomicReference<String> seenIfNoneMatch = new AtomicReference<>();
+
+        // When
+        MockHttpServletResponse response = perform(request, seenIfNoneMatch);
+
+        // Then
+        assertEquals("Accept", response.getHeader("Vary"));
+        assertEquals("\"3-2+cbor\"", response.getHeader("ETag"));
+        assertEquals("\"3-2\"", seenIfNoneMatch.get());
+    }
+
+    @Test
+    void cborRequest_WithJsonTagOnly_ShouldNotSeeIfNoneMatch() throws Exception {
+        // Given
+        MockHttpServletRequest request = get("application/cbor");
+        request.addHeader("If-None-Match", "W/\"3-2\"");
+        AtomicReference<String> seenIfNoneMatch = new AtomicReference<>("unset");
+
+        // When
+        perform(request, seenIfNoneMatch);
+
+        // Then
+        assertNull(seenIfNoneMatch.get());
+    }
+
+    @Test
+    void prefersCbor_ShouldFollowQualityAndPreferJsonForWildcards() {
+        assertTrue(WireFormatFilter.prefersCbor("application/cbor"));
+        assertTrue(WireFormatFilter.prefersCbor("application/json;q=0.5, application/cbor"));
+        assertFalse(WireFormatFilter.prefersCbor("application/cbor;q=0.1, application/json"));
+        assertFalse(WireFormatFilter.prefersCbor("*/*, application/cbor"));
+        assertFalse(WireFormatFilter.prefersCbor(null));
+    }
+
+    private MockHttpServletRequest get(String accept) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks/1");
+        request.addHeader("Accept", accept);
+        return request;
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request, AtomicReference<String> seenIfNoneMatch)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain controller = (req, res) -> {
+            seenIfNoneMatch.set(((HttpServletRequest) req).getHeader("If-None-Match"));
+            ((HttpServletResponse) res).setHeader("ETag", "\"3-2\"");
+        };
+        filter.doFilter(request, response, controller);
+        return response;
+    }
+}
@@ -0,0 +1,57 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.exception.GlobalExceptionHandler;
+import com.taskmanager.exception.ResourceNotFoundException;
+import com.taskmanager.service.PresenceTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class PresenceControllerTest {
+
+    @Mock
+    private PresenceTracker presenceTracker;
+
+    @InjectMocks
+    private PresenceController presenceController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(presenceController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void heartbeat_ShouldRecordHeartbeatForCurrentUser() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/presence/heartbeat").principal(() -> "testuser"))
+                .andExpect(status().isNoContent());
+
+        verify(presenceTracker, times(1)).heartbeat("testuser");
+    }
+
+    @Test
+    void heartbeat_WithTokenOfDeletedUser_ShouldReturnNotFound() throws Exception {
+        // Given
+        doThrow(new ResourceNotFoundException("Пользователь не найден: deleted"))
+                .when(presenceTracker).heartbeat("deleted");
+
+        // When & Then
+        mockMvc.perform(post("/api/presence/heartbeat").principal(() -> "deleted"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Пользователь не найден: deleted"));
+    }
+}
@@ -0,0 +1,56 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.dto.StatsDTO;
+import com.taskmanager.enums.AvailabilityStatus;
+import com.taskmanager.enums.PriorityLevel;
+import com.taskmanager.service.StatsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatsControllerTest {
+
+    @Mock
+    private StatsService statsService;
+
+    @InjectMocks
+    private StatsController statsController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(statsController).build();
+    }
+
+    @Test
+    void getStats_ShouldReturnAggregates() throws Exception {
+        // Given
+        StatsDTO stats = new StatsDTO(3, 2, 1, 0,
+                Map.of(PriorityLevel.HIGH, 3L), Map.of(1L, 3L),
+                1, Map.of(AvailabilityStatus.BUSY, 1L), null);
+        when(statsService.getStats()).thenReturn(stats);
+
+        // When & Then
+        mockMvc.perform(get("/api/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTasks").value(3))
+                .andExpect(jsonPath("$.tasksByPriority.HIGH").value(3))
+                .andExpect(jsonPath("$.tasksByAssignee.1").value(3))
+                .andExpect(jsonPath("$.usersByAvailability.BUSY").value(1));
+
+        verify(statsService, times(1)).getStats();
+    }
+}
@@ -1,15 +1,26 @@
 package com.taskmanager.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.dto.BulkTaskRequest;
+import com.taskmanager.dto.BulkTaskResult;
+import com.taskmanager.dto.CreateTaskRequest;
 import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.dto.TaskSearchFilter;
+import com.taskmanager.dto.TaskSearchPage;
+import com.taskmanager.dto.TaskSummaryDTO;
+import com.taskmanager.dto.TaskTextSearchPage;
+import com.taskmanager.dto.UpdateTaskRequest;
+import com.taskmanager.dto.Versioned;
 import com.taskmanager.entity.Task;
 import com.taskmanager.entity.User;
 import com.taskmanager.enums.AvailabilityStatus;
 import com.taskmanager.enums.PriorityLevel;
+import com.taskmanager.service.TaskCreationBatcher;
 import com.taskmanager.service.TaskService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -20,7 +31,11 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -32,6 +47,9 @@ class TaskControllerTest {
     @Mock
     private TaskService taskService;
 
+    @Mock
+    private TaskCreationBatcher taskCreationBatcher;
+
     @InjectMocks
     private TaskController taskController;
 
@@ -79,7 +97,7 @@ class TaskControllerTest {
     void getAllTasks_ShouldReturnListOfTasks() throws Exception {
         // Given
         List<TaskDTO> tasks = Arrays.asList(taskDTO);
-        when(taskService.getAllTasks()).thenReturn(tasks);
+        when(taskService.getAllTasks(false)).thenReturn(tasks);
 
         // When & Then
         mockMvc.perform(get("/api/tasks"))
@@ -94,13 +112,13 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$[0].assignedUserName").value("testuser"))
                 .andExpect(jsonPath("$[0].done").value(false));
 
-        verify(taskService, times(1)).getAllTasks();
+        verify(taskService, times(1)).getAllTasks(false);
     }
 
     @Test
     void getTaskById_WhenTaskExists_ShouldReturnTask() throws Exception {
         // Given
-        when(taskService.getTaskById(1L)).thenReturn(taskDTO);
+        when(taskService.getTaskById(1L)).thenReturn(new Versioned<>(taskDTO, "0-0"));
 
         // When & Then
         mockMvc.perform(get("/api/tasks/1"))
@@ -117,13 +135,79 @@ class TaskControllerTest {
         verify(taskService, times(1)).getTaskById(1L);
     }
 
+    @Test
+    void getTaskById_ShouldReturnVersionAsETag() throws Exception {
+        // Given
+        when(taskService.getTaskVersion(1L)).thenReturn("3-2");
+        when(taskService.getTaskById(1L)).thenReturn(new Versioned<>(taskDTO, "3-2"));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3-2\""))
+                .andExpect(jsonPath("$.id").value(1L));
+    }
+
+    @Test
+    void getTaskById_WhenTaskChangedAfterVersionCheck_ShouldReturnVersionOfServedTask() throws Exception {
+        // Given
+        when(taskService.getTaskVersion(1L)).thenReturn("3-2");
+        when(taskService.getTaskById(1L)).thenReturn(new Versioned<>(taskDTO, "4-2"));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks/1").header("If-None-Match", "\"2-2\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4-2\""));
+    }
+
+    @Test
+    void getTaskById_WithMatchingIfNoneMatch_ShouldReturnNotModifiedWithoutLoadingTask() throws Exception {
+        // Given
+        when(taskService.getTaskVersion(1L)).thenReturn("3-2");
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks/1").header("If-None-Match", "\"3-2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3-2\""))
+                .andExpect(content().string(""));
+
+        verify(taskService, never()).getTaskById(anyLong());
+    }
+
+    @Test
+    void getAllTasks_WithStaleIfNoneMatch_ShouldReturnTasks() throws Exception {
+        // Given
+        when(taskService.getTasksVersionStamp(false)).thenReturn("2-2-3");
+        when(taskService.getAllTasks(false)).thenReturn(Arrays.asList(taskDTO));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks").header("If-None-Match", "\"1-1-0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"2-2-3\""))
+                .andExpect(jsonPath("$[0].id").value(1L));
+    }
+
+    @Test
+    void updateTask_WithIfMatch_ShouldPassExpectedVersion() throws Exception {
+        // Given
+        UpdateTaskRequest updateTask = new UpdateTaskRequest("Updated Task", null);
+
+        when(taskService.updateTask(eq(1L), any(UpdateTaskRequest.class), eq(4L))).thenReturn(taskDTO);
+
+        // When & Then
+        mockMvc.perform(put("/api/tasks/1")
+                        .header("If-Match", "\"4-2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateTask)))
+                .andExpect(status().isOk());
+
+        verify(taskService, times(1)).updateTask(eq(1L), any(UpdateTaskRequest.class), eq(4L));
+    }
+
     @Test
     void createTask_WithValidTask_ShouldReturnCreatedTask() throws Exception {
         // Given
-        Task createTask = new Task();
-        createTask.setTitle("New Task");
-        createTask.setDescription("New Description");
-        createTask.setPriorityLevel(PriorityLevel.MEDIUM);
+        CreateTaskRequest createTask = new CreateTaskRequest("New Task", "New Description", PriorityLevel.MEDIUM);
 
         TaskDTO createdTaskDTO = new TaskDTO(
                 2L,
@@ -136,7 +220,7 @@ class TaskControllerTest {
                 false
         );
 
-        when(taskService.createTask(any(Task.class))).thenReturn(createdTaskDTO);
+        when(taskService.createTask(any(CreateTaskRequest.class), anyBoolean())).thenReturn(createdTaskDTO);
 
         // When & Then
         mockMvc.perform(post("/api/tasks")
@@ -152,15 +236,13 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.assignedUserName").value("testuser"))
                 .andExpect(jsonPath("$.done").value(false));
 
-        verify(taskService, times(1)).createTask(any(Task.class));
+        verify(taskService, times(1)).createTask(any(CreateTaskRequest.class), anyBoolean());
     }
 
     @Test
     void updateTask_WithValidData_ShouldReturnUpdatedTask() throws Exception {
         // Given
-        Task updateTask = new Task();
-        updateTask.setTitle("Updated Task");
-        updateTask.setDescription("Updated Description");
+        UpdateTaskRequest updateTask = new UpdateTaskRequest("Updated Task", "Updated Description");
 
         TaskDTO updatedTaskDTO = new TaskDTO(
                 1L,
@@ -173,7 +255,7 @@ class TaskControllerTest {
                 false
         );
 
-        when(taskService.updateTask(eq(1L), any(Task.class))).thenReturn(updatedTaskDTO);
+        when(taskService.updateTask(eq(1L), any(UpdateTaskRequest.class), isNull())).thenReturn(updatedTaskDTO);
 
         // When & Then
         mockMvc.perform(put("/api/tasks/1")
@@ -189,7 +271,7 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.assignedUserName").value("testuser"))
                 .andExpect(jsonPath("$.done").value(false));
 
-        verify(taskService, times(1)).updateTask(eq(1L), any(Task.class));
+        verify(taskService, times(1)).updateTask(eq(1L), any(UpdateTaskRequest.class), isNull());
     }
 
     @Test
@@ -237,7 +319,7 @@ class TaskControllerTest {
     void getTasksByPriority_WithValidPriority_ShouldReturnTasks() throws Exception {
         // Given
         List<TaskDTO> tasks = Arrays.asList(taskDTO);
-        when(taskService.getTasksByPriority(PriorityLevel.HIGH)).thenReturn(tasks);
+        when(taskService.getTasksByPriority(PriorityLevel.HIGH)).thenReturn(new Versioned<>(tasks, "1-1-0-0"));
 
         // When & Then
         mockMvc.perform(get("/api/tasks/priority/HIGH"))
@@ -254,7 +336,7 @@ class TaskControllerTest {
     void getTasksByAssignee_WithValidUserId_ShouldReturnTasks() throws Exception {
         // Given
         List<TaskDTO> tasks = Arrays.asList(taskDTO);
-        when(taskService.getTasksByAssignee(1L)).thenReturn(tasks);
+        when(taskService.getTasksByAssignee(1L, false)).thenReturn(new Versioned<>(tasks, "1-1-0-0"));
 
         // When & Then
         mockMvc.perform(get("/api/tasks/assignee/1"))
@@ -264,7 +346,7 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$[0].id").value(1L))
                 .andExpect(jsonPath("$[0].assignedUserId").value(1L));
 
-        verify(taskService, times(1)).getTasksByAssignee(1L);
+        verify(taskService, times(1)).getTasksByAssignee(1L, false);
     }
 
     @Test
@@ -302,7 +384,7 @@ class TaskControllerTest {
                         .content("{invalid json}"))
                 .andExpect(status().isBadRequest());
 
-        verify(taskService, never()).createTask(any(Task.class));
+        verify(taskService, never()).createTask(any(CreateTaskRequest.class), anyBoolean());
     }
 
     @Test
@@ -316,10 +398,24 @@ class TaskControllerTest {
         verify(taskService, never()).updateTaskDone(anyLong(), anyBoolean());
     }
 
+    @Test
+    void getAllTasks_WithIncludeArchived_ShouldPassFlagToService() throws Exception {
+        // Given
+        when(taskService.getAllTasks(true)).thenReturn(Arrays.asList(taskDTO));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks").param("includeArchived", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray())
+                .andExpect(jsonPath("$[0].id").value(1L));
+
+        verify(taskService, times(1)).getAllTasks(true);
+    }
+
     @Test
     void getAllTasks_WhenEmpty_ShouldReturnEmptyArray() throws Exception {
         // Given
-        when(taskService.getAllTasks()).thenReturn(Arrays.asList());
+        when(taskService.getAllTasks(false)).thenReturn(Arrays.asList());
 
         // When & Then
         mockMvc.perform(get("/api/tasks"))
@@ -328,13 +424,13 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$").isEmpty());
 
-        verify(taskService, times(1)).getAllTasks();
+        verify(taskService, times(1)).getAllTasks(false);
     }
 
     @Test
     void getTasksByPriority_WithAllPriorities_ShouldCallServiceCorrectly() throws Exception {
         // Given
-        when(taskService.getTasksByPriority(any(PriorityLevel.class))).thenReturn(Arrays.asList(taskDTO));
+        when(taskService.getTasksByPriority(any(PriorityLevel.class))).thenReturn(new Versioned<>(Arrays.asList(taskDTO), "1-1-0-0"));
 
         // When & Then - Test all priority levels
         mockMvc.perform(get("/api/tasks/priority/LOW"))
@@ -351,5 +447,234 @@ class TaskControllerTest {
 
         verify(taskService, times(4)).getTasksByPriority(any(PriorityLevel.class));
     }
-}
 
+    @Test
+    void searchTasks_ShouldBindFiltersAndReturnPage() throws Exception {
+        // Given
+        TaskSummaryDTO summary = new TaskSummaryDTO(7L, "Test Task", PriorityLevel.HIGH, LocalDateTime.now(), 1L, false);
+        when(taskService.searchTasks(any(TaskSearchFilter.class), eq(5L), eq(10)))
+                .thenReturn(new TaskSearchPage(Arrays.asList(summary), 7L));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks/search")
+                        .param("priority", "HIGH", "URGENT")
+                        .param("assigneeId", "1")
+                        .param("done", "false")
+                        .param("createdFrom", "2024-01-01T00:00:00")
+                        .param("cursor", "5")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(7L))
+                .andExpect(jsonPath("$.items[0].description").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value(7L));
+
+        ArgumentCaptor<TaskSearchFilter> filter = ArgumentCaptor.forClass(TaskSearchFilter.class);
+        verify(taskService, times(1)).searchTasks(filter.capture(), eq(5L), eq(10));
+        assertEquals(Arrays.asList(PriorityLevel.HIGH, PriorityLevel.URGENT), filter.getValue().getPriority());
+        assertEquals(1L, filter.getValue().getAssigneeId());
+        assertEquals(false, filter.getValue().getDone());
+        assertEquals(LocalDateTime.of(2024, 1, 1, 0, 0), filter.getValue().getCreatedFrom());
+    }
+
+    @Test
+    void searchTasks_WithQuery_ShouldUseTextSearch() throws Exception {
+        // Given
+        when(taskService.searchTasksByText("test", 1, 10))
+                .thenReturn(new TaskTextSearchPage(Arrays.asList(taskDTO), 1, 10, 11));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks/search").param("q", "test").param("page", "1").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1L))
+                .andExpect(jsonPath("$.totalHits").value(11));
+
+        verify(taskService, never()).searchTasks(any(), any(), anyInt());
+    }
+
+    @Test
+    void updateTasksDone_ShouldPassIdsAndFlagToService() throws Exception {
+        // Given
+        when(taskService.updateTasksDone(any(BulkTaskRequest.class))).thenReturn(new BulkTaskResult(2, 1));
+
+        // When & Then
+        mockMvc.perform(put("/api/tasks/done")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [1, 2], \"done\": true}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affectedTasks").value(2))
+                .andExpect(jsonPath("$.affectedUsers").value(1));
+
+        ArgumentCaptor<BulkTaskRequest> request = ArgumentCaptor.forClass(BulkTaskRequest.class);
+        verify(taskService, times(1)).updateTasksDone(request.capture());
+        assertEquals(Arrays.asList(1L, 2L), request.getValue().ids());
+        assertTrue(request.getValue().done());
+        verify(taskService, never()).updateTask(anyLong(), any(UpdateTaskRequest.class), any());
+    }
+
+    @Test
+    void deleteTasks_WithFilter_ShouldPassFilterToService() throws Exception {
+        // Given
+        when(taskService.deleteTasks(any(BulkTaskRequest.class))).thenReturn(new BulkTaskResult(5, 2));
+
+        // When & Then
+        mockMvc.perform(delete("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filter\": {\"priority\": [\"LOW\"], \"done\": true}}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affectedTasks").value(5));
+
+        ArgumentCaptor<BulkTaskRequest> request = ArgumentCaptor.forClass(BulkTaskRequest.class);
+        verify(taskService, times(1)).deleteTasks(request.capture());
+        assertEquals(Arrays.asList(PriorityLevel.LOW), request.getValue().filter().getPriority());
+        assertTrue(request.getValue().filter().getDone());
+    }
+
+    @Test
+    void updateTasksDone_WithoutDoneFlag_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(put("/api/tasks/done")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [1, 2]}"))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).updateTasksDone(any(BulkTaskRequest.class));
+    }
+
+    @Test
+    void updateTasksDone_WithEmptyIds_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(put("/api/tasks/done")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [], \"done\": true}"))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).updateTasksDone(any(BulkTaskRequest.class));
+    }
+
+    @Test
+    void updateTasksDone_WithTooManyIds_ShouldReturnBadRequest() throws Exception {
+        // Given
+        String ids = LongStream.rangeClosed(1, BulkTaskRequest.MAX_TASKS + 1)
+                .mapToObj(Long::toString)
+                .collect(Collectors.joining(","));
+
+        // When & Then
+        mockMvc.perform(put("/api/tasks/done")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [" + ids + "], \"done\": true}"))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).updateTasksDone(any(BulkTaskRequest.class));
+    }
+
+    @Test
+    void deleteTasks_WithIdsAndFilter_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(delete("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [1], \"filter\": {\"done\": true}}"))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).deleteTasks(any(BulkTaskRequest.class));
+    }
+
+    @Test
+    void deleteTasks_WithoutSelection_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(delete("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).deleteTasks(any(BulkTaskRequest.class));
+    }
+
+    @Test
+    void createTask_WithBlankTitle_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \" \", \"priorityLevel\": \"LOW\"}"))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).createTask(any(CreateTaskRequest.class), anyBoolean());
+    }
+
+    @Test
+    void createTask_ShouldIgnoreNestedAssignedUser() throws Exception {
+        // Given
+        when(taskService.createTask(any(CreateTaskRequest.class), anyBoolean())).thenReturn(taskDTO);
+
+        // When & Then
+        mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Task\", \"assignedUser\": {\"id\": 7, \"tasks\": []}}"))
+                .andExpect(status().isOk());
+
+        ArgumentCaptor<CreateTaskRequest> request = ArgumentCaptor.forClass(CreateTaskRequest.class);
+        verify(taskService, times(1)).createTask(request.capture(), eq(true));
+        assertEquals("Task", request.getValue().title());
+    }
+
+    @Test
+    void updateTaskDone_WithoutDoneFlag_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(put("/api/tasks/1/done")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).updateTaskDone(anyLong(), anyBoolean());
+    }
+
+    @Test
+    void claimNextTask_ShouldClaimForCurrentUser() throws Exception {
+        // Given
+        when(taskService.claimNextTask("testuser")).thenReturn(Optional.of(taskDTO));
+
+        // When & Then
+        mockMvc.perform(post("/api/tasks/claim").principal(() -> "testuser"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1L));
+    }
+
+    @Test
+    void claimNextTask_WhenQueueIsEmpty_ShouldReturnNoContent() throws Exception {
+        // Given
+        when(taskService.claimNextTask("testuser")).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(post("/api/tasks/claim").principal(() -> "testuser"))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void createTask_WithAutoAssignFalse_ShouldPassFlagToService() throws Exception {
+        // Given
+        when(taskService.createTask(any(CreateTaskRequest.class), eq(false))).thenReturn(taskDTO);
+
+        // When & Then
+        mockMvc.perform(post("/api/tasks").param("autoAssign", "false")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Queued\"}"))
+                .andExpect(status().isOk());
+
+        verify(taskService, times(1)).createTask(any(CreateTaskRequest.class), eq(false));
+    }
+
+    @Test
+    void createTask_WithBatchingEnabled_ShouldGoThroughBatcher() throws Exception {
+        // Given
+        when(taskCreationBatcher.isEnabled()).thenReturn(true);
+        when(taskCreationBatcher.createTask(any(CreateTaskRequest.class), eq("testuser"))).thenReturn(taskDTO);
+
+        // When & Then
+        mockMvc.perform(post("/api/tasks").principal(() -> "testuser")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Task\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1L));
+
+        verify(taskService, never()).createTask(any(CreateTaskRequest.class), anyBoolean());
+    }
+}
@@ -1,8 +1,13 @@
 package com.taskmanager.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.taskmanager.config.WireFormatConfig;
 import com.taskmanager.dto.CreateUserRequest;
+import com.taskmanager.dto.RedistributionResult;
 import com.taskmanager.dto.UserDTO;
+import com.taskmanager.dto.Versioned;
 import com.taskmanager.enums.AvailabilityStatus;
 import com.taskmanager.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,12 +17,15 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.Arrays;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -40,7 +48,10 @@ class UserControllerTest {
 
     @BeforeEach
     void setUp() {
-        mockMvc = MockMvcBuilders.standaloneSetup(userController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(userController)
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(),
+                        new WireFormatConfig().cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()))
+                .build();
         objectMapper = new ObjectMapper();
 
         userDTO = new UserDTO(
@@ -92,6 +103,38 @@ class UserControllerTest {
         verify(userService, times(1)).getUserById(1L);
     }
 
+    @Test
+    void getUserById_WithCborAccept_ShouldReturnCborWithEnumIndex() throws Exception {
+        // Given
+        when(userService.getUserById(1L)).thenReturn(userDTO);
+
+        // When
+        byte[] body = mockMvc.perform(get("/api/users/1").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        JsonNode user = new CBORMapper().readTree(body);
+        assertEquals(1L, user.get("id").asLong());
+        assertEquals("testuser", user.get("username").asText());
+        assertEquals(AvailabilityStatus.AVAILABLE.ordinal(), user.get("availabilityStatus").asInt());
+        assertTrue(user.get("availabilityStatus").isInt());
+    }
+
+    @Test
+    void getUserById_WithMatchingIfNoneMatch_ShouldReturnNotModified() throws Exception {
+        // Given
+        when(userService.getUserVersion(1L)).thenReturn(0L);
+
+        // When & Then
+        mockMvc.perform(get("/api/users/1").header("If-None-Match", "\"0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"0\""));
+
+        verify(userService, never()).getUserById(anyLong());
+    }
+
     @Test
     void updateUser_WithValidData_ShouldReturnUpdatedUser() throws Exception {
         // Given
@@ -135,11 +178,39 @@ class UserControllerTest {
         verify(userService, times(1)).deleteUser(1L);
     }
 
+    @Test
+    void goOffline_ShouldReturnRedistributionResult() throws Exception {
+        // Given
+        when(userService.goOffline(1L)).thenReturn(new RedistributionResult(4, 1, 2));
+
+        // When & Then
+        mockMvc.perform(post("/api/users/1/offline"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reassignedTasks").value(4))
+                .andExpect(jsonPath("$.unassignedTasks").value(1))
+                .andExpect(jsonPath("$.affectedUsers").value(2));
+
+        verify(userService, times(1)).goOffline(1L);
+    }
+
+    @Test
+    void goOnline_ShouldReturnUser() throws Exception {
+        // Given
+        when(userService.goOnline(1L)).thenReturn(userDTO);
+
+        // When & Then
+        mockMvc.perform(post("/api/users/1/online"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.availabilityStatus").value("AVAILABLE"));
+
+        verify(userService, times(1)).goOnline(1L);
+    }
+
     @Test
     void getAvailableUsers_ShouldReturnAvailableUsers() throws Exception {
         // Given
         List<UserDTO> availableUsers = Arrays.asList(userDTO);
-        when(userService.getAvailableUsers()).thenReturn(availableUsers);
+        when(userService.getAvailableUsers()).thenReturn(new Versioned<>(availableUsers, "1-1-0"));
 
         // When & Then
         mockMvc.perform(get("/api/users/available"))
@@ -182,7 +253,7 @@ class UserControllerTest {
     @Test
     void getAvailableUsers_WhenEmpty_ShouldReturnEmptyArray() throws Exception {
         // Given
-        when(userService.getAvailableUsers()).thenReturn(Arrays.asList());
+        when(userService.getAvailableUsers()).thenReturn(new Versioned<>(List.of(), "0-0-0"));
 
         // When & Then
         mockMvc.perform(get("/api/users/available"))
@@ -0,0 +1,476 @@
+package com.taskmanager.readmodel;
+
+import com.taskmanager.cache.ResponseCache;
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.dto.TaskSummaryDTO;
+import com.taskmanager.dto.TaskVersionRow;
+import com.taskmanager.dto.UserDTO;
+import com.taskmanager.dto.Versioned;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.User;
+import com.taskmanager.enums.AvailabilityStatus;
+import com.taskmanager.enums.PriorityLevel;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.event.TasksDoneChangedEvent;
+import com.taskmanager.event.TasksPriorityChangedEvent;
+import com.taskmanager.event.TasksRemovedEvent;
+import com.taskmanager.event.UserChangedEvent;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskReadModelTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ResponseCache responseCache;
+
+    private final List<Runnable> refreshes = new ArrayList<>();
+    private TaskReadModel readModel;
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        readModel = newReadModel();
+        ReflectionTestUtils.setField(readModel, "snapshotPath", "");
+        alice = user(1L, "alice", AvailabilityStatus.AVAILABLE, 0L);
+        bob = user(2L, "bob", AvailabilityStatus.BUSY, 0L);
+    }
+
+    @Test
+    void rebuild_WhenDisabled_ShouldStayNotReady() {
+        // Given
+        ReflectionTestUtils.setField(readModel, "enabled", false);
+
+        // When
+        readModel.rebuild();
+
+        // Then
+        assertFalse(readModel.isReady());
+        verifyNoInteractions(taskRepository, userRepository);
+    }
+
+    @Test
+    void rebuild_WithoutSnapshot_ShouldLoadTasksAndUsersFromDatabase() {
+        // Given
+        LocalDateTime created = LocalDateTime.of(2024, 5, 1, 10, 30, 15, 123_456_789);
+        when(userRepository.findAll()).thenReturn(List.of(alice, bob));
+        when(taskRepository.findPageAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                task(1L, PriorityLevel.HIGH, alice, created),
+                task(2L, null, null, null),
+                task(3L, PriorityLevel.HIGH, bob, created)));
+
+        // When
+        readModel.rebuild();
+
+        // Then
+        assertTrue(readModel.isReady());
+        TaskDTO first = readModel.findVersionedTask(1L).orElseThrow().body();
+        assertEquals("Task 1", first.title());
+        assertEquals(created, first.creationTimestamp());
+        assertEquals(1L, first.assignedUserId());
+        assertEquals("alice", first.assignedUserName());
+        assertNull(readModel.findVersionedTask(2L).orElseThrow().body().creationTimestamp());
+        assertEquals(List.of(1L, 3L), ids(readModel.findVersionedTasksByPriority(PriorityLevel.HIGH).orElseThrow().body()));
+        assertEquals(List.of(2L), ids(readModel.findVersionedTasksByPriority(null).orElseThrow().body()));
+        assertEquals(List.of(3L), ids(readModel.findVersionedTasksByAssignee(2L).orElseThrow().body()));
+        assertEquals(List.of(1L), userIds(readModel.findVersionedAvailableUsers().orElseThrow().body()));
+        assertTrue(readModel.findVersionedTasksByAssignee(99L).isEmpty());
+    }
+
+    @Test
+    void onTaskChanged_ShouldReindexAndRefreshAffectedUsers() {
+        // Given
+        loadEmpty();
+        TaskDTO created = dto(5L, PriorityLevel.LOW, 1L, false);
+        readModel.onTaskChanged(new TaskChangedEvent(null, created));
+
+        // When
+        User updatedBob = user(2L, "bob", AvailabilityStatus.AVAILABLE, 1L);
+        Task reassigned = task(5L, PriorityLevel.URGENT, updatedBob, null);
+        reassigned.setVersion(1L);
+        when(taskRepository.findAllById(any())).thenReturn(List.of(reassigned));
+        when(userRepository.findAllById(any())).thenReturn(List.of(user(1L, "alice", AvailabilityStatus.AVAILABLE, 1L), updatedBob));
+        readModel.onTaskChanged(new TaskChangedEvent(created, dto(5L, PriorityLevel.URGENT, 2L, false)));
+
+        // Then
+        assertTrue(readModel.findVersionedTasksByPriority(PriorityLevel.LOW).orElseThrow().body().isEmpty());
+        assertTrue(readModel.findVersionedTasksByPriority(PriorityLevel.URGENT).isEmpty());
+        assertTrue(readModel.findVersionedTask(5L).isEmpty());
+
+        // When
+        runRefreshes();
+
+        // Then
+        assertEquals(List.of(5L), ids(readModel.findVersionedTasksByPriority(PriorityLevel.URGENT).orElseThrow().body()));
+        assertTrue(readModel.findVersionedTasksByAssignee(1L).orElseThrow().body().isEmpty());
+        assertEquals(2, readModel.findVersionedAvailableUsers().orElseThrow().body().size());
+        Versioned<TaskDTO> reassignedTask = readModel.findVersionedTask(5L).orElseThrow();
+        assertEquals("bob", reassignedTask.body().assignedUserName());
+        assertEquals("1-1", reassignedTask.version());
+        assertEquals("1-5-1-1", readModel.findTasksByPriorityVersion(PriorityLevel.URGENT).orElseThrow());
+        verify(responseCache).invalidate();
+    }
+
+    @Test
+    void onTaskChanged_WhenOnlyTitleChanges_ShouldNotQueryUsers() {
+        // Given
+        loadEmpty();
+        TaskDTO created = dto(5L, PriorityLevel.LOW, null, false);
+        readModel.onTaskChanged(new TaskChangedEvent(null, created));
+
+        Task renamed = task(5L, PriorityLevel.LOW, null, null);
+        renamed.setTitle("Renamed");
+        when(taskRepository.findAllById(any())).thenReturn(List.of(renamed));
+
+        // When
+        readModel.onTaskChanged(new TaskChangedEvent(created,
+                new TaskDTO(5L, "Renamed", null, PriorityLevel.LOW, null, null, null, false)));
+        runRefreshes();
+
+        // Then
+        assertEquals("Renamed", readModel.findVersionedTask(5L).orElseThrow().body().title());
+        verify(userRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void onTasksDoneChangedAndRemoved_ShouldUpdateRows() {
+        // Given
+        when(userRepository.findAll()).thenReturn(List.of(alice, bob));
+        when(taskRepository.findPageAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                task(5L, PriorityLevel.LOW, alice, null), task(6L, PriorityLevel.LOW, alice, null)));
+        readModel.rebuild();
+
+        // When
+        readModel.onTasksDoneChanged(new TasksDoneChangedEvent(List.of(summary(5L, 1L)), true));
+        readModel.onTasksRemoved(new TasksRemovedEvent(List.of(summary(6L, 1L))));
+
+        // Then
+        assertTrue(readModel.findVersionedTask(5L).isEmpty());
+        assertTrue(readModel.findVersionedTasksByAssignee(1L).isEmpty());
+
+        // When
+        Task done = task(5L, PriorityLevel.LOW, alice, null);
+        done.setDone(true);
+        done.setVersion(1L);
+        when(taskRepository.findAllById(any())).thenReturn(List.of(done));
+        when(userRepository.findAllById(any())).thenReturn(List.of(alice));
+        runRefreshes();
+
+        // Then
+        assertTrue(readModel.findVersionedTask(5L).orElseThrow().body().done());
+        assertTrue(readModel.findVersionedTask(6L).isEmpty());
+        assertEquals(List.of(5L), ids(readModel.findVersionedTasksByAssignee(1L).orElseThrow().body()));
+    }
+
+    @Test
+    void onUserChanged_ShouldIgnoreStaleVersionsAndDropDeletedUsers() {
+        // Given
+        when(userRepository.findAll()).thenReturn(List.of(user(1L, "alice", AvailabilityStatus.BUSY, 3L), bob));
+        readModel.rebuild();
+
+        // When
+        when(userRepository.findAllById(any()))
+                .thenReturn(List.of(user(1L, "alice", AvailabilityStatus.AVAILABLE, 2L)))
+                .thenReturn(List.of());
+        readModel.onUserChanged(new UserChangedEvent(null, new UserDTO(1L, "alice", "alice@example.com", AvailabilityStatus.AVAILABLE)));
+        runRefreshes();
+        readModel.onUserChanged(new UserChangedEvent(new UserDTO(2L, "bob", "bob@example.com", AvailabilityStatus.BUSY), null));
+        runRefreshes();
+
+        // Then
+        assertTrue(readModel.findVersionedAvailableUsers().orElseThrow().body().isEmpty());
+        assertTrue(readModel.findVersionedTasksByAssignee(2L).isEmpty());
+        assertTrue(readModel.findVersionedTasksByAssignee(1L).isPresent());
+    }
+
+    @Test
+    void onUserChanged_ShouldRefreshOnExecutorOncePerBurst() {
+        // Given
+        loadEmpty();
+
+        // When
+        readModel.onUserChanged(new UserChangedEvent(null, new UserDTO(1L, "alice", "alice@example.com", AvailabilityStatus.BUSY)));
+        readModel.onUserChanged(new UserChangedEvent(null, new UserDTO(2L, "bob", "bob@example.com", AvailabilityStatus.AVAILABLE)));
+
+        // Then
+        verify(userRepository, never()).findAllById(any());
+        assertEquals(1, refreshes.size());
+
+        // When
+        when(userRepository.findAllById(any())).thenReturn(List.of(
+                user(1L, "alice", AvailabilityStatus.BUSY, 1L), user(2L, "bob", AvailabilityStatus.AVAILABLE, 1L)));
+        runRefreshes();
+
+        // Then
+        verify(userRepository, times(1)).findAllById(any());
+        assertEquals(List.of(2L), userIds(readModel.findVersionedAvailableUsers().orElseThrow().body()));
+    }
+
+    @Test
+    void reconcile_ShouldReadOnlyChangedTasksAndDropDeletedOnes() {
+        // Given
+        when(userRepository.findAll()).thenReturn(List.of(alice, bob));
+        when(taskRepository.findPageAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                task(1L, PriorityLevel.HIGH, alice, null), task(2L, PriorityLevel.HIGH, alice, null),
+                task(3L, PriorityLevel.LOW, bob, null)));
+        readModel.rebuild();
+        Task changed = task(2L, PriorityLevel.LOW, bob, null);
+        changed.setVersion(1L);
+        when(taskRepository.findVersionsAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(version(1L, 0L), version(2L, 1L), version(4L, 0L)));
+        when(taskRepository.findAllById(List.of(2L, 4L)))
+                .thenReturn(List.of(changed, task(4L, PriorityLevel.URGENT, null, null)));
+
+        // When
+        readModel.reconcile();
+
+        // Then
+        assertEquals(List.of(1L), ids(readModel.findVersionedTasksByPriority(PriorityLevel.HIGH).orElseThrow().body()));
+        assertEquals(List.of(2L), ids(readModel.findVersionedTasksByPriority(PriorityLevel.LOW).orElseThrow().body()));
+        assertEquals(List.of(4L), ids(readModel.findVersionedTasksByPriority(PriorityLevel.URGENT).orElseThrow().body()));
+        assertTrue(readModel.findVersionedTask(3L).isEmpty());
+        assertEquals(List.of(2L), ids(readModel.findVersionedTasksByAssignee(2L).orElseThrow().body()));
+    }
+
+    @Test
+    void reconcile_ShouldKeepChangesCommittedWhileItReads() {
+        // Given
+        when(userRepository.findAll()).thenReturn(List.of(alice, bob));
+        when(taskRepository.findPageAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                task(1L, PriorityLevel.HIGH, alice, null), task(2L, PriorityLevel.HIGH, alice, null)));
+        readModel.rebuild();
+        when(taskRepository.findVersionsAfter(eq(0L), any(Pageable.class))).thenAnswer(invocation -> {
+            // Committed after the scan started: task 1 is still listed, task 3 is not yet
+            readModel.onTasksRemoved(new TasksRemovedEvent(List.of(summary(1L, 1L))));
+            readModel.onTaskChanged(new TaskChangedEvent(null, dto(3L, PriorityLevel.HIGH, 2L, false)));
+            return List.of(version(1L, 0L), version(2L, 0L));
+        });
+
+        // When
+        readModel.reconcile();
+        // Task 3 gets its version back only if the reconcile kept its row
+        when(taskRepository.findAllById(List.of(3L))).thenReturn(List.of(task(3L, PriorityLevel.HIGH, bob, null)));
+        when(userRepository.findAllById(any())).thenReturn(List.of(alice, bob));
+        runRefreshes();
+
+        // Then
+        assertEquals(List.of(2L, 3L), ids(readModel.findVersionedTasksByPriority(PriorityLevel.HIGH).orElseThrow().body()));
+        assertEquals(List.of(3L), ids(readModel.findVersionedTasksByAssignee(2L).orElseThrow().body()));
+    }
+
+    @Test
+    void rebuild_ShouldKeepChangesCommittedWhileItLoads() {
+        // Given
+        when(userRepository.findAll()).thenReturn(List.of(alice, bob));
+        when(taskRepository.findPageAfter(eq(0L), any(Pageable.class))).thenAnswer(invocation -> {
+            readModel.onTasksDoneChanged(new TasksDoneChangedEvent(List.of(summary(1L, 1L)), true));
+            return List.of(task(1L, PriorityLevel.HIGH, alice, null));
+        });
+
+        // When
+        readModel.rebuild();
+
+        // Then
+        assertTrue(readModel.findVersionedTask(1L).isEmpty());
+
+        // When
+        Task done = task(1L, PriorityLevel.HIGH, alice, null);
+        done.setDone(true);
+        done.setVersion(1L);
+        when(taskRepository.findAllById(any())).thenReturn(List.of(done));
+        when(userRepository.findAllById(any())).thenReturn(List.of(alice));
+        runRefreshes();
+
+        // Then
+        assertTrue(readModel.findVersionedTask(1L).orElseThrow().body().done());
+    }
+
+    @Test
+    void rebuild_WithSnapshot_ShouldCatchUpInsteadOfLoadingAllTasks(@TempDir Path dir) {
+        // Given
+        Path snapshot = dir.resolve("read-model.bin");
+        ReflectionTestUtils.setField(readModel, "snapshotPath", snapshot.toString());
+        when(userRepository.findAll()).thenReturn(List.of(alice, bob));
+        LocalDateTime created = LocalDateTime.of(2024, 5, 1, 10, 30, 15, 123_456_789);
+        when(taskRepository.findPageAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                task(1L, PriorityLevel.HIGH, alice, created), task(2L, null, null, null)));
+        readModel.rebuild();
+        readModel.writeSnapshot();
+
+        TaskReadModel restarted = newReadModel();
+        ReflectionTestUtils.setField(restarted, "snapshotPath", snapshot.toString());
+        when(taskRepository.findVersionsAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(version(1L, 0L), version(2L, 0L)));
+
+        // When
+        restarted.rebuild();
+
+        // Then
+        assertTrue(restarted.isReady());
+        TaskDTO first = restarted.findVersionedTask(1L).orElseThrow().body();
+        assertEquals(created, first.creationTimestamp());
+        assertEquals("alice", first.assignedUserName());
+        assertNull(restarted.findVersionedTask(2L).orElseThrow().body().description());
+        verify(taskRepository, times(1)).findPageAfter(anyLong(), any(Pageable.class));
+        verify(taskRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void rebuild_WithCorruptedSnapshot_ShouldLoadFromDatabase(@TempDir Path dir) throws Exception {
+        // Given
+        Path snapshot = dir.resolve("read-model.bin");
+        Files.write(snapshot, new byte[64]);
+        ReflectionTestUtils.setField(readModel, "snapshotPath", snapshot.toString());
+        when(userRepository.findAll()).thenReturn(List.of(alice));
+        when(taskRepository.findPageAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                task(1L, PriorityLevel.HIGH, alice, null)));
+
+        // When
+        readModel.rebuild();
+
+        // Then
+        assertTrue(readModel.findVersionedTask(1L).isPresent());
+        verify(taskRepository, never()).findVersionsAfter(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void refresh_ShouldDropDeletedTasksAndNeverGoBackAVersion() {
+        // Given
+        when(userRepository.findAll()).thenReturn(List.of(alice, bob));
+        when(taskRepository.findPageAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                task(1L, PriorityLevel.HIGH, alice, null), task(2L, PriorityLevel.HIGH, alice, null)));
+        readModel.rebuild();
+        Task older = task(1L, PriorityLevel.MEDIUM, alice, null);
+        older.setVersion(1L);
+        Task newer = task(1L, PriorityLevel.URGENT, alice, null);
+        newer.setVersion(2L);
+        AtomicInteger reads = new AtomicInteger();
+        when(taskRepository.findAllById(any())).thenAnswer(invocation -> {
+            if (reads.incrementAndGet() > 1) {
+                return List.of(newer);
+            }
+            // A newer commit is applied and refreshed while this refresh is still reading
+            readModel.onTasksPriorityChanged(new TasksPriorityChangedEvent(List.of(summary(1L, 1L)), Map.of(1L, PriorityLevel.URGENT)));
+            runRefreshes();
+            return List.of(older);
+        });
+
+        // When
+        readModel.onTasksPriorityChanged(new TasksPriorityChangedEvent(
+                List.of(summary(1L, 1L), summary(2L, 1L)), Map.of(1L, PriorityLevel.MEDIUM, 2L, PriorityLevel.MEDIUM)));
+        runRefreshes();
+
+        // Then
+        Versioned<TaskDTO> refreshed = readModel.findVersionedTask(1L).orElseThrow();
+        assertEquals("2-0", refreshed.version());
+        assertEquals(PriorityLevel.URGENT, refreshed.body().priorityLevel());
+        assertTrue(readModel.findVersionedTask(2L).isEmpty());
+        assertEquals("1-1-2-0", readModel.findTasksByAssigneeVersion(1L).orElseThrow());
+    }
+
+    @Test
+    void versionedFinders_WhenNotReady_ShouldBeEmpty() {
+        // When & Then
+        assertTrue(readModel.findTaskVersion(1L).isEmpty());
+        assertTrue(readModel.findVersionedAvailableUsers().isEmpty());
+        verifyNoInteractions(taskRepository, userRepository);
+    }
+
+    private TaskReadModel newReadModel() {
+        TaskReadModel model = new TaskReadModel(taskRepository, userRepository, transactionManager,
+                new SimpleMeterRegistry(), refreshes::add, responseCache);
+        ReflectionTestUtils.setField(model, "enabled", true);
+        return model;
+    }
+
+    private void runRefreshes() {
+        List<Runnable> pending = new ArrayList<>(refreshes);
+        refreshes.clear();
+        pending.forEach(Runnable::run);
+    }
+
+    private void loadEmpty() {
+        when(userRepository.findAll()).thenReturn(List.of(alice, bob));
+        readModel.rebuild();
+    }
+
+    private List<Long> ids(List<TaskDTO> tasks) {
+        return tasks.stream().map(TaskDTO::id).toList();
+    }
+
+    private List<Long> userIds(List<UserDTO> users) {
+        return users.stream().map(UserDTO::id).toList();
+    }
+
+    private User user(Long id, String username, AvailabilityStatus status, Long version) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setAvailabilityStatus(status);
+        ReflectionTestUtils.setField(user, "version", version);
+        return user;
+    }
+
+    private Task task(Long id, PriorityLevel priorityLevel, User assignee, LocalDateTime created) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setPriorityLevel(priorityLevel);
+        task.setAssignedUser(assignee);
+        task.setCreationTimestamp(created);
+        return task;
+    }
+
+    private TaskVersionRow version(Long id, Long version) {
+        return new TaskVersionRow() {
+            public Long getId() {
+                return id;
+            }
+
+            public Long getVersion() {
+                return version;
+            }
+        };
+    }
+
+    private TaskDTO dto(Long id, PriorityLevel priorityLevel, Long userId, boolean done) {
+        return new TaskDTO(id, "Task " + id, "Description", priorityLevel, LocalDateTime.now(), userId, null, done);
+    }
+
+    private TaskSummaryDTO summary(Long id, Long userId) {
+        return new TaskSummaryDTO(id, "Task " + id, PriorityLevel.LOW, LocalDateTime.now(), userId, false);
+    }
+}
@@ -0,0 +1,141 @@
+package com.taskmanager.search;
+
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.dto.TaskSummaryDTO;
+import com.taskmanager.dto.TaskTextProjection;
+import com.taskmanager.enums.PriorityLevel;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.event.TasksRemovedEvent;
+import com.taskmanager.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskSearchIndexTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @InjectMocks
+    private TaskSearchIndex taskSearchIndex;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(taskSearchIndex, "indexDir", "");
+        taskSearchIndex.open();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        taskSearchIndex.close();
+    }
+
+    @Test
+    void rebuild_ShouldIndexTasksFromDatabase() throws Exception {
+        // Given
+        when(taskRepository.findTextAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(Arrays.asList(text(1L, "Deploy release", "Roll out to production")));
+
+        // When
+        taskSearchIndex.rebuild();
+
+        // Then
+        assertEquals(List.of(1L), taskSearchIndex.search("deploy", 0, 10).taskIds());
+    }
+
+    @Test
+    void search_ShouldRankTitleMatchesAboveDescriptionMatches() {
+        // Given
+        index(1L, "Write report", "Mentions the database once");
+        index(2L, "Database migration", "Move tables");
+
+        // When
+        TaskSearchIndex.Hits hits = taskSearchIndex.search("database", 0, 10);
+
+        // Then
+        assertEquals(Arrays.asList(2L, 1L), hits.taskIds());
+        assertEquals(2, hits.totalHits());
+    }
+
+    @Test
+    void search_ShouldMatchPrefixesAndRequireEveryWord() {
+        // Given
+        index(1L, "Database migration", "Move tables");
+        index(2L, "Database backup", "Nightly");
+
+        // When & Then
+        assertEquals(List.of(1L), taskSearchIndex.search("data migr", 0, 10).taskIds());
+        assertEquals(2, taskSearchIndex.search("datab", 0, 10).taskIds().size());
+    }
+
+    @Test
+    void search_ShouldReflectUpdatesAndDeletes() {
+        // Given
+        index(1L, "Old title", "Text");
+        index(2L, "Another old one", "Text");
+
+        // When
+        TaskDTO before = task(1L, "Old title", "Text");
+        taskSearchIndex.onTaskChanged(new TaskChangedEvent(before, task(1L, "Renamed", "Text")));
+        taskSearchIndex.onTasksRemoved(new TasksRemovedEvent(List.of(
+                new TaskSummaryDTO(2L, "Another old one", PriorityLevel.MEDIUM, LocalDateTime.now(), null, false))));
+
+        // Then
+        assertTrue(taskSearchIndex.search("old", 0, 10).taskIds().isEmpty());
+        assertEquals(List.of(1L), taskSearchIndex.search("renamed", 0, 10).taskIds());
+    }
+
+    @Test
+    void search_ShouldPageByOffset() {
+        // Given
+        index(1L, "Task one", "");
+        index(2L, "Task two", "");
+        index(3L, "Task three", "");
+
+        // When
+        TaskSearchIndex.Hits hits = taskSearchIndex.search("task", 2, 2);
+
+        // Then
+        assertEquals(1, hits.taskIds().size());
+        assertEquals(3, hits.totalHits());
+    }
+
+    private void index(Long id, String title, String description) {
+        taskSearchIndex.onTaskChanged(new TaskChangedEvent(null, task(id, title, description)));
+    }
+
+    private TaskDTO task(Long id, String title, String description) {
+        return new TaskDTO(id, title, description, PriorityLevel.MEDIUM, LocalDateTime.now(), null, null, false);
+    }
+
+    private TaskTextProjection text(Long id, String title, String description) {
+        return new TaskTextProjection() {
+            public Long getId() {
+                return id;
+            }
+
+            public String getTitle() {
+                return title;
+            }
+
+            public String getDescription() {
+                return description;
+            }
+        };
+    }
+}
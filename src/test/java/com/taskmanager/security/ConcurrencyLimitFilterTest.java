@@ -0,0 +1,154 @@
+package com.taskmanager.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.readmodel.TaskReadModel;
+import com.taskmanager.service.TaskCreationBatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimitFilterTest {
+
+    @Mock
+    private TaskReadModel taskReadModel;
+
+    @Mock
+    private TaskCreationBatcher taskCreationBatcher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrencyLimitFilter filter;
+    private CountDownLatch inside;
+    private CountDownLatch release;
+    private Thread slow;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ConcurrencyLimitFilter(new ObjectMapper().findAndRegisterModules(), taskReadModel, taskCreationBatcher,
+                meterRegistry);
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "maxConcurrentRequests", 1);
+        ReflectionTestUtils.setField(filter, "concurrencyPaths", List.of("/api/**"));
+        ReflectionTestUtils.setField(filter, "exemptPaths", List.of("/api/presence/**"));
+        ReflectionTestUtils.setField(filter, "readModelPaths", List.of("/api/tasks/{id:[0-9]+}", "/api/users/available"));
+        filter.init();
+        inside = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        if (slow != null) {
+            slow.join();
+        }
+    }
+
+    @Test
+    void request_WhenConcurrencyLimitReached_ShouldBeShed() throws Exception {
+        // Given
+        holdOnlyPermit();
+
+        // When
+        MockHttpServletResponse shed = perform(request("GET", "/api/tasks"));
+        release.countDown();
+        slow.join();
+        MockHttpServletResponse after = perform(request("GET", "/api/tasks"));
+
+        // Then
+        assertEquals(429, shed.getStatus());
+        assertEquals("1", shed.getHeader("Retry-After"));
+        assertEquals(200, after.getStatus());
+        assertEquals(1.0, meterRegistry.get("http.server.requests.rejected").tag("reason", "concurrency").counter().count());
+    }
+
+    @Test
+    void heartbeats_ShouldNotNeedAPermit() throws Exception {
+        // Given
+        holdOnlyPermit();
+
+        // When
+        MockHttpServletResponse heartbeat = perform(request("POST", "/api/presence/heartbeat"));
+
+        // Then
+        assertEquals(200, heartbeat.getStatus());
+    }
+
+    @Test
+    void readModelReads_ShouldNeedAPermitOnlyWhileTheModelIsNotReady() throws Exception {
+        // Given
+        holdOnlyPermit();
+        when(taskReadModel.isReady()).thenReturn(false, true);
+
+        // When
+        MockHttpServletResponse notReady = perform(request("GET", "/api/tasks/5"));
+        MockHttpServletResponse ready = perform(request("GET", "/api/tasks/5"));
+        MockHttpServletResponse search = perform(request("GET", "/api/tasks/search"));
+
+        // Then
+        assertEquals(429, notReady.getStatus());
+        assertEquals(200, ready.getStatus());
+        assertEquals(429, search.getStatus());
+    }
+
+    @Test
+    void batchedCreations_ShouldNotNeedAPermit() throws Exception {
+        // Given
+        holdOnlyPermit();
+        when(taskCreationBatcher.isEnabled()).thenReturn(true);
+        MockHttpServletRequest unassigned = request("POST", "/api/tasks");
+        unassigned.setParameter("autoAssign", "false");
+
+        // When
+        MockHttpServletResponse batched = perform(request("POST", "/api/tasks"));
+        MockHttpServletResponse direct = perform(unassigned);
+
+        // Then
+        assertEquals(200, batched.getStatus());
+        assertEquals(429, direct.getStatus());
+    }
+
+    private void holdOnlyPermit() throws InterruptedException {
+        slow = new Thread(() -> {
+            try {
+                filter.doFilter(request("GET", "/api/tasks"), new MockHttpServletResponse(), (req, res) -> {
+                    inside.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        slow.start();
+        assertTrue(inside.await(5, TimeUnit.SECONDS));
+    }
+
+    private MockHttpServletRequest request(String method, String uri) {
+        return new MockHttpServletRequest(method, uri);
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> { });
+        return response;
+    }
+}
@@ -0,0 +1,108 @@
+package com.taskmanager.security;
+
+import com.taskmanager.service.PresenceTracker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthFilterTest {
+
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
+    @Mock
+    private PresenceTracker presenceTracker;
+
+    private JwtUtil jwtUtil;
+    private JwtAuthFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "testSecret");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 60_000L);
+        filter = new JwtAuthFilter(jwtUtil, userDetailsService, presenceTracker);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void heartbeat_WhenPresenceEnabled_ShouldAuthenticateFromTokenAlone() throws Exception {
+        // Given
+        when(presenceTracker.isEnabled()).thenReturn(true);
+
+        // When
+        Authentication authentication = perform("/api/presence/heartbeat", "testuser");
+
+        // Then
+        assertEquals("testuser", authentication.getName());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void heartbeat_WhenPresenceDisabled_ShouldLoadTheUser() throws Exception {
+        // Given
+        when(presenceTracker.isEnabled()).thenReturn(false);
+        when(userDetailsService.loadUserByUsername("testuser"))
+                .thenReturn(new User("testuser", "hashed", List.of()));
+
+        // When
+        Authentication authentication = perform("/api/presence/heartbeat", "testuser");
+
+        // Then
+        assertEquals("testuser", authentication.getName());
+        verify(userDetailsService, times(1)).loadUserByUsername("testuser");
+    }
+
+    @Test
+    void heartbeat_WhenPresenceDisabledAndUserDeleted_ShouldNotAuthenticate() {
+        // Given
+        when(presenceTracker.isEnabled()).thenReturn(false);
+        when(userDetailsService.loadUserByUsername("deleted"))
+                .thenThrow(new UsernameNotFoundException("User not found with username: deleted"));
+
+        // When & Then
+        assertThrows(UsernameNotFoundException.class, () -> perform("/api/presence/heartbeat", "deleted"));
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void otherRequest_ShouldAlwaysLoadTheUser() throws Exception {
+        // Given
+        when(userDetailsService.loadUserByUsername("testuser"))
+                .thenReturn(new User("testuser", "hashed", List.of()));
+
+        // When
+        perform("/api/tasks", "testuser");
+
+        // Then
+        verify(userDetailsService, times(1)).loadUserByUsername("testuser");
+    }
+
+    private Authentication perform(String uri, String username) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.addHeader("Authorization", "Bearer " + jwtUtil.generateToken(username));
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,123 @@
+package com.taskmanager.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+    private AtomicInteger passed;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter(new ObjectMapper().findAndRegisterModules(), meterRegistry);
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        // One token per hour, so nothing refills while the test runs
+        ReflectionTestUtils.setField(filter, "ruleSpecs", List.of("/api/auth/**=0.0003:1"));
+        ReflectionTestUtils.setField(filter, "defaultLimit", "0.0003:2");
+        filter.init();
+        passed = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void request_OverBurst_ShouldBeRejectedWithRetryAfter() throws Exception {
+        // Given
+        authenticate("alice");
+
+        // When
+        perform(get("/api/tasks"));
+        perform(get("/api/tasks"));
+        MockHttpServletResponse rejected = perform(get("/api/tasks"));
+
+        // Then
+        assertEquals(2, passed.get());
+        assertEquals(429, rejected.getStatus());
+        assertNotNull(rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains("\"status\":429"));
+        assertEquals(1.0, meterRegistry.get("http.server.requests.rejected").tag("reason", "rate-limit").counter().count());
+    }
+
+    @Test
+    void buckets_ShouldBeSeparatePerUserAndRule() throws Exception {
+        // When
+        authenticate("alice");
+        perform(get("/api/tasks"));
+        perform(get("/api/tasks"));
+        MockHttpServletResponse aliceAuth = perform(get("/api/auth/login"));
+        authenticate("bob");
+        MockHttpServletResponse bob = perform(get("/api/tasks"));
+
+        // Then
+        assertEquals(200, aliceAuth.getStatus());
+        assertEquals(200, bob.getStatus());
+        assertEquals(4, passed.get());
+    }
+
+    @Test
+    void anonymousRequests_ShouldBeLimitedPerClientAddress() throws Exception {
+        // Given
+        MockHttpServletRequest first = get("/api/auth/login");
+        MockHttpServletRequest second = get("/api/auth/login");
+        MockHttpServletRequest otherClient = get("/api/auth/login");
+        otherClient.setRemoteAddr("10.0.0.2");
+
+        // When
+        perform(first);
+        MockHttpServletResponse rejected = perform(second);
+        MockHttpServletResponse other = perform(otherClient);
+
+        // Then
+        assertEquals(429, rejected.getStatus());
+        assertEquals(200, other.getStatus());
+    }
+
+    @Test
+    void acquireToken_ShouldRefillLazily() {
+        // Given
+        RateLimitFilter.Rule rule = new RateLimitFilter.Rule("/**", 1, 1);
+        long now = 0;
+
+        // When & Then
+        assertEquals(0, filter.acquireToken("key", rule, now));
+        assertTrue(filter.acquireToken("key", rule, now) > 0);
+        assertEquals(0, filter.acquireToken("key", rule, now + TimeUnit.SECONDS.toNanos(1)));
+        assertEquals(1, filter.bucketCount());
+    }
+
+    private void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+
+    private MockHttpServletRequest get(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> passed.incrementAndGet();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
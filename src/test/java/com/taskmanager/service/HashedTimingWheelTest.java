@@ -0,0 +1,83 @@
+package com.taskmanager.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedTimingWheelTest {
+
+    @Test
+    void advance_ShouldFireTimersOnlyOnceTheirDeadlineHasPassed() {
+        // Given
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 8, 0);
+        wheel.schedule("a", 250);
+        wheel.schedule("b", 500);
+        List<String> fired = new ArrayList<>();
+
+        // When & Then
+        wheel.advance(249, fired::add);
+        assertTrue(fired.isEmpty());
+        wheel.advance(300, fired::add);
+        assertEquals(List.of("a"), fired);
+        wheel.advance(1000, fired::add);
+        assertEquals(List.of("a", "b"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_ShouldKeepTimersMoreThanOneLapAwayForTheirRemainingRounds() {
+        // Given
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 4, 0);
+        wheel.schedule("far", 1_050);
+        List<String> fired = new ArrayList<>();
+
+        // When & Then
+        wheel.advance(1_000, fired::add);
+        assertTrue(fired.isEmpty());
+        wheel.advance(1_100, fired::add);
+        assertEquals(List.of("far"), fired);
+    }
+
+    @Test
+    void advance_WithPastDeadline_ShouldFireOnTheNextTick() {
+        // Given
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 8, 0);
+        wheel.advance(1_000, item -> fail());
+        wheel.schedule("late", 200);
+        List<String> fired = new ArrayList<>();
+
+        // When & Then
+        wheel.advance(1_000, fired::add);
+        assertTrue(fired.isEmpty());
+        wheel.advance(1_100, fired::add);
+        assertEquals(List.of("late"), fired);
+    }
+
+    @Test
+    void cancel_ShouldDropTimerAndReportWhetherItWasStillPending() {
+        // Given
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 8, 0);
+        HashedTimingWheel<String>.Timeout cancelled = wheel.schedule("cancelled", 200);
+        HashedTimingWheel<String>.Timeout fires = wheel.schedule("fires", 200);
+        List<String> fired = new ArrayList<>();
+
+        // When
+        assertTrue(cancelled.cancel());
+        wheel.advance(300, fired::add);
+
+        // Then
+        assertEquals(List.of("fires"), fired);
+        assertFalse(cancelled.cancel());
+        assertFalse(fires.cancel());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void constructor_WithBucketCountNotPowerOfTwo_ShouldThrowException() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> new HashedTimingWheel<String>(100, 6, 0));
+    }
+}
@@ -0,0 +1,214 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.UserDTO;
+import com.taskmanager.enums.AvailabilityStatus;
+import com.taskmanager.event.UserChangedEvent;
+import com.taskmanager.event.UsersPresenceChangedEvent;
+import com.taskmanager.exception.ResourceNotFoundException;
+import com.taskmanager.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PresenceTrackerTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private PresenceTracker presenceTracker;
+    private long start;
+
+    @BeforeEach
+    void setUp() {
+        presenceTracker = new PresenceTracker(userRepository, transactionTemplate, eventPublisher, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(presenceTracker, "enabled", true);
+        ReflectionTestUtils.setField(presenceTracker, "timeoutMs", 30_000L);
+        ReflectionTestUtils.setField(presenceTracker, "tickMs", 1_000L);
+        presenceTracker.init();
+        start = System.currentTimeMillis();
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void heartbeat_ShouldWriteOnlyTheTransitionToOnline() {
+        // Given
+        presenceTracker.heartbeat(1L, start);
+        presenceTracker.heartbeat(1L, start + 1_000);
+
+        // When
+        presenceTracker.tick(start + 2_000);
+        presenceTracker.heartbeat(1L, start + 3_000);
+        presenceTracker.tick(start + 4_000);
+
+        // Then
+        verify(userRepository, times(1)).markOnline(List.of(1L));
+        verify(userRepository, never()).markOffline(any());
+        assertTrue(presenceTracker.isOnline(1L));
+        ArgumentCaptor<UsersPresenceChangedEvent> event = ArgumentCaptor.forClass(UsersPresenceChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertEquals(List.of(1L), event.getValue().getOnline());
+    }
+
+    @Test
+    void tick_WhenHeartbeatsStop_ShouldMarkUserOfflineAfterTimeout() {
+        // Given
+        presenceTracker.heartbeat(1L, start);
+        presenceTracker.heartbeat(2L, start);
+        presenceTracker.tick(start);
+        presenceTracker.heartbeat(2L, start + 20_000);
+
+        // When
+        presenceTracker.tick(start + 32_000);
+
+        // Then
+        assertFalse(presenceTracker.isOnline(1L));
+        assertTrue(presenceTracker.isOnline(2L));
+        verify(userRepository, times(1)).markOffline(List.of(1L));
+
+        // And the re-armed timer of the second user expires from its last heartbeat
+        presenceTracker.tick(start + 52_000);
+        assertFalse(presenceTracker.isOnline(2L));
+        verify(userRepository, times(1)).markOffline(List.of(2L));
+    }
+
+    @Test
+    void tick_WhenUserComesBackBeforeFlush_ShouldWriteNothingForIt() {
+        // Given
+        presenceTracker.heartbeat(1L, start);
+        presenceTracker.tick(start);
+        clearInvocations(userRepository);
+
+        // When
+        presenceTracker.tick(start + 31_000);
+        presenceTracker.heartbeat(1L, start + 31_500);
+        presenceTracker.tick(start + 32_000);
+
+        // Then
+        verify(userRepository, times(1)).markOffline(List.of(1L));
+        verify(userRepository, times(1)).markOnline(List.of(1L));
+        assertTrue(presenceTracker.isOnline(1L));
+    }
+
+    @Test
+    void tick_WhenWriteFails_ShouldRetryOnNextTick() {
+        // Given
+        presenceTracker.heartbeat(1L, start);
+        when(userRepository.markOnline(any())).thenThrow(new RuntimeException("db down")).thenReturn(1);
+
+        // When
+        presenceTracker.tick(start);
+        presenceTracker.tick(start + 1_000);
+
+        // Then
+        verify(userRepository, times(2)).markOnline(List.of(1L));
+    }
+
+    @Test
+    void seed_ShouldGiveOnlineUsersOneTimeoutToReport() {
+        // Given
+        when(userRepository.findOnlineIds()).thenReturn(List.of(1L, 2L));
+
+        // When
+        presenceTracker.seed();
+        presenceTracker.heartbeat(2L, start + 20_000);
+        presenceTracker.tick(start + 31_000);
+
+        // Then
+        verify(userRepository, times(1)).markOffline(List.of(1L));
+        verify(userRepository, never()).markOnline(any());
+    }
+
+    @Test
+    void heartbeat_ShouldResolveUsernameOnce() {
+        // Given
+        when(userRepository.findIdByUsername("testuser")).thenReturn(Optional.of(1L));
+
+        // When
+        presenceTracker.heartbeat("testuser");
+        presenceTracker.heartbeat("testuser");
+
+        // Then
+        verify(userRepository, times(1)).findIdByUsername("testuser");
+        assertTrue(presenceTracker.isOnline(1L));
+    }
+
+    @Test
+    void onUserChanged_WhenUserDeleted_ShouldForgetTheNameAndTakeThemOffline() {
+        // Given
+        UserDTO deleted = new UserDTO(1L, "testuser", "test@example.com", AvailabilityStatus.AVAILABLE);
+        when(userRepository.findIdByUsername("testuser")).thenReturn(Optional.of(1L), Optional.empty());
+        presenceTracker.heartbeat("testuser");
+
+        // When
+        presenceTracker.onUserChanged(new UserChangedEvent(deleted, null));
+        presenceTracker.tick(System.currentTimeMillis());
+
+        // Then
+        assertFalse(presenceTracker.isOnline(1L));
+        assertThrows(ResourceNotFoundException.class, () -> presenceTracker.heartbeat("testuser"));
+        verify(userRepository, never()).markOnline(any());
+    }
+
+    @Test
+    void onUserChanged_WhenUserRenamed_ShouldResolveTheOldNameAgain() {
+        // Given
+        UserDTO before = new UserDTO(1L, "testuser", "test@example.com", AvailabilityStatus.AVAILABLE);
+        UserDTO after = new UserDTO(1L, "renamed", "test@example.com", AvailabilityStatus.AVAILABLE);
+        when(userRepository.findIdByUsername("testuser")).thenReturn(Optional.of(1L), Optional.empty());
+        presenceTracker.heartbeat("testuser");
+
+        // When
+        presenceTracker.onUserChanged(new UserChangedEvent(before, after));
+
+        // Then
+        assertTrue(presenceTracker.isOnline(1L));
+        assertThrows(ResourceNotFoundException.class, () -> presenceTracker.heartbeat("testuser"));
+    }
+
+    @Test
+    void heartbeat_WithUnknownUser_ShouldThrowException() {
+        // Given
+        when(userRepository.findIdByUsername("ghost")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> presenceTracker.heartbeat("ghost"));
+    }
+
+    @Test
+    void heartbeat_WhenDisabled_ShouldDoNothing() {
+        // Given
+        ReflectionTestUtils.setField(presenceTracker, "enabled", false);
+
+        // When
+        presenceTracker.heartbeat("testuser");
+
+        // Then
+        verifyNoInteractions(userRepository);
+    }
+}
@@ -0,0 +1,98 @@
+package com.taskmanager.service;
+
+import com.taskmanager.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class SingleFlightTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void execute_WithConcurrentIdenticalCalls_ShouldRunLoaderOnce() throws Exception {
+        // Given
+        SingleFlight singleFlight = new SingleFlight(transactionManager);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            // When
+            Future<List<String>> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                loads.incrementAndGet();
+                loaderStarted.countDown();
+                await(release);
+                return List.of("result");
+            }));
+            assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+            Future<List<String>> follower1 = executor.submit(() -> singleFlight.execute("key", () -> {
+                loads.incrementAndGet();
+                return List.of("other");
+            }));
+            Future<List<String>> follower2 = executor.submit(() -> singleFlight.execute("key", () -> {
+                loads.incrementAndGet();
+                return List.of("other");
+            }));
+            Thread.sleep(100);
+            release.countDown();
+
+            // Then
+            assertEquals(List.of("result"), leader.get(5, TimeUnit.SECONDS));
+            assertEquals(List.of("result"), follower1.get(5, TimeUnit.SECONDS));
+            assertEquals(List.of("result"), follower2.get(5, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_AfterFlightCompletes_ShouldLoadAgain() {
+        // Given
+        SingleFlight singleFlight = new SingleFlight(transactionManager);
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        singleFlight.execute("key", loads::incrementAndGet);
+        int second = singleFlight.execute("key", loads::incrementAndGet);
+
+        // Then
+        assertEquals(2, second);
+    }
+
+    @Test
+    void execute_WhenLoaderFails_ShouldRethrowOriginalException() {
+        // Given
+        SingleFlight singleFlight = new SingleFlight(transactionManager);
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> singleFlight.execute("key", () -> {
+            throw new ResourceNotFoundException("missing");
+        }));
+        assertEquals("ok", singleFlight.execute("key", () -> "ok"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
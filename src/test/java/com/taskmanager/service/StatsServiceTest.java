@@ -0,0 +1,146 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.StatsDTO;
+import com.taskmanager.dto.UserStatusCountRow;
+import com.taskmanager.enums.AvailabilityStatus;
+import com.taskmanager.enums.PriorityLevel;
+import com.taskmanager.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatsServiceTest {
+
+    @Mock
+    private TaskCounters taskCounters;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TaskExecutor taskExecutor;
+
+    @InjectMocks
+    private StatsService statsService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(statsService, "ttlMs", 60_000L);
+    }
+
+    @Test
+    void getStats_ShouldCombineCountersWithGroupedUserCounts() {
+        // Given
+        when(taskCounters.count(any(PriorityLevel.class), anyBoolean())).thenReturn(0L);
+        when(taskCounters.count(PriorityLevel.HIGH, false)).thenReturn(2L);
+        when(taskCounters.count(PriorityLevel.HIGH, true)).thenReturn(1L);
+        when(taskCounters.count(PriorityLevel.LOW, false)).thenReturn(4L);
+        when(taskCounters.count(PriorityLevel.URGENT, false)).thenReturn(3L);
+        when(taskCounters.count(false)).thenReturn(9L);
+        when(taskCounters.count(true)).thenReturn(1L);
+        when(taskCounters.tasksByUser()).thenReturn(Map.of(1L, 3L, 2L, 4L));
+        when(userRepository.countGroupedByAvailability()).thenReturn(Arrays.asList(
+                userRow(AvailabilityStatus.AVAILABLE, 1),
+                userRow(AvailabilityStatus.BUSY, 1)));
+
+        // When
+        StatsDTO stats = statsService.getStats();
+
+        // Then
+        assertEquals(10, stats.getTotalTasks());
+        assertEquals(9, stats.getActiveTasks());
+        assertEquals(1, stats.getDoneTasks());
+        assertEquals(3, stats.getUnassignedTasks());
+        assertEquals(3L, stats.getTasksByPriority().get(PriorityLevel.HIGH));
+        assertEquals(0L, stats.getTasksByPriority().get(PriorityLevel.MEDIUM));
+        assertEquals(3L, stats.getTasksByAssignee().get(1L));
+        assertEquals(4L, stats.getTasksByAssignee().get(2L));
+        assertEquals(2, stats.getTotalUsers());
+        assertEquals(0L, stats.getUsersByAvailability().get(AvailabilityStatus.OFFLINE));
+    }
+
+    @Test
+    void getStats_WithinTtl_ShouldServeCachedSnapshot() {
+        // Given
+        when(userRepository.countGroupedByAvailability()).thenReturn(Collections.emptyList());
+
+        // When
+        StatsDTO first = statsService.getStats();
+        StatsDTO second = statsService.getStats();
+
+        // Then
+        assertSame(first, second);
+        verify(userRepository, times(1)).countGroupedByAvailability();
+        verifyNoInteractions(taskExecutor);
+    }
+
+    @Test
+    void getStats_WhenStale_ShouldReturnOldSnapshotAndRefreshInBackground() {
+        // Given
+        ReflectionTestUtils.setField(statsService, "ttlMs", 0L);
+        when(taskCounters.count(any(PriorityLevel.class), anyBoolean())).thenReturn(0L);
+        when(taskCounters.count(anyBoolean())).thenReturn(0L);
+        when(taskCounters.count(false)).thenReturn(0L, 5L);
+        when(userRepository.countGroupedByAvailability()).thenReturn(Collections.emptyList());
+        doAnswer(inv -> {
+            inv.<Runnable>getArgument(0).run();
+            return null;
+        }).when(taskExecutor).execute(any(Runnable.class));
+
+        // When
+        StatsDTO stale = statsService.getStats();
+        StatsDTO served = statsService.getStats();
+        StatsDTO refreshed = statsService.getStats();
+
+        // Then
+        assertEquals(0, stale.getTotalTasks());
+        assertSame(stale, served);
+        assertEquals(5, refreshed.getTotalTasks());
+    }
+
+    @Test
+    void getStats_WhenRefreshFails_ShouldKeepServingPreviousSnapshot() {
+        // Given
+        ReflectionTestUtils.setField(statsService, "ttlMs", 0L);
+        when(userRepository.countGroupedByAvailability())
+                .thenReturn(Collections.emptyList())
+                .thenThrow(new RuntimeException("db down"));
+        doAnswer(inv -> {
+            inv.<Runnable>getArgument(0).run();
+            return null;
+        }).when(taskExecutor).execute(any(Runnable.class));
+
+        // When
+        StatsDTO first = statsService.getStats();
+        StatsDTO afterFailure = statsService.getStats();
+
+        // Then
+        assertSame(first, afterFailure);
+    }
+
+    private UserStatusCountRow userRow(AvailabilityStatus status, long count) {
+        return new UserStatusCountRow() {
+            public AvailabilityStatus getAvailabilityStatus() {
+                return status;
+            }
+
+            public long getCount() {
+                return count;
+            }
+        };
+    }
+}
@@ -0,0 +1,148 @@
+package com.taskmanager.service;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.TaskArchive;
+import com.taskmanager.entity.User;
+import com.taskmanager.enums.AvailabilityStatus;
+import com.taskmanager.enums.PriorityLevel;
+import com.taskmanager.event.TasksRemovedEvent;
+import com.taskmanager.repository.TaskArchiveRepository;
+import com.taskmanager.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskArchiveServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskArchiveRepository taskArchiveRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private TaskArchiveService taskArchiveService;
+
+    @Captor
+    private ArgumentCaptor<List<TaskArchive>> archived;
+
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(taskArchiveService, "archiveAfterDays", 30);
+        ReflectionTestUtils.setField(taskArchiveService, "batchSize", 2);
+        ReflectionTestUtils.setField(taskArchiveService, "pauseMs", 0L);
+
+        User user = new User("testuser", "test@example.com", "encodedPassword", AvailabilityStatus.AVAILABLE);
+        user.setId(1L);
+
+        task = new Task("Old Task", "Done long ago", PriorityLevel.LOW, user);
+        task.setId(10L);
+        task.setDone(true);
+        task.setCompletionTimestamp(LocalDateTime.now().minusDays(45));
+    }
+
+    @Test
+    void archiveBatch_ShouldCopyTasksToArchiveAndDeleteThem() {
+        // Given
+        when(taskRepository.findCompletedBefore(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(Arrays.asList(task));
+
+        // When
+        int moved = taskArchiveService.archiveBatch(LocalDateTime.now().minusDays(30));
+
+        // Then
+        assertEquals(1, moved);
+        verify(taskArchiveRepository, times(1)).saveAll(archived.capture());
+        assertEquals(10L, archived.getValue().get(0).getTaskId());
+        assertEquals(1L, archived.getValue().get(0).getAssignedUserId());
+        assertEquals("testuser", archived.getValue().get(0).getAssignedUserName());
+        verify(taskRepository, times(1)).deleteAllByIdInBatch(Arrays.asList(10L));
+        ArgumentCaptor<TasksRemovedEvent> event = ArgumentCaptor.forClass(TasksRemovedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertEquals(Arrays.asList(10L), event.getValue().getTaskIds());
+    }
+
+    @Test
+    void archiveBatch_WhenNothingToArchive_ShouldNotWrite() {
+        // Given
+        when(taskRepository.findCompletedBefore(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+
+        // When
+        int moved = taskArchiveService.archiveBatch(LocalDateTime.now().minusDays(30));
+
+        // Then
+        assertEquals(0, moved);
+        verify(taskArchiveRepository, never()).saveAll(anyList());
+        verify(taskRepository, never()).deleteAllByIdInBatch(anyList());
+    }
+
+    @Test
+    void archiveCompletedTasks_ShouldRunBatchesUntilPartialBatch() {
+        // Given
+        Task other = new Task("Other", "Done", PriorityLevel.HIGH, null);
+        other.setId(11L);
+        Task last = new Task("Last", "Done", PriorityLevel.MEDIUM, null);
+        last.setId(12L);
+
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.<TransactionCallback<Integer>>getArgument(0).doInTransaction(null));
+        when(taskRepository.findCompletedBefore(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(Arrays.asList(task, other))
+                .thenReturn(Arrays.asList(last));
+
+        // When
+        taskArchiveService.archiveCompletedTasks();
+
+        // Then
+        verify(transactionTemplate, times(3)).execute(any());
+        verify(taskRepository, times(2)).deleteAllByIdInBatch(anyList());
+    }
+
+    @Test
+    void archiveCompletedTasks_ShouldBackfillMissingCompletionTimesFirst() {
+        // Given
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.<TransactionCallback<Integer>>getArgument(0).doInTransaction(null));
+        when(taskRepository.findCompletedBefore(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+
+        // When
+        taskArchiveService.archiveCompletedTasks();
+
+        // Then
+        ArgumentCaptor<LocalDateTime> backfilledAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(taskRepository).backfillCompletionTimestamps(backfilledAt.capture());
+        verify(taskRepository).findCompletedBefore(cutoff.capture(), any(Pageable.class));
+        assertEquals(backfilledAt.getValue().minusDays(30), cutoff.getValue());
+    }
+}
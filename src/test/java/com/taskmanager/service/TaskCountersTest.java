@@ -0,0 +1,258 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.TaskCountRow;
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.dto.TaskSummaryDTO;
+import com.taskmanager.enums.PriorityLevel;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.event.TasksDoneChangedEvent;
+import com.taskmanager.event.TasksPriorityChangedEvent;
+import com.taskmanager.event.TasksReassignedEvent;
+import com.taskmanager.event.TasksRemovedEvent;
+import com.taskmanager.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskCountersTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @InjectMocks
+    private TaskCounters taskCounters;
+
+    @Test
+    void rebuild_ShouldLoadGroupedCountsFromDatabase() {
+        // Given
+        when(taskRepository.countGroupedByPriorityDoneAndAssignee()).thenReturn(Arrays.asList(
+                row(PriorityLevel.HIGH, false, 1L, 2),
+                row(PriorityLevel.HIGH, true, 1L, 1),
+                row(PriorityLevel.LOW, false, null, 4)));
+
+        // When
+        taskCounters.rebuild();
+
+        // Then
+        assertEquals(2, taskCounters.activeTasks(1L));
+        assertEquals(3L, taskCounters.tasksByUser().get(1L));
+        assertEquals(2, taskCounters.count(PriorityLevel.HIGH, false));
+        assertEquals(1, taskCounters.count(PriorityLevel.HIGH, true));
+        assertEquals(6, taskCounters.count(false));
+        assertEquals(0, taskCounters.activeTasks(2L));
+    }
+
+    @Test
+    void reconcile_WhenCounterChangesWhileTheQueryRuns_ShouldLeaveItForTheNextRun() {
+        // Given
+        when(taskRepository.countGroupedByPriorityDoneAndAssignee())
+                .thenAnswer(invocation -> {
+                    // Committed before the query read its rows, applied after it started
+                    taskCounters.onTaskChanged(new TaskChangedEvent(null, task(PriorityLevel.HIGH, 1L, false)));
+                    return Arrays.asList(row(PriorityLevel.HIGH, false, 1L, 1), row(PriorityLevel.LOW, false, 2L, 2));
+                })
+                .thenReturn(Arrays.asList(row(PriorityLevel.HIGH, false, 1L, 1), row(PriorityLevel.LOW, false, 2L, 2)));
+
+        // When
+        taskCounters.reconcile();
+
+        // Then
+        assertEquals(1, taskCounters.activeTasks(1L));
+        assertEquals(2, taskCounters.activeTasks(2L));
+
+        // When
+        taskCounters.reconcile();
+
+        // Then
+        assertEquals(1, taskCounters.activeTasks(1L));
+        assertEquals(1, taskCounters.count(PriorityLevel.HIGH, false));
+    }
+
+    @Test
+    void reconcile_WhenChangeIsInFlight_ShouldNeverCountItTwice() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            taskCounters.onTaskChanged(new TaskChangedEvent(null, task(PriorityLevel.HIGH, 1L, false)));
+            // The query already sees the commit, the counters do not yet
+            when(taskRepository.countGroupedByPriorityDoneAndAssignee())
+                    .thenReturn(Arrays.asList(row(PriorityLevel.HIGH, false, 1L, 1), row(PriorityLevel.LOW, true, 2L, 4)));
+
+            // When
+            taskCounters.reconcile();
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertEquals(1, taskCounters.activeTasks(1L));
+        assertEquals(1, taskCounters.count(PriorityLevel.HIGH, false));
+        assertEquals(4L, taskCounters.tasksByUser().get(2L));
+    }
+
+    @Test
+    void onTaskChanged_WhenTransactionRollsBack_ShouldNotCount() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            taskCounters.onTaskChanged(new TaskChangedEvent(null, task(PriorityLevel.HIGH, 1L, false)));
+            assertEquals(0, taskCounters.activeTasks(1L));
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertEquals(0, taskCounters.activeTasks(1L));
+        assertEquals(0, taskCounters.count(false));
+    }
+
+    @Test
+    void onTaskChanged_ShouldMoveCountsFromBeforeToAfter() {
+        // Given
+        TaskDTO created = task(PriorityLevel.MEDIUM, 1L, false);
+        taskCounters.onTaskChanged(new TaskChangedEvent(null, created));
+
+        // When
+        TaskDTO reassignedAndDone = task(PriorityLevel.MEDIUM, 2L, true);
+        taskCounters.onTaskChanged(new TaskChangedEvent(created, reassignedAndDone));
+
+        // Then
+        assertEquals(0, taskCounters.activeTasks(1L));
+        assertEquals(0, taskCounters.activeTasks(2L));
+        assertEquals(1L, taskCounters.tasksByUser().get(2L));
+        assertFalse(taskCounters.tasksByUser().containsKey(1L));
+        assertEquals(0, taskCounters.count(PriorityLevel.MEDIUM, false));
+        assertEquals(1, taskCounters.count(PriorityLevel.MEDIUM, true));
+    }
+
+    @Test
+    void onTaskChanged_WhenDeleted_ShouldDecrementCounts() {
+        // Given
+        TaskDTO created = task(PriorityLevel.LOW, 1L, false);
+        taskCounters.onTaskChanged(new TaskChangedEvent(null, created));
+
+        // When
+        taskCounters.onTaskChanged(new TaskChangedEvent(created, null));
+
+        // Then
+        assertEquals(0, taskCounters.activeTasks(1L));
+        assertEquals(0, taskCounters.count(false));
+    }
+
+    @Test
+    void onTasksRemoved_ShouldSubtractRemovedTasks() {
+        // Given
+        taskCounters.onTaskChanged(new TaskChangedEvent(null, task(PriorityLevel.LOW, 1L, false)));
+        taskCounters.onTaskChanged(new TaskChangedEvent(null, task(PriorityLevel.LOW, 1L, false)));
+
+        // When
+        taskCounters.onTasksRemoved(new TasksRemovedEvent(List.of(summary(PriorityLevel.LOW, 1L, false))));
+
+        // Then
+        assertEquals(1, taskCounters.activeTasks(1L));
+        assertEquals(1, taskCounters.count(PriorityLevel.LOW, false));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void onTasksDoneChanged_ShouldMoveTasksToNewDoneState() {
+        // Given
+        taskCounters.onTaskChanged(new TaskChangedEvent(null, task(PriorityLevel.HIGH, 1L, false)));
+        taskCounters.onTaskChanged(new TaskChangedEvent(null, task(PriorityLevel.HIGH, 2L, false)));
+
+        // When
+        taskCounters.onTasksDoneChanged(new TasksDoneChangedEvent(List.of(
+                summary(PriorityLevel.HIGH, 1L, false), summary(PriorityLevel.HIGH, 2L, false)), true));
+
+        // Then
+        assertEquals(0, taskCounters.activeTasks(1L));
+        assertEquals(0, taskCounters.activeTasks(2L));
+        assertEquals(1L, taskCounters.tasksByUser().get(1L));
+        assertEquals(2, taskCounters.count(PriorityLevel.HIGH, true));
+    }
+
+    @Test
+    void onTasksReassigned_ShouldMoveActiveTasksToNewAssignees() {
+        // Given
+        taskCounters.onTaskChanged(new TaskChangedEvent(null, task(PriorityLevel.LOW, 1L, false)));
+        taskCounters.onTaskChanged(new TaskChangedEvent(null, task(PriorityLevel.LOW, 1L, false)));
+        Map<Long, Long> assignees = new HashMap<>();
+        assignees.put(10L, 2L);
+        assignees.put(11L, null);
+
+        // When
+        taskCounters.onTasksReassigned(new TasksReassignedEvent(List.of(
+                new TaskSummaryDTO(10L, "Task", PriorityLevel.LOW, LocalDateTime.now(), 1L, false),
+                new TaskSummaryDTO(11L, "Task", PriorityLevel.LOW, LocalDateTime.now(), 1L, false)), assignees));
+
+        // Then
+        assertEquals(0, taskCounters.activeTasks(1L));
+        assertEquals(1, taskCounters.activeTasks(2L));
+        assertEquals(2, taskCounters.count(PriorityLevel.LOW, false));
+    }
+
+    @Test
+    void onTasksPriorityChanged_ShouldMoveTasksToNewPriority() {
+        // Given
+        taskCounters.onTaskChanged(new TaskChangedEvent(null, task(PriorityLevel.LOW, 1L, false)));
+
+        // When
+        taskCounters.onTasksPriorityChanged(new TasksPriorityChangedEvent(
+                List.of(summary(PriorityLevel.LOW, 1L, false)), Map.of(1L, PriorityLevel.HIGH)));
+
+        // Then
+        assertEquals(0, taskCounters.count(PriorityLevel.LOW, false));
+        assertEquals(1, taskCounters.count(PriorityLevel.HIGH, false));
+        assertEquals(1, taskCounters.activeTasks(1L));
+    }
+
+    private TaskDTO task(PriorityLevel priorityLevel, Long userId, boolean done) {
+        return new TaskDTO(1L, "Task", "Description", priorityLevel, LocalDateTime.now(), userId, "user", done);
+    }
+
+    private TaskSummaryDTO summary(PriorityLevel priorityLevel, Long userId, boolean done) {
+        return new TaskSummaryDTO(1L, "Task", priorityLevel, LocalDateTime.now(), userId, done);
+    }
+
+    private TaskCountRow row(PriorityLevel priorityLevel, boolean done, Long assigneeId, long count) {
+        return new TaskCountRow() {
+            public PriorityLevel getPriorityLevel() {
+                return priorityLevel;
+            }
+
+            public boolean isDone() {
+                return done;
+            }
+
+            public Long getAssigneeId() {
+                return assigneeId;
+            }
+
+            public long getCount() {
+                return count;
+            }
+        };
+    }
+}
@@ -0,0 +1,208 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.CreateTaskRequest;
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.enums.PriorityLevel;
+import com.taskmanager.exception.BusinessLogicException;
+import com.taskmanager.exception.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskCreationBatcherTest {
+
+    @Mock
+    private TaskService taskService;
+
+    @InjectMocks
+    private TaskCreationBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(batcher, "enabled", true);
+        ReflectionTestUtils.setField(batcher, "batchSize", 3);
+        ReflectionTestUtils.setField(batcher, "maxDelayMs", 50L);
+        ReflectionTestUtils.setField(batcher, "queueCapacity", 3);
+        ReflectionTestUtils.setField(batcher, "waitTimeoutMs", 5000L);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        batcher.stop();
+    }
+
+    @Test
+    void submit_ShouldCreateConcurrentRequestsInOneBatch() throws Exception {
+        // Given
+        when(taskService.createTasks(anyList(), anyList())).thenAnswer(invocation -> {
+            List<CreateTaskRequest> requests = invocation.getArgument(0);
+            List<TaskDTO> created = new ArrayList<>();
+            for (CreateTaskRequest request : requests) {
+                created.add(task(request.title()));
+            }
+            return created;
+        });
+        batcher.start();
+
+        // When
+        CompletableFuture<TaskDTO> first = batcher.submit(request("A"), "alice");
+        CompletableFuture<TaskDTO> second = batcher.submit(request("B"), "alice");
+        CompletableFuture<TaskDTO> third = batcher.submit(request("C"), "alice");
+
+        // Then
+        assertEquals("A", first.get(5, TimeUnit.SECONDS).title());
+        assertEquals("B", second.get(5, TimeUnit.SECONDS).title());
+        assertEquals("C", third.get(5, TimeUnit.SECONDS).title());
+        verify(taskService, times(1)).createTasks(argThat(requests -> requests.size() == 3), anyList());
+    }
+
+    @Test
+    void submit_WhenNoCapacityLeft_ShouldFailOnlyThatRequest() throws Exception {
+        // Given
+        when(taskService.createTasks(anyList(), anyList())).thenAnswer(invocation -> {
+            List<CreateTaskRequest> requests = invocation.getArgument(0);
+            List<TaskDTO> created = new ArrayList<>();
+            for (CreateTaskRequest request : requests) {
+                created.add(request.title().equals("B") ? null : task(request.title()));
+            }
+            return created;
+        });
+        batcher.start();
+
+        // When
+        CompletableFuture<TaskDTO> first = batcher.submit(request("A"), "alice");
+        CompletableFuture<TaskDTO> second = batcher.submit(request("B"), "alice");
+
+        // Then
+        assertEquals("A", first.get(5, TimeUnit.SECONDS).title());
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(BusinessLogicException.class, failure.getCause());
+        assertEquals(TaskService.NO_USER_CAPACITY, failure.getCause().getMessage());
+    }
+
+    @Test
+    void submit_WhenNoUsersAvailable_ShouldFailTheWholeBatchWithoutRetrying() {
+        // Given
+        when(taskService.createTasks(anyList(), anyList())).thenThrow(new BusinessLogicException(TaskService.NO_AVAILABLE_USERS));
+        batcher.start();
+
+        // When
+        CompletableFuture<TaskDTO> first = batcher.submit(request("A"), "alice");
+
+        // Then
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertEquals(TaskService.NO_AVAILABLE_USERS, failure.getCause().getMessage());
+        verify(taskService, never()).createTask(any(CreateTaskRequest.class), anyString());
+    }
+
+    @Test
+    void createTask_WhenBatchDoesNotCommitInTime_ShouldGiveUpAndNotCreateTheRequest() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(batcher, "batchSize", 1);
+        ReflectionTestUtils.setField(batcher, "waitTimeoutMs", 50L);
+        CountDownLatch release = new CountDownLatch(1);
+        when(taskService.createTasks(anyList(), anyList())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(task(invocation.<List<CreateTaskRequest>>getArgument(0).get(0).title()));
+        });
+        batcher.start();
+        CompletableFuture<TaskDTO> slow = batcher.submit(request("A"), "alice");
+
+        // When
+        assertThrows(TooManyRequestsException.class, () -> batcher.createTask(request("B"), "alice"));
+        release.countDown();
+
+        // Then
+        assertEquals("A", slow.get(5, TimeUnit.SECONDS).title());
+        batcher.stop();
+        verify(taskService, never()).createTasks(argThat(requests -> requests.get(0).title().equals("B")), anyList());
+    }
+
+    @Test
+    void createTask_WhenItsBatchIsSlow_ShouldWaitPastTheTimeoutInsteadOfRejecting() {
+        // Given
+        ReflectionTestUtils.setField(batcher, "batchSize", 1);
+        ReflectionTestUtils.setField(batcher, "waitTimeoutMs", 50L);
+        when(taskService.createTasks(anyList(), anyList())).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            return List.of(task(invocation.<List<CreateTaskRequest>>getArgument(0).get(0).title()));
+        });
+        batcher.start();
+
+        // When
+        TaskDTO created = batcher.createTask(request("A"), "alice");
+
+        // Then
+        assertEquals("A", created.title());
+    }
+
+    @Test
+    void submit_WhenBatchFails_ShouldRetryEachRequestAlone() throws Exception {
+        // Given
+        when(taskService.createTasks(anyList(), anyList())).thenThrow(new IllegalStateException("constraint"));
+        when(taskService.createTask(any(CreateTaskRequest.class), anyString())).thenAnswer(invocation ->
+                task(invocation.<CreateTaskRequest>getArgument(0).title()));
+        batcher.start();
+
+        // When
+        CompletableFuture<TaskDTO> first = batcher.submit(request("A"), "alice");
+
+        // Then
+        assertEquals("A", first.get(5, TimeUnit.SECONDS).title());
+        verify(taskService, times(1)).createTask(any(CreateTaskRequest.class), anyString());
+    }
+
+    @Test
+    void submit_ShouldCreateEachRequestOnBehalfOfItsSender() throws Exception {
+        // Given
+        when(taskService.createTasks(anyList(), anyList())).thenAnswer(invocation -> {
+            List<CreateTaskRequest> requests = invocation.getArgument(0);
+            return requests.stream().map(request -> task(request.title())).toList();
+        });
+        batcher.start();
+
+        // When
+        CompletableFuture<TaskDTO> first = batcher.submit(request("A"), "alice");
+        CompletableFuture<TaskDTO> second = batcher.submit(request("B"), "bob");
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+
+        // Then
+        ArgumentCaptor<List<String>> actors = ArgumentCaptor.captor();
+        verify(taskService, atLeastOnce()).createTasks(anyList(), actors.capture());
+        assertEquals(List.of("alice", "bob"), actors.getAllValues().stream().flatMap(List::stream).toList());
+    }
+
+    @Test
+    void submit_WhenNotStarted_ShouldRejectWithTooManyRequests() {
+        // When & Then
+        assertThrows(TooManyRequestsException.class, () -> batcher.submit(request("A"), "alice"));
+    }
+
+    private CreateTaskRequest request(String title) {
+        return new CreateTaskRequest(title, null, PriorityLevel.LOW);
+    }
+
+    private TaskDTO task(String title) {
+        return new TaskDTO(1L, title, null, PriorityLevel.LOW, LocalDateTime.now(), 1L, "user", false);
+    }
+}
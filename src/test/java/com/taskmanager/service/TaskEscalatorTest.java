@@ -0,0 +1,213 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.TaskAgeRow;
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.dto.TaskSummaryDTO;
+import com.taskmanager.enums.PriorityLevel;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.event.TasksDoneChangedEvent;
+import com.taskmanager.event.TasksPriorityChangedEvent;
+import com.taskmanager.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskEscalatorTest {
+
+    private static final long TICK_MS = 60_000L;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TaskEscalator taskEscalator;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        taskEscalator = new TaskEscalator(taskRepository, transactionTemplate, eventPublisher, meterRegistry);
+        ReflectionTestUtils.setField(taskEscalator, "enabled", true);
+        ReflectionTestUtils.setField(taskEscalator, "mediumAfterHours", 24L);
+        ReflectionTestUtils.setField(taskEscalator, "highAfterHours", 72L);
+        ReflectionTestUtils.setField(taskEscalator, "urgentAfterHours", 168L);
+        ReflectionTestUtils.setField(taskEscalator, "tickMs", TICK_MS);
+        taskEscalator.init();
+        now = LocalDateTime.now();
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void tick_WhenTasksPassThresholds_ShouldRaiseThemWithOneUpdatePerLevel() {
+        // Given
+        TaskSummaryDTO dayOld = summary(1L, PriorityLevel.LOW, now.minusHours(25));
+        TaskSummaryDTO fourDaysOld = summary(2L, PriorityLevel.LOW, now.minusHours(96));
+        taskEscalator.onTaskChanged(created(dayOld));
+        taskEscalator.onTaskChanged(created(fourDaysOld));
+        when(taskRepository.searchSummaries(any(), anyInt())).thenReturn(List.of(dayOld, fourDaysOld));
+        when(taskRepository.escalate(any(), any())).thenReturn(1);
+
+        // When
+        taskEscalator.tick(System.currentTimeMillis() + TICK_MS);
+
+        // Then
+        verify(taskRepository).escalate(List.of(1L), PriorityLevel.MEDIUM);
+        verify(taskRepository).escalate(List.of(2L), PriorityLevel.HIGH);
+        ArgumentCaptor<TasksPriorityChangedEvent> event = ArgumentCaptor.forClass(TasksPriorityChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(PriorityLevel.MEDIUM, event.getValue().getPriorityLevel(1L));
+        assertEquals(PriorityLevel.HIGH, event.getValue().getPriorityLevel(2L));
+        assertFalse(taskEscalator.isArmed(1L));
+    }
+
+    @Test
+    void tick_WhenUpdateSkipsARow_ShouldPublishAndCountOnlyRaisedTasks() {
+        // Given
+        TaskSummaryDTO raised = summary(1L, PriorityLevel.LOW, now.minusHours(25));
+        TaskSummaryDTO completedMeanwhile = summary(2L, PriorityLevel.LOW, now.minusHours(25));
+        taskEscalator.onTaskChanged(created(raised));
+        taskEscalator.onTaskChanged(created(completedMeanwhile));
+        when(taskRepository.searchSummaries(any(), anyInt()))
+                .thenReturn(List.of(raised, completedMeanwhile), List.of(raised));
+        when(taskRepository.escalate(List.of(1L, 2L), PriorityLevel.MEDIUM)).thenReturn(1);
+
+        // When
+        taskEscalator.tick(System.currentTimeMillis() + TICK_MS);
+
+        // Then
+        ArgumentCaptor<TasksPriorityChangedEvent> event = ArgumentCaptor.forClass(TasksPriorityChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(List.of(1L), event.getValue().getTasks().stream().map(TaskSummaryDTO::getId).toList());
+        assertEquals(1.0, meterRegistry.get("tasks.escalated").counter().count());
+    }
+
+    @Test
+    void tick_BeforeThreshold_ShouldNotTouchTheDatabase() {
+        // Given
+        taskEscalator.onTaskChanged(created(summary(1L, PriorityLevel.LOW, now.minusHours(23))));
+
+        // When
+        taskEscalator.tick(System.currentTimeMillis() + TICK_MS);
+
+        // Then
+        verify(taskRepository, never()).searchSummaries(any(), anyInt());
+        assertTrue(taskEscalator.isArmed(1L));
+    }
+
+    @Test
+    void tick_WhenTaskCompletedMeanwhile_ShouldNotPublish() {
+        // Given
+        taskEscalator.onTaskChanged(created(summary(1L, PriorityLevel.LOW, now.minusHours(25))));
+        when(taskRepository.searchSummaries(any(), anyInt())).thenReturn(List.of());
+
+        // When
+        taskEscalator.tick(System.currentTimeMillis() + TICK_MS);
+
+        // Then
+        verify(taskRepository, never()).escalate(any(), any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void onTasksDoneChanged_ShouldCancelTimersOfDoneTasksAndArmReopenedOnes() {
+        // Given
+        TaskSummaryDTO task = summary(1L, PriorityLevel.LOW, now.minusHours(25));
+        taskEscalator.onTaskChanged(created(task));
+
+        // When
+        taskEscalator.onTasksDoneChanged(new TasksDoneChangedEvent(List.of(task), true));
+        taskEscalator.tick(System.currentTimeMillis() + TICK_MS);
+
+        // Then
+        assertFalse(taskEscalator.isArmed(1L));
+        verify(taskRepository, never()).searchSummaries(any(), anyInt());
+
+        // When
+        taskEscalator.onTasksDoneChanged(new TasksDoneChangedEvent(List.of(task), false));
+
+        // Then
+        assertTrue(taskEscalator.isArmed(1L));
+    }
+
+    @Test
+    void onTasksPriorityChanged_ShouldArmNextLevelAndStopAtUrgent() {
+        // Given
+        TaskSummaryDTO medium = summary(1L, PriorityLevel.LOW, now.minusHours(25));
+        TaskSummaryDTO urgent = summary(2L, PriorityLevel.HIGH, now.minusHours(200));
+
+        // When
+        taskEscalator.onTasksPriorityChanged(new TasksPriorityChangedEvent(List.of(medium, urgent),
+                Map.of(1L, PriorityLevel.MEDIUM, 2L, PriorityLevel.URGENT)));
+
+        // Then
+        assertTrue(taskEscalator.isArmed(1L));
+        assertFalse(taskEscalator.isArmed(2L));
+    }
+
+    @Test
+    void rebuild_ShouldArmActiveTasksBelowUrgent() {
+        // Given
+        when(taskRepository.findActiveAgesAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(ageRow(1L, PriorityLevel.LOW), ageRow(2L, PriorityLevel.URGENT), ageRow(3L, null)));
+
+        // When
+        taskEscalator.rebuild();
+
+        // Then
+        assertTrue(taskEscalator.isArmed(1L));
+        assertFalse(taskEscalator.isArmed(2L));
+        assertFalse(taskEscalator.isArmed(3L));
+    }
+
+    private TaskChangedEvent created(TaskSummaryDTO task) {
+        return new TaskChangedEvent(null, new TaskDTO(task.getId(), task.getTitle(), "Description",
+                task.getPriorityLevel(), task.getCreationTimestamp(), null, null, false));
+    }
+
+    private TaskSummaryDTO summary(Long id, PriorityLevel priorityLevel, LocalDateTime created) {
+        return new TaskSummaryDTO(id, "Task", priorityLevel, created, null, false);
+    }
+
+    private TaskAgeRow ageRow(Long id, PriorityLevel priorityLevel) {
+        return new TaskAgeRow() {
+            public Long getId() {
+                return id;
+            }
+
+            public PriorityLevel getPriorityLevel() {
+                return priorityLevel;
+            }
+
+            public LocalDateTime getCreationTimestamp() {
+                return now.minusHours(1);
+            }
+        };
+    }
+}
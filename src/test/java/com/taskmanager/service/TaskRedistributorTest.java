@@ -0,0 +1,161 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.ActiveTaskCountRow;
+import com.taskmanager.dto.RedistributionResult;
+import com.taskmanager.dto.TaskSummaryDTO;
+import com.taskmanager.entity.User;
+import com.taskmanager.enums.AvailabilityStatus;
+import com.taskmanager.enums.PriorityLevel;
+import com.taskmanager.event.TasksReassignedEvent;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskRedistributorTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private TaskRedistributor taskRedistributor;
+
+    @Test
+    void redistributeActiveTasks_ShouldFillFreeCapacityAndQueueTheRest() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        // One query per priority level, most urgent first
+        when(taskRepository.searchSummaries(any(), anyInt())).thenReturn(
+                List.of(summary(11L, PriorityLevel.URGENT, now.plusMinutes(1))),
+                List.of(),
+                List.of(summary(13L, PriorityLevel.MEDIUM, now)),
+                List.of(summary(10L, PriorityLevel.LOW, now), summary(12L, PriorityLevel.LOW, now.minusMinutes(1))),
+                List.of());
+        when(userRepository.findAvailableUsers()).thenReturn(List.of(user(1L), user(2L), user(3L)));
+        when(taskRepository.countActiveGroupedByAssignee(List.of(2L, 3L))).thenReturn(List.of(count(2L, 2), count(3L, 1)));
+
+        // When
+        RedistributionResult result = taskRedistributor.redistributeActiveTasks(1L);
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<Long, Long>> pages = ArgumentCaptor.forClass(Map.class);
+        verify(taskRepository, times(3)).reassign(pages.capture());
+        Map<Long, Long> assignees = new LinkedHashMap<>();
+        pages.getAllValues().forEach(assignees::putAll);
+        assertEquals(List.of(11L, 13L, 12L, 10L), new ArrayList<>(assignees.keySet()));
+        assertEquals(2L, assignees.get(11L));
+        assertEquals(3L, assignees.get(13L));
+        assertEquals(3L, assignees.get(12L));
+        assertNull(assignees.get(10L));
+        verify(userRepository, times(1)).recalculateAvailability(Set.of(2L, 3L));
+
+        assertEquals(3, result.reassignedTasks());
+        assertEquals(1, result.unassignedTasks());
+        assertEquals(2, result.affectedUsers());
+        ArgumentCaptor<TasksReassignedEvent> events = ArgumentCaptor.forClass(TasksReassignedEvent.class);
+        verify(eventPublisher, times(3)).publishEvent(events.capture());
+        assertEquals(4, events.getAllValues().stream().mapToInt(event -> event.getTasks().size()).sum());
+        assertEquals(2L, events.getAllValues().get(0).getAssigneeId(11L));
+    }
+
+    @Test
+    void redistributeActiveTasks_WithManyTasks_ShouldMoveThemPageByPage() {
+        // Given
+        List<TaskSummaryDTO> fullPage = LongStream.rangeClosed(1, 1000)
+                .mapToObj(id -> summary(id, PriorityLevel.HIGH, LocalDateTime.now()))
+                .toList();
+        when(taskRepository.searchSummaries(any(), eq(1000))).thenReturn(
+                List.of(), fullPage, List.of(summary(1001L, PriorityLevel.HIGH, LocalDateTime.now())), List.of());
+        when(userRepository.findAvailableUsers()).thenReturn(List.of(user(1L), user(2L)));
+        when(taskRepository.countActiveGroupedByAssignee(List.of(2L))).thenReturn(List.of());
+
+        // When
+        RedistributionResult result = taskRedistributor.redistributeActiveTasks(1L);
+
+        // Then
+        verify(taskRepository, times(6)).searchSummaries(any(), eq(1000));
+        verify(taskRepository, times(2)).reassign(any());
+        verify(userRepository, times(1)).findAvailableUsers();
+        assertEquals(3, result.reassignedTasks());
+        assertEquals(998, result.unassignedTasks());
+    }
+
+    @Test
+    void redistributeActiveTasks_WhenNoActiveTasks_ShouldDoNothing() {
+        // Given
+        when(taskRepository.searchSummaries(any(), anyInt())).thenReturn(List.of());
+
+        // When
+        RedistributionResult result = taskRedistributor.redistributeActiveTasks(1L);
+
+        // Then
+        assertEquals(0, result.reassignedTasks());
+        verify(taskRepository, never()).reassign(any());
+        verifyNoInteractions(userRepository, eventPublisher);
+    }
+
+    @Test
+    void redistributeActiveTasks_WhenNobodyAvailable_ShouldReturnAllToQueue() {
+        // Given
+        when(taskRepository.searchSummaries(any(), anyInt())).thenReturn(
+                List.of(), List.of(summary(10L, PriorityLevel.HIGH, LocalDateTime.now())), List.of());
+        when(userRepository.findAvailableUsers()).thenReturn(List.of(user(1L)));
+
+        // When
+        RedistributionResult result = taskRedistributor.redistributeActiveTasks(1L);
+
+        // Then
+        assertEquals(0, result.reassignedTasks());
+        assertEquals(1, result.unassignedTasks());
+        verify(taskRepository, never()).countActiveGroupedByAssignee(any());
+        verify(taskRepository, times(1)).reassign(argThat(map -> map.containsKey(10L) && map.get(10L) == null));
+        verify(userRepository, never()).recalculateAvailability(any());
+    }
+
+    private TaskSummaryDTO summary(Long id, PriorityLevel priorityLevel, LocalDateTime created) {
+        return new TaskSummaryDTO(id, "Task " + id, priorityLevel, created, 1L, false);
+    }
+
+    private User user(Long id) {
+        User user = new User("user" + id, "user" + id + "@example.com", "hash", AvailabilityStatus.AVAILABLE);
+        user.setId(id);
+        return user;
+    }
+
+    private ActiveTaskCountRow count(Long assigneeId, long count) {
+        return new ActiveTaskCountRow() {
+            public Long getAssigneeId() {
+                return assigneeId;
+            }
+
+            public long getCount() {
+                return count;
+            }
+        };
+    }
+}
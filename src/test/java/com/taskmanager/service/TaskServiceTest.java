@@ -1,24 +1,47 @@
 package com.taskmanager.service;
 
+import com.taskmanager.dto.BulkTaskRequest;
+import com.taskmanager.dto.BulkTaskResult;
+import com.taskmanager.dto.CreateTaskRequest;
+import com.taskmanager.dto.TaskDTO;
+import com.taskmanager.dto.TaskSearchFilter;
+import com.taskmanager.dto.TaskSearchPage;
+import com.taskmanager.dto.TaskSummaryDTO;
+import com.taskmanager.dto.UpdateTaskRequest;
+import com.taskmanager.dto.Versioned;
+import com.taskmanager.dto.TaskTextSearchPage;
 import com.taskmanager.entity.Task;
+import com.taskmanager.entity.TaskArchive;
 import com.taskmanager.entity.User;
 import com.taskmanager.enums.AvailabilityStatus;
 import com.taskmanager.enums.PriorityLevel;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.event.TasksDoneChangedEvent;
+import com.taskmanager.event.TasksRemovedEvent;
 import com.taskmanager.exception.BusinessLogicException;
+import com.taskmanager.exception.PreconditionFailedException;
 import com.taskmanager.exception.ResourceNotFoundException;
+import com.taskmanager.exception.ValidationException;
+import com.taskmanager.readmodel.TaskReadModel;
+import com.taskmanager.repository.TaskArchiveRepository;
 import com.taskmanager.repository.TaskRepository;
 import com.taskmanager.repository.UserRepository;
+import com.taskmanager.search.TaskSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -33,6 +56,24 @@ class TaskServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TaskArchiveRepository taskArchiveRepository;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Mock
+    private TaskCounters taskCounters;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private SingleFlight singleFlight;
+
+    @Mock
+    private TaskReadModel taskReadModel;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -71,14 +112,38 @@ class TaskServiceTest {
 
         // Then
         assertEquals(1, result.size());
-        assertEquals(1L, result.get(0).getId());
-        assertEquals("Test Task", result.get(0).getTitle());
+        assertEquals(1L, result.get(0).id());
+        assertEquals("Test Task", result.get(0).title());
         verify(taskRepository, times(1)).findAll();
+        verify(taskArchiveRepository, never()).findAll();
+    }
+
+    @Test
+    void getAllTasks_WithIncludeArchived_ShouldAppendArchivedTasks() {
+        // Given
+        task.setDone(true);
+        task.setCompletionTimestamp(LocalDateTime.now().minusDays(60));
+        TaskArchive archived = new TaskArchive(task);
+        archived.setTaskId(7L);
+
+        when(taskRepository.findAll()).thenReturn(Arrays.asList(task));
+        when(taskArchiveRepository.findAll()).thenReturn(Arrays.asList(archived));
+
+        // When
+        var result = taskService.getAllTasks(true);
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals(7L, result.get(1).id());
+        assertTrue(result.get(1).done());
+        assertEquals("testuser", result.get(1).assignedUserName());
     }
 
     @Test
     void getTaskById_WhenTaskExists_ShouldReturnTask() {
         // Given
+        task.setVersion(3L);
+        user.setVersion(2L);
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
 
         // When
@@ -86,8 +151,9 @@ class TaskServiceTest {
 
         // Then
         assertNotNull(result);
-        assertEquals(1L, result.getId());
-        assertEquals("Test Task", result.getTitle());
+        assertEquals(1L, result.body().id());
+        assertEquals("Test Task", result.body().title());
+        assertEquals("3-2", result.version());
         verify(taskRepository, times(1)).findById(1L);
     }
 
@@ -101,16 +167,52 @@ class TaskServiceTest {
         verify(taskRepository, times(1)).findById(1L);
     }
 
+    @Test
+    void getTaskById_WhenReadModelReady_ShouldNotQueryDatabase() {
+        // Given
+        TaskDTO cached = new TaskDTO(1L, "Test Task", null, PriorityLevel.HIGH, LocalDateTime.now(), 1L, "testuser", false);
+        when(taskReadModel.findVersionedTask(1L)).thenReturn(Optional.of(new Versioned<>(cached, "3-2")));
+
+        // When
+        Versioned<TaskDTO> result = taskService.getTaskById(1L);
+
+        // Then
+        assertSame(cached, result.body());
+        assertEquals("3-2", result.version());
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void getTaskVersion_WhenReadModelCannotAnswer_ShouldQueryDatabase() {
+        // Given
+        when(taskReadModel.findTaskVersion(1L)).thenReturn(Optional.empty());
+        when(taskRepository.findVersionStampById(1L)).thenReturn(Optional.of("4-2"));
+
+        // When
+        String version = taskService.getTaskVersion(1L);
+
+        // Then
+        assertEquals("4-2", version);
+    }
+
+    @Test
+    void getTasksByAssignee_WhenReadModelCannotAnswerAndUserMissing_ShouldThrowException() {
+        // Given
+        when(taskReadModel.findVersionedTasksByAssignee(99L)).thenReturn(Optional.empty());
+        when(userRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> taskService.getTasksByAssignee(99L));
+        verifyNoInteractions(taskRepository);
+    }
+
     @Test
     void createTask_WithAvailableUser_ShouldCreateAndAssignTask() {
         // Given
-        Task newTask = new Task();
-        newTask.setTitle("New Task");
-        newTask.setDescription("New Description");
-        newTask.setPriorityLevel(PriorityLevel.MEDIUM);
+        CreateTaskRequest newTask = new CreateTaskRequest("New Task", "New Description", PriorityLevel.MEDIUM);
 
         when(userRepository.findAvailableUsers()).thenReturn(availableUsers);
-        when(taskRepository.countActiveTasksByUserId(1L)).thenReturn(1L);
+        when(taskCounters.activeTasks(1L)).thenReturn(1L);
         when(taskRepository.save(any(Task.class))).thenReturn(task);
 
         // When
@@ -118,18 +220,16 @@ class TaskServiceTest {
 
         // Then
         assertNotNull(result);
-        assertEquals(1L, result.getId());
+        assertEquals(1L, result.id());
         verify(userRepository, times(1)).findAvailableUsers();
-        verify(taskRepository, times(1)).countActiveTasksByUserId(1L);
+        verify(taskCounters, times(1)).activeTasks(1L);
         verify(taskRepository, times(1)).save(any(Task.class));
     }
 
     @Test
     void createTask_WithNoAvailableUsers_ShouldThrowException() {
         // Given
-        Task newTask = new Task();
-        newTask.setTitle("New Task");
-        newTask.setDescription("New Description");
+        CreateTaskRequest newTask = new CreateTaskRequest("New Task", "New Description", null);
 
         when(userRepository.findAvailableUsers()).thenReturn(Arrays.asList());
 
@@ -142,12 +242,10 @@ class TaskServiceTest {
     @Test
     void createTask_WhenUserHasThreeActiveTasks_ShouldMarkUserAsBusy() {
         // Given
-        Task newTask = new Task();
-        newTask.setTitle("New Task");
-        newTask.setDescription("New Description");
+        CreateTaskRequest newTask = new CreateTaskRequest("New Task", "New Description", null);
 
         when(userRepository.findAvailableUsers()).thenReturn(availableUsers);
-        when(taskRepository.countActiveTasksByUserId(1L)).thenReturn(2L, 3L); // Before and after
+        when(taskCounters.activeTasks(1L)).thenReturn(2L); // The new task makes it 3
         when(taskRepository.save(any(Task.class))).thenReturn(task);
 
         // When
@@ -161,9 +259,7 @@ class TaskServiceTest {
     @Test
     void updateTask_WithValidData_ShouldUpdateTask() {
         // Given
-        Task updateData = new Task();
-        updateData.setTitle("Updated Title");
-        updateData.setDescription("Updated Description");
+        UpdateTaskRequest updateData = new UpdateTaskRequest("Updated Title", "Updated Description");
 
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
         when(taskRepository.save(any(Task.class))).thenReturn(task);
@@ -179,12 +275,26 @@ class TaskServiceTest {
         verify(taskRepository, times(1)).save(task);
     }
 
+    @Test
+    void updateTask_WithStaleExpectedVersion_ShouldThrowException() {
+        // Given
+        task.setVersion(5L);
+        UpdateTaskRequest updateData = new UpdateTaskRequest("Updated Title", null);
+
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+
+        // When & Then
+        assertThrows(PreconditionFailedException.class, () -> taskService.updateTask(1L, updateData, 4L));
+        assertEquals("Test Task", task.getTitle());
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
     @Test
     void updateTaskDone_WithValidData_ShouldUpdateDoneAndRecalculateStatus() {
         // Given
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
         when(taskRepository.save(any(Task.class))).thenReturn(task);
-        when(taskRepository.countActiveTasksByUserId(1L)).thenReturn(2L);
+        when(taskCounters.activeTasks(1L)).thenReturn(2L);
 
         // When
         var result = taskService.updateTaskDone(1L, true);
@@ -192,6 +302,7 @@ class TaskServiceTest {
         // Then
         assertNotNull(result);
         assertTrue(task.isDone());
+        assertNotNull(task.getCompletionTimestamp());
         assertEquals(AvailabilityStatus.AVAILABLE, user.getAvailabilityStatus());
         verify(taskRepository, times(1)).findById(1L);
         verify(taskRepository, times(1)).save(task);
@@ -202,7 +313,7 @@ class TaskServiceTest {
     void deleteTask_ShouldDeleteTaskAndRecalculateUserStatus() {
         // Given
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(taskRepository.countActiveTasksByUserId(1L)).thenReturn(2L);
+        when(taskCounters.activeTasks(1L)).thenReturn(2L);
 
         // When
         taskService.deleteTask(1L);
@@ -210,7 +321,7 @@ class TaskServiceTest {
         // Then
         verify(taskRepository, times(1)).findById(1L);
         verify(taskRepository, times(1)).delete(task);
-        verify(taskRepository, times(1)).countActiveTasksByUserId(1L);
+        verify(taskCounters, times(1)).activeTasks(1L);
         verify(userRepository, times(1)).save(user);
     }
 
@@ -226,7 +337,7 @@ class TaskServiceTest {
 
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
         when(userRepository.findAvailableUsers()).thenReturn(availableUsersList);
-        when(taskRepository.countActiveTasksByUserId(2L)).thenReturn(1L, 2L);
+        when(taskCounters.activeTasks(2L)).thenReturn(1L);
         when(taskRepository.save(any(Task.class))).thenReturn(task);
 
         // When
@@ -246,13 +357,14 @@ class TaskServiceTest {
         // Given
         List<Task> tasks = Arrays.asList(task);
         when(taskRepository.findByPriorityLevel(PriorityLevel.HIGH)).thenReturn(tasks);
+        when(singleFlight.execute(eq("TaskService.getTasksByPriority:HIGH"), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
 
         // When
-        var result = taskService.getTasksByPriority(PriorityLevel.HIGH);
+        var result = taskService.getTasksByPriority(PriorityLevel.HIGH).body();
 
         // Then
         assertEquals(1, result.size());
-        assertEquals(PriorityLevel.HIGH, result.get(0).getPriorityLevel());
+        assertEquals(PriorityLevel.HIGH, result.get(0).priorityLevel());
         verify(taskRepository, times(1)).findByPriorityLevel(PriorityLevel.HIGH);
     }
 
@@ -264,11 +376,11 @@ class TaskServiceTest {
         when(taskRepository.findByAssignedUser(user)).thenReturn(tasks);
 
         // When
-        var result = taskService.getTasksByAssignee(1L);
+        var result = taskService.getTasksByAssignee(1L).body();
 
         // Then
         assertEquals(1, result.size());
-        assertEquals(1L, result.get(0).getAssignedUserId());
+        assertEquals(1L, result.get(0).assignedUserId());
         verify(userRepository, times(1)).findById(1L);
         verify(taskRepository, times(1)).findByAssignedUser(user);
     }
@@ -283,5 +395,301 @@ class TaskServiceTest {
         verify(userRepository, times(1)).findById(1L);
         verify(taskRepository, never()).findByAssignedUser(any(User.class));
     }
-}
 
+    @Test
+    void searchTasks_WhenMoreRowsThanPageSize_ShouldReturnNextCursor() {
+        // Given
+        TaskSummaryDTO first = new TaskSummaryDTO(3L, "First", PriorityLevel.HIGH, LocalDateTime.now(), 1L, false);
+        TaskSummaryDTO second = new TaskSummaryDTO(4L, "Second", PriorityLevel.HIGH, LocalDateTime.now(), 1L, false);
+        TaskSummaryDTO extra = new TaskSummaryDTO(9L, "Extra", PriorityLevel.HIGH, LocalDateTime.now(), 1L, false);
+        when(taskRepository.searchSummaries(any(), eq(3))).thenReturn(Arrays.asList(first, second, extra));
+
+        TaskSearchFilter filter = new TaskSearchFilter();
+        filter.setPriority(Arrays.asList(PriorityLevel.HIGH));
+        filter.setAssigneeId(1L);
+
+        // When
+        TaskSearchPage page = taskService.searchTasks(filter, 2L, 2);
+
+        // Then
+        assertEquals(2, page.getItems().size());
+        assertEquals(4L, page.getNextCursor());
+    }
+
+    @Test
+    void searchTasks_WhenLastPage_ShouldReturnNullCursor() {
+        // Given
+        TaskSummaryDTO only = new TaskSummaryDTO(3L, "Only", PriorityLevel.LOW, LocalDateTime.now(), null, true);
+        when(taskRepository.searchSummaries(any(), eq(51))).thenReturn(Arrays.asList(only));
+
+        // When
+        TaskSearchPage page = taskService.searchTasks(new TaskSearchFilter(), null, 50);
+
+        // Then
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void searchTasks_WithInvertedCreationRange_ShouldThrowException() {
+        // Given
+        TaskSearchFilter filter = new TaskSearchFilter();
+        filter.setCreatedFrom(LocalDateTime.now());
+        filter.setCreatedTo(LocalDateTime.now().minusDays(1));
+
+        // When & Then
+        assertThrows(ValidationException.class, () -> taskService.searchTasks(filter, null, 50));
+        verify(taskRepository, never()).searchSummaries(any(), anyInt());
+    }
+
+    @Test
+    void updateTask_ShouldPublishChangeWithBeforeAndAfter() {
+        // Given
+        UpdateTaskRequest details = new UpdateTaskRequest("New Title", "New Description");
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.save(any(Task.class))).thenReturn(task);
+
+        // When
+        taskService.updateTask(1L, details);
+
+        // Then
+        ArgumentCaptor<TaskChangedEvent> event = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertEquals("Test Task", event.getValue().getBefore().title());
+        assertEquals("New Title", event.getValue().getAfter().title());
+    }
+
+    @Test
+    void searchTasksByText_ShouldKeepRankOrderAndSkipDeletedTasks() {
+        // Given
+        Task other = new Task("Other", "Other Description", PriorityLevel.LOW, user);
+        other.setId(2L);
+        when(taskSearchIndex.search("test", 0, 20))
+                .thenReturn(new TaskSearchIndex.Hits(Arrays.asList(2L, 99L, 1L), 3));
+        when(taskRepository.findAllWithAssigneeByIdIn(Arrays.asList(2L, 99L, 1L)))
+                .thenReturn(Arrays.asList(task, other));
+
+        // When
+        TaskTextSearchPage page = taskService.searchTasksByText("test", 0, 20);
+
+        // Then
+        assertEquals(2, page.getItems().size());
+        assertEquals(2L, page.getItems().get(0).id());
+        assertEquals(1L, page.getItems().get(1).id());
+        assertEquals(3, page.getTotalHits());
+    }
+
+    @Test
+    void searchTasksByText_WithBlankQuery_ShouldThrowException() {
+        // When & Then
+        assertThrows(ValidationException.class, () -> taskService.searchTasksByText("  ", 0, 20));
+        verifyNoInteractions(taskSearchIndex);
+    }
+
+    @Test
+    void updateTaskDone_WhenReopeningThirdTask_ShouldMarkUserAsBusy() {
+        // Given
+        task.setDone(true);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.save(any(Task.class))).thenReturn(task);
+        when(taskCounters.activeTasks(1L)).thenReturn(2L);
+
+        // When
+        taskService.updateTaskDone(1L, false);
+
+        // Then
+        assertEquals(AvailabilityStatus.BUSY, user.getAvailabilityStatus());
+        verify(taskRepository, never()).countActiveTasksByUserId(anyLong());
+    }
+
+    @Test
+    void updateTaskDone_WhenAssigneeIsOffline_ShouldKeepOfflineStatus() {
+        // Given
+        user.setAvailabilityStatus(AvailabilityStatus.OFFLINE);
+        task.setDone(true);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.save(any(Task.class))).thenReturn(task);
+
+        // When
+        taskService.updateTaskDone(1L, false);
+
+        // Then
+        assertEquals(AvailabilityStatus.OFFLINE, user.getAvailabilityStatus());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void updateTasksDone_ShouldRunBulkUpdateAndRecalculateUsersOnce() {
+        // Given
+        TaskSummaryDTO first = new TaskSummaryDTO(1L, "First", PriorityLevel.HIGH, LocalDateTime.now(), 1L, false);
+        TaskSummaryDTO second = new TaskSummaryDTO(2L, "Second", PriorityLevel.LOW, LocalDateTime.now(), 1L, false);
+        when(taskRepository.searchSummaries(any(), eq(1001))).thenReturn(Arrays.asList(first, second));
+        when(taskRepository.updateDone(any(), eq(true), any(LocalDateTime.class))).thenReturn(2);
+
+        BulkTaskRequest request = new BulkTaskRequest(Arrays.asList(1L, 2L), null, true);
+
+        // When
+        BulkTaskResult result = taskService.updateTasksDone(request);
+
+        // Then
+        assertEquals(2, result.affectedTasks());
+        assertEquals(1, result.affectedUsers());
+        verify(userRepository, times(1)).recalculateAvailability(Set.of(1L));
+        verify(taskRepository, never()).save(any(Task.class));
+        ArgumentCaptor<TasksDoneChangedEvent> event = ArgumentCaptor.forClass(TasksDoneChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertEquals(2, event.getValue().getTasks().size());
+        assertTrue(event.getValue().isDone());
+    }
+
+    @Test
+    void updateTasksDone_WhenNothingChanges_ShouldNotWrite() {
+        // Given
+        when(taskRepository.searchSummaries(any(), anyInt())).thenReturn(List.of());
+        BulkTaskRequest request = new BulkTaskRequest(Arrays.asList(1L), null, true);
+
+        // When
+        BulkTaskResult result = taskService.updateTasksDone(request);
+
+        // Then
+        assertEquals(0, result.affectedTasks());
+        verify(taskRepository, never()).updateDone(any(), anyBoolean(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void deleteTasks_ByFilter_ShouldRunBulkDeleteAndPublishRemovedTasks() {
+        // Given
+        TaskSummaryDTO done = new TaskSummaryDTO(3L, "Done", PriorityLevel.LOW, LocalDateTime.now(), 2L, true);
+        when(taskRepository.searchSummaries(any(), anyInt())).thenReturn(Arrays.asList(done));
+        when(taskRepository.deleteMatching(any())).thenReturn(1);
+
+        TaskSearchFilter filter = new TaskSearchFilter();
+        filter.setDone(true);
+        BulkTaskRequest request = new BulkTaskRequest(null, filter, null);
+
+        // When
+        BulkTaskResult result = taskService.deleteTasks(request);
+
+        // Then
+        assertEquals(1, result.affectedTasks());
+        verify(userRepository, times(1)).recalculateAvailability(Set.of(2L));
+        ArgumentCaptor<TasksRemovedEvent> event = ArgumentCaptor.forClass(TasksRemovedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertEquals(List.of(3L), event.getValue().getTaskIds());
+    }
+
+    @Test
+    void deleteTasks_WithEmptyFilter_ShouldThrowException() {
+        // Given
+        BulkTaskRequest request = new BulkTaskRequest(null, new TaskSearchFilter(), null);
+
+        // When & Then
+        assertThrows(ValidationException.class, () -> taskService.deleteTasks(request));
+        verify(taskRepository, never()).deleteMatching(any());
+    }
+
+    @Test
+    void createTask_WithoutAutoAssign_ShouldLeaveTaskUnassigned() {
+        // Given
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        var result = taskService.createTask(new CreateTaskRequest("Queued", null, PriorityLevel.LOW), false);
+
+        // Then
+        assertNull(result.assignedUserId());
+        verify(userRepository, never()).findAvailableUsers();
+    }
+
+    @Test
+    void claimNextTask_ShouldAssignFirstClaimableTaskToCaller() {
+        // Given
+        Task queued = new Task("Queued", null, PriorityLevel.URGENT, null);
+        queued.setId(9L);
+        when(userRepository.findByUsernameForUpdate("testuser")).thenReturn(Optional.of(user));
+        when(taskRepository.countActiveTasksByUserId(1L)).thenReturn(2L);
+        when(taskRepository.findClaimable(any())).thenReturn(List.of(queued));
+        when(taskRepository.save(queued)).thenReturn(queued);
+
+        // When
+        var result = taskService.claimNextTask("testuser");
+
+        // Then
+        assertTrue(result.isPresent());
+        assertEquals(9L, result.get().id());
+        assertEquals(1L, result.get().assignedUserId());
+        assertEquals(AvailabilityStatus.BUSY, user.getAvailabilityStatus());
+        ArgumentCaptor<TaskChangedEvent> event = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertNull(event.getValue().getBefore().assignedUserId());
+    }
+
+    @Test
+    void claimNextTask_WhenQueueIsEmpty_ShouldReturnEmpty() {
+        // Given
+        when(userRepository.findByUsernameForUpdate("testuser")).thenReturn(Optional.of(user));
+        when(taskRepository.findClaimable(any())).thenReturn(List.of());
+
+        // When
+        var result = taskService.claimNextTask("testuser");
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void claimNextTask_WhenUserHasThreeActiveTasks_ShouldThrowException() {
+        // Given
+        when(userRepository.findByUsernameForUpdate("testuser")).thenReturn(Optional.of(user));
+        when(taskRepository.countActiveTasksByUserId(1L)).thenReturn(3L);
+
+        // When & Then
+        assertThrows(BusinessLogicException.class, () -> taskService.claimNextTask("testuser"));
+        verify(taskRepository, never()).findClaimable(any());
+    }
+
+    @Test
+    void claimNextTask_WhenUserIsOffline_ShouldThrowException() {
+        // Given
+        user.setAvailabilityStatus(AvailabilityStatus.OFFLINE);
+        when(userRepository.findByUsernameForUpdate("testuser")).thenReturn(Optional.of(user));
+
+        // When & Then
+        assertThrows(BusinessLogicException.class, () -> taskService.claimNextTask("testuser"));
+        verify(taskRepository, never()).findClaimable(any());
+    }
+
+    @Test
+    void createTasks_ShouldFillUsersInOrderAndSaveOnce() {
+        // Given
+        User second = new User();
+        second.setId(2L);
+        second.setUsername("second");
+        second.setAvailabilityStatus(AvailabilityStatus.AVAILABLE);
+        when(userRepository.findAvailableUsers()).thenReturn(Arrays.asList(user, second));
+        when(taskCounters.activeTasks(1L)).thenReturn(2L);
+        when(taskCounters.activeTasks(2L)).thenReturn(1L);
+        List<CreateTaskRequest> requests = List.of(
+                new CreateTaskRequest("A", null, PriorityLevel.LOW),
+                new CreateTaskRequest("B", null, PriorityLevel.LOW),
+                new CreateTaskRequest("C", null, PriorityLevel.LOW),
+                new CreateTaskRequest("D", null, PriorityLevel.LOW));
+
+        // When
+        List<TaskDTO> result = taskService.createTasks(requests, List.of("alice", "bob", "carol", "dave"));
+
+        // Then
+        assertEquals(1L, result.get(0).assignedUserId());
+        assertEquals(2L, result.get(1).assignedUserId());
+        assertEquals(2L, result.get(2).assignedUserId());
+        assertNull(result.get(3));
+        assertEquals(AvailabilityStatus.BUSY, user.getAvailabilityStatus());
+        assertEquals(AvailabilityStatus.BUSY, second.getAvailabilityStatus());
+        verify(taskRepository, times(1)).saveAll(argThat(tasks -> ((List<?>) tasks).size() == 3));
+        ArgumentCaptor<TaskChangedEvent> events = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher, times(3)).publishEvent(events.capture());
+        assertEquals(List.of("alice", "bob", "carol"), events.getAllValues().stream().map(TaskChangedEvent::getActor).toList());
+    }
+}
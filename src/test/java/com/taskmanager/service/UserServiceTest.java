@@ -1,20 +1,33 @@
 package com.taskmanager.service;
 
 import com.taskmanager.dto.CreateUserRequest;
+import com.taskmanager.dto.RedistributionResult;
+import com.taskmanager.dto.TaskSummaryDTO;
+import com.taskmanager.dto.UserDTO;
+import com.taskmanager.dto.Versioned;
 import com.taskmanager.entity.User;
 import com.taskmanager.enums.AvailabilityStatus;
+import com.taskmanager.enums.PriorityLevel;
+import com.taskmanager.event.TasksRemovedEvent;
+import com.taskmanager.event.UserChangedEvent;
+import com.taskmanager.readmodel.TaskReadModel;
+import com.taskmanager.repository.TaskRepository;
 import com.taskmanager.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -26,9 +39,24 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskRedistributor taskRedistributor;
+
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private SingleFlight singleFlight;
+
+    @Mock
+    private TaskReadModel taskReadModel;
+
     @InjectMocks
     private UserService userService;
 
@@ -61,8 +89,8 @@ class UserServiceTest {
 
         // Then
         assertEquals(1, result.size());
-        assertEquals(1L, result.get(0).getId());
-        assertEquals("testuser", result.get(0).getUsername());
+        assertEquals(1L, result.get(0).id());
+        assertEquals("testuser", result.get(0).username());
         verify(userRepository, times(1)).findAll();
     }
 
@@ -76,8 +104,8 @@ class UserServiceTest {
 
         // Then
         assertNotNull(result);
-        assertEquals(1L, result.getId());
-        assertEquals("testuser", result.getUsername());
+        assertEquals(1L, result.id());
+        assertEquals("testuser", result.username());
         verify(userRepository, times(1)).findById(1L);
     }
 
@@ -104,7 +132,7 @@ class UserServiceTest {
 
         // Then
         assertNotNull(result);
-        assertEquals("testuser", result.getUsername());
+        assertEquals("testuser", result.username());
         verify(userRepository, times(1)).existsByEmail("newuser@example.com");
         verify(userRepository, times(1)).existsByUsername("newuser");
         verify(passwordEncoder, times(1)).encode("Password123!");
@@ -201,7 +229,123 @@ class UserServiceTest {
 
         // Then
         verify(userRepository, times(1)).findById(1L);
+        verify(taskRedistributor, times(1)).redistributeActiveTasks(1L);
+        verify(taskRepository, never()).deleteMatching(any());
+        verify(userRepository, times(1)).delete(user);
+        verify(eventPublisher, times(1)).publishEvent(any(UserChangedEvent.class));
+        verify(eventPublisher, never()).publishEvent(any(TasksRemovedEvent.class));
+    }
+
+    @Test
+    void deleteUser_WithCompletedTasks_ShouldDeleteThemInBulkAndPublishRemovedTaskIds() {
+        // Given
+        TaskSummaryDTO completed = new TaskSummaryDTO(5L, "Task", PriorityLevel.LOW, null, 1L, true);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(taskRepository.searchSummaries(any(), anyInt())).thenReturn(List.of(completed));
+
+        // When
+        userService.deleteUser(1L);
+
+        // Then
+        verify(taskRedistributor, times(1)).redistributeActiveTasks(1L);
+        verify(taskRepository, times(1)).deleteMatching(any());
         verify(userRepository, times(1)).delete(user);
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(List.of(5L), ((TasksRemovedEvent) events.getAllValues().get(0)).getTaskIds());
+        assertInstanceOf(UserChangedEvent.class, events.getAllValues().get(1));
+    }
+
+    @Test
+    void deleteUser_WithManyCompletedTasks_ShouldDeleteThemPageByPage() {
+        // Given
+        List<TaskSummaryDTO> fullPage = LongStream.rangeClosed(1, 1000)
+                .mapToObj(taskId -> new TaskSummaryDTO(taskId, "Task", PriorityLevel.LOW, null, 1L, true))
+                .toList();
+        TaskSummaryDTO last = new TaskSummaryDTO(1001L, "Task", PriorityLevel.LOW, null, 1L, true);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(taskRepository.searchSummaries(any(), eq(1000))).thenReturn(fullPage, List.of(last));
+
+        // When
+        userService.deleteUser(1L);
+
+        // Then
+        verify(taskRepository, times(2)).searchSummaries(any(), eq(1000));
+        verify(taskRepository, times(2)).deleteMatching(any());
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, times(3)).publishEvent(events.capture());
+        assertEquals(1000, ((TasksRemovedEvent) events.getAllValues().get(0)).getTasks().size());
+        assertEquals(List.of(1001L), ((TasksRemovedEvent) events.getAllValues().get(1)).getTaskIds());
+        assertInstanceOf(UserChangedEvent.class, events.getAllValues().get(2));
+    }
+
+    @Test
+    void goOffline_ShouldMarkUserOfflineAndRedistributeActiveTasks() {
+        // Given
+        RedistributionResult redistributed = new RedistributionResult(2, 1, 2);
+        when(userRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(user));
+        when(taskRedistributor.redistributeActiveTasks(1L)).thenReturn(redistributed);
+
+        // When
+        RedistributionResult result = userService.goOffline(1L);
+
+        // Then
+        assertSame(redistributed, result);
+        assertEquals(AvailabilityStatus.OFFLINE, user.getAvailabilityStatus());
+        assertTrue(user.isManuallyOffline());
+        verify(userRepository, times(1)).save(user);
+        ArgumentCaptor<UserChangedEvent> event = ArgumentCaptor.forClass(UserChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertEquals(AvailabilityStatus.AVAILABLE, event.getValue().getBefore().availabilityStatus());
+        assertEquals(AvailabilityStatus.OFFLINE, event.getValue().getAfter().availabilityStatus());
+    }
+
+    @Test
+    void goOffline_WhenAlreadyOffline_ShouldOnlyRedistribute() {
+        // Given
+        user.setAvailabilityStatus(AvailabilityStatus.OFFLINE);
+        when(userRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(user));
+        when(taskRedistributor.redistributeActiveTasks(1L)).thenReturn(new RedistributionResult(1, 0, 1));
+
+        // When
+        userService.goOffline(1L);
+
+        // Then
+        verify(taskRedistributor, times(1)).redistributeActiveTasks(1L);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void goOnline_ShouldRestoreStatusFromActiveTasks() {
+        // Given
+        user.setAvailabilityStatus(AvailabilityStatus.OFFLINE);
+        user.setManuallyOffline(true);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(taskRepository.countActiveTasksByUserId(1L)).thenReturn(0L);
+        when(userRepository.save(user)).thenReturn(user);
+
+        // When
+        UserDTO result = userService.goOnline(1L);
+
+        // Then
+        assertEquals(AvailabilityStatus.AVAILABLE, result.availabilityStatus());
+        assertFalse(user.isManuallyOffline());
+        verify(eventPublisher, times(1)).publishEvent(any(UserChangedEvent.class));
+    }
+
+    @Test
+    void goOnline_WhenNotOffline_ShouldLeaveStatusAsIs() {
+        // Given
+        user.setAvailabilityStatus(AvailabilityStatus.BUSY);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        // When
+        UserDTO result = userService.goOnline(1L);
+
+        // Then
+        assertEquals(AvailabilityStatus.BUSY, result.availabilityStatus());
+        verify(userRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -220,26 +364,45 @@ class UserServiceTest {
         // Given
         List<User> availableUsers = Arrays.asList(user);
         when(userRepository.findAvailableUsers()).thenReturn(availableUsers);
+        when(singleFlight.execute(eq("UserService.getAvailableUsers"), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
 
         // When
         var result = userService.getAvailableUsers();
 
         // Then
-        assertEquals(1, result.size());
-        assertEquals(AvailabilityStatus.AVAILABLE, result.get(0).getAvailabilityStatus());
+        assertEquals(1, result.body().size());
+        assertEquals(AvailabilityStatus.AVAILABLE, result.body().get(0).availabilityStatus());
+        assertEquals("1-1-0", result.version());
         verify(userRepository, times(1)).findAvailableUsers();
     }
 
+    @Test
+    void getAvailableUsers_WhenReadModelReady_ShouldNotQueryDatabase() {
+        // Given
+        List<UserDTO> cached = List.of(new UserDTO(1L, "testuser", "test@example.com", AvailabilityStatus.AVAILABLE));
+        when(taskReadModel.findVersionedAvailableUsers()).thenReturn(Optional.of(new Versioned<>(cached, "1-1-3")));
+
+        // When
+        var result = userService.getAvailableUsers();
+
+        // Then
+        assertSame(cached, result.body());
+        assertEquals("1-1-3", result.version());
+        verifyNoInteractions(userRepository, singleFlight);
+    }
+
     @Test
     void getAvailableUsers_WhenEmpty_ShouldReturnEmptyList() {
         // Given
         when(userRepository.findAvailableUsers()).thenReturn(Arrays.asList());
+        when(singleFlight.execute(eq("UserService.getAvailableUsers"), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
 
         // When
         var result = userService.getAvailableUsers();
 
         // Then
-        assertTrue(result.isEmpty());
+        assertTrue(result.body().isEmpty());
+        assertEquals("0-0-0", result.version());
         verify(userRepository, times(1)).findAvailableUsers();
     }
 }